@@ -0,0 +1,39 @@
+package com.bookCatalog.bookcatalog.admission;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.bookCatalog.bookcatalog.dto.LimiterDTO;
+
+/** The read and write limiters guarding the catalog endpoints. */
+public class AdmissionControl {
+
+	private final GradientLimiter reads;
+	private final GradientLimiter writes;
+	private final long retryAfterSeconds;
+
+	public AdmissionControl(GradientLimiter reads, GradientLimiter writes, long retryAfterSeconds) {
+		this.reads = reads;
+		this.writes = writes;
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public GradientLimiter getReads() {
+		return reads;
+	}
+
+	public GradientLimiter getWrites() {
+		return writes;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+
+	public Map<String, LimiterDTO> snapshot() {
+		Map<String, LimiterDTO> result = new LinkedHashMap<>();
+		result.put(reads.getName(), reads.snapshot());
+		result.put(writes.getName(), writes.snapshot());
+		return result;
+	}
+}
@@ -0,0 +1,64 @@
+package com.bookCatalog.bookcatalog.admission;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.bookCatalog.bookcatalog.services.exceptions.ServiceUnavailableException;
+
+/**
+ * Admits catalog requests through the read or write {@link GradientLimiter}.
+ * Rejections are raised as {@link ServiceUnavailableException} so they are
+ * rendered by the regular exception handler, before any connection is taken.
+ * An async request holds its permit until the dispatch that completes it.
+ * Handlers marked {@link LongRunning} are left out: their round trips would
+ * drag the limits down, and their own bulkhead already bounds them.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+	private static final String LIMITER = AdmissionInterceptor.class.getName() + ".limiter";
+	private static final String STARTED = AdmissionInterceptor.class.getName() + ".started";
+
+	private final AdmissionControl admissionControl;
+
+	public AdmissionInterceptor(AdmissionControl admissionControl) {
+		this.admissionControl = admissionControl;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC
+				|| ((HandlerMethod) handler).hasMethodAnnotation(LongRunning.class)) {
+			return true;
+		}
+		GradientLimiter limiter = isRead(request) ? admissionControl.getReads() : admissionControl.getWrites();
+		if (!limiter.tryAcquire()) {
+			throw new ServiceUnavailableException("Too many concurrent " + limiter.getName() + " requests",
+					admissionControl.getRetryAfterSeconds());
+		}
+		request.setAttribute(LIMITER, limiter);
+		request.setAttribute(STARTED, System.nanoTime());
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+			Exception ex) {
+		GradientLimiter limiter = (GradientLimiter) request.getAttribute(LIMITER);
+		if (limiter == null) {
+			return;
+		}
+		request.removeAttribute(LIMITER);
+		long rtt = System.nanoTime() - (Long) request.getAttribute(STARTED);
+		limiter.release(rtt, ex != null || response.getStatus() >= 500);
+	}
+
+	private static boolean isRead(HttpServletRequest request) {
+		String method = request.getMethod();
+		return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+	}
+}
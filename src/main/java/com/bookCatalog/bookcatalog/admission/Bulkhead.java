@@ -0,0 +1,133 @@
+package com.bookCatalog.bookcatalog.admission;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.bookCatalog.bookcatalog.dto.BulkheadDTO;
+import com.bookCatalog.bookcatalog.instrumentation.RequestTimings;
+import com.bookCatalog.bookcatalog.services.exceptions.ServiceUnavailableException;
+
+/**
+ * A bounded pool for one class of work. A full queue rejects at once and a
+ * task that has not finished within the timeout fails its future with
+ * {@link ServiceUnavailableException}; a task still queued at that point
+ * never starts. One already running is not interrupted, because an
+ * interrupt can close the file channel of an H2 database under it, so it
+ * keeps its thread and its JDBC connection until the statement returns. The
+ * connection pool is therefore sized to at least the threads of all the
+ * bulkheads together. {@link #submitUntimed} leaves out the timeout, for jobs that
+ * must not be reported as failed while they keep running.
+ *
+ * With async disabled the task runs on the caller and the returned future is
+ * already complete: nothing is bounded, so that mode only serves to measure
+ * what the hand-off to the pool costs.
+ */
+public class Bulkhead {
+
+	private final String name;
+	private final boolean async;
+	private final int queueCapacity;
+	private final long timeoutMillis;
+	private final long retryAfterSeconds;
+	private final ThreadPoolExecutor executor;
+	private final ScheduledExecutorService timer;
+
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder timedOut = new LongAdder();
+
+	public Bulkhead(String name, boolean async, int threads, int queueCapacity, long timeoutMillis,
+			long retryAfterSeconds, ScheduledExecutorService timer) {
+		this.name = name;
+		this.async = async;
+		this.queueCapacity = queueCapacity;
+		this.timeoutMillis = timeoutMillis;
+		this.retryAfterSeconds = retryAfterSeconds;
+		this.timer = timer;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(name + "-");
+		threadFactory.setDaemon(true);
+		this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+	}
+
+	public <T> CompletableFuture<T> submit(Supplier<T> task) {
+		return submit(task, true);
+	}
+
+	public <T> CompletableFuture<T> submitUntimed(Supplier<T> task) {
+		return submit(task, false);
+	}
+
+	private <T> CompletableFuture<T> submit(Supplier<T> task, boolean timed) {
+		if (!async) {
+			try {
+				return CompletableFuture.completedFuture(task.get());
+			}
+			catch (RuntimeException e) {
+				return CompletableFuture.failedFuture(e);
+			}
+		}
+		CompletableFuture<T> result = new CompletableFuture<>();
+		RequestTimings timings = RequestTimings.current();
+		Future<?> future;
+		try {
+			future = executor.submit(() -> {
+				RequestTimings previous = RequestTimings.attach(timings);
+				try {
+					result.complete(task.get());
+				}
+				catch (Throwable e) {
+					result.completeExceptionally(e);
+				}
+				finally {
+					RequestTimings.restore(previous);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			rejected.increment();
+			result.completeExceptionally(
+					new ServiceUnavailableException("The " + name + " bulkhead is full", retryAfterSeconds));
+			return result;
+		}
+		if (!timed) {
+			return result;
+		}
+		ScheduledFuture<?> timeout = timer.schedule(() -> {
+			if (result.completeExceptionally(
+					new ServiceUnavailableException("The " + name + " bulkhead timed out", retryAfterSeconds))) {
+				timedOut.increment();
+				future.cancel(false);
+			}
+		}, timeoutMillis, TimeUnit.MILLISECONDS);
+		result.whenComplete((value, e) -> timeout.cancel(false));
+		return result;
+	}
+
+	public ThreadPoolExecutor getExecutor() {
+		return executor;
+	}
+
+	public long getTimeoutMillis() {
+		return timeoutMillis;
+	}
+
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	public BulkheadDTO snapshot() {
+		return new BulkheadDTO(name, async, executor.getMaximumPoolSize(), executor.getActiveCount(),
+				executor.getQueue().size(), queueCapacity, executor.getCompletedTaskCount(), rejected.sum(),
+				timedOut.sum());
+	}
+}
@@ -0,0 +1,54 @@
+package com.bookCatalog.bookcatalog.admission;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import com.bookCatalog.bookcatalog.dto.BulkheadDTO;
+
+/**
+ * Separate pools for reads, writes and exports, so a slow export or a burst
+ * of writes cannot take the threads that serve {@code GET /books/{id}}. Bulk
+ * jobs run on the export pool, the only one sized for long-running work.
+ */
+public class Bulkheads {
+
+	private final Bulkhead reads;
+	private final Bulkhead writes;
+	private final Bulkhead exports;
+	private final ScheduledExecutorService timer;
+
+	public Bulkheads(Bulkhead reads, Bulkhead writes, Bulkhead exports, ScheduledExecutorService timer) {
+		this.reads = reads;
+		this.writes = writes;
+		this.exports = exports;
+		this.timer = timer;
+	}
+
+	public Bulkhead getReads() {
+		return reads;
+	}
+
+	public Bulkhead getWrites() {
+		return writes;
+	}
+
+	public Bulkhead getExports() {
+		return exports;
+	}
+
+	public Map<String, BulkheadDTO> snapshot() {
+		Map<String, BulkheadDTO> result = new LinkedHashMap<>();
+		result.put("read", reads.snapshot());
+		result.put("write", writes.snapshot());
+		result.put("export", exports.snapshot());
+		return result;
+	}
+
+	public void shutdown() {
+		reads.shutdown();
+		writes.shutdown();
+		exports.shutdown();
+		timer.shutdown();
+	}
+}
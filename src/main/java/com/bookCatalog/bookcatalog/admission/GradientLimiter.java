@@ -0,0 +1,111 @@
+package com.bookCatalog.bookcatalog.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.bookCatalog.bookcatalog.dto.LimiterDTO;
+
+/**
+ * Adaptive concurrency limit in the style of the gradient limiters: the limit
+ * shrinks when the short-term round trip time rises above the long-term
+ * baseline (requests are queueing on the connection pool) and grows by a
+ * small queue allowance while latency stays flat.
+ *
+ * Acquiring is a CAS on the in-flight counter; only the per-request limit
+ * update is synchronized.
+ */
+public class GradientLimiter {
+
+	private static final double SMOOTHING = 0.2;
+	private static final double RTT_TOLERANCE = 1.5;
+	private static final double BACKOFF = 0.9;
+	private static final int LONG_WINDOW = 600;
+	private static final int SHORT_WINDOW = 10;
+
+	private final String name;
+	private final int minLimit;
+	private final int maxLimit;
+
+	private final AtomicInteger inflight = new AtomicInteger();
+	private final LongAdder accepted = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder dropped = new LongAdder();
+
+	private volatile double limit;
+	private double longRtt;
+	private double shortRtt;
+
+	public GradientLimiter(String name, int initialLimit, int minLimit, int maxLimit) {
+		this.name = name;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.limit = initialLimit;
+	}
+
+	public boolean tryAcquire() {
+		for (;;) {
+			int current = inflight.get();
+			if (current >= (int) limit) {
+				rejected.increment();
+				return false;
+			}
+			if (inflight.compareAndSet(current, current + 1)) {
+				accepted.increment();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Returns the permit taken by {@link #tryAcquire()}. A dropped request
+	 * (server error or timeout) backs the limit off without sampling its RTT.
+	 */
+	public void release(long rttNanos, boolean drop) {
+		int current = inflight.getAndDecrement();
+		if (drop) {
+			dropped.increment();
+		}
+		onSample(rttNanos, current, drop);
+	}
+
+	private synchronized void onSample(long rttNanos, int inflightAtSample, boolean drop) {
+		rttNanos = Math.max(1L, rttNanos);
+		double newLimit;
+		if (drop) {
+			newLimit = limit * BACKOFF;
+		}
+		else {
+			longRtt = longRtt == 0.0 ? rttNanos : longRtt + (rttNanos - longRtt) / LONG_WINDOW;
+			shortRtt = shortRtt == 0.0 ? rttNanos : shortRtt + (rttNanos - shortRtt) / SHORT_WINDOW;
+			if (longRtt / shortRtt > 2.0) {
+				// latency dropped for good; let the baseline catch up quickly
+				longRtt *= 0.95;
+			}
+			if (inflightAtSample < limit / 2) {
+				// application limited, the sample says nothing about capacity
+				return;
+			}
+			double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+			newLimit = limit * gradient + Math.sqrt(limit);
+		}
+		newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+		limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	public int getInflight() {
+		return inflight.get();
+	}
+
+	public synchronized LimiterDTO snapshot() {
+		return new LimiterDTO(name, (int) limit, inflight.get(), accepted.sum(), rejected.sum(), dropped.sum(),
+				longRtt / 1e6, shortRtt / 1e6);
+	}
+}
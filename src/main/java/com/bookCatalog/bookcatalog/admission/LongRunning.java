@@ -0,0 +1,19 @@
+package com.bookCatalog.bookcatalog.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose requests run for seconds to minutes on a bulkhead
+ * of their own, such as an export or a bulk job. {@link AdmissionInterceptor}
+ * leaves them out of the limiters, whose limits their round trips would
+ * drag down.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LongRunning {
+}
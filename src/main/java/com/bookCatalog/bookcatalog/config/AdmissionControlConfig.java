@@ -0,0 +1,43 @@
+package com.bookCatalog.bookcatalog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.bookCatalog.bookcatalog.admission.AdmissionControl;
+import com.bookCatalog.bookcatalog.admission.AdmissionInterceptor;
+import com.bookCatalog.bookcatalog.admission.GradientLimiter;
+
+@Configuration
+@ConditionalOnProperty(name = "catalog.admission.enabled", matchIfMissing = true)
+public class AdmissionControlConfig implements WebMvcConfigurer {
+
+	@Value("${catalog.admission.initial-limit:20}")
+	private int initialLimit;
+
+	@Value("${catalog.admission.min-limit:4}")
+	private int minLimit;
+
+	@Value("${catalog.admission.max-limit:200}")
+	private int maxLimit;
+
+	@Value("${catalog.admission.retry-after-seconds:1}")
+	private long retryAfterSeconds;
+
+	@Bean
+	public AdmissionControl admissionControl() {
+		return new AdmissionControl(
+				new GradientLimiter("read", initialLimit, minLimit, maxLimit),
+				new GradientLimiter("write", initialLimit, minLimit, maxLimit),
+				retryAfterSeconds);
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new AdmissionInterceptor(admissionControl()))
+				.addPathPatterns("/books", "/books/**", "/categories", "/categories/**", "/reactive/**");
+	}
+}
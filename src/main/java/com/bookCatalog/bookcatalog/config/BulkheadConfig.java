@@ -0,0 +1,75 @@
+package com.bookCatalog.bookcatalog.config;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.bookCatalog.bookcatalog.admission.Bulkhead;
+import com.bookCatalog.bookcatalog.admission.Bulkheads;
+
+@Configuration
+public class BulkheadConfig implements WebMvcConfigurer {
+
+	@Value("${catalog.async.enabled:true}")
+	private boolean async;
+
+	@Value("${catalog.bulkhead.read.threads:16}")
+	private int readThreads;
+
+	@Value("${catalog.bulkhead.read.queue:100}")
+	private int readQueue;
+
+	@Value("${catalog.bulkhead.read.timeout-ms:2000}")
+	private long readTimeoutMs;
+
+	@Value("${catalog.bulkhead.write.threads:8}")
+	private int writeThreads;
+
+	@Value("${catalog.bulkhead.write.queue:50}")
+	private int writeQueue;
+
+	@Value("${catalog.bulkhead.write.timeout-ms:5000}")
+	private long writeTimeoutMs;
+
+	@Value("${catalog.bulkhead.export.threads:2}")
+	private int exportThreads;
+
+	@Value("${catalog.bulkhead.export.queue:4}")
+	private int exportQueue;
+
+	@Value("${catalog.bulkhead.export.timeout-ms:600000}")
+	private long exportTimeoutMs;
+
+	@Value("${catalog.bulkhead.retry-after-seconds:1}")
+	private long retryAfterSeconds;
+
+	@Bean(destroyMethod = "shutdown")
+	public Bulkheads bulkheads() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulkhead-timer-");
+		threadFactory.setDaemon(true);
+		ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, threadFactory);
+		timer.setRemoveOnCancelPolicy(true);
+		return new Bulkheads(
+				new Bulkhead("read", async, readThreads, readQueue, readTimeoutMs, retryAfterSeconds, timer),
+				new Bulkhead("write", async, writeThreads, writeQueue, writeTimeoutMs, retryAfterSeconds, timer),
+				new Bulkhead("export", true, exportThreads, exportQueue, exportTimeoutMs, retryAfterSeconds, timer),
+				timer);
+	}
+
+	/**
+	 * Streaming exports are written by MVC's async task executor, so that
+	 * executor is the export bulkhead's pool.
+	 */
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		Bulkhead exports = bulkheads().getExports();
+		configurer.setTaskExecutor(new TaskExecutorAdapter(exports.getExecutor()));
+		configurer.setDefaultTimeout(exports.getTimeoutMillis());
+	}
+}
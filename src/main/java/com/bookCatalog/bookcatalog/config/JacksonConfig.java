@@ -0,0 +1,35 @@
+package com.bookCatalog.bookcatalog.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+@Configuration
+public class JacksonConfig {
+
+	@Bean
+	public Jackson2ObjectMapperBuilderCustomizer bookFieldsFilterCustomizer() {
+		return builder -> builder.filters(BookFieldSet.ALL.getFilters());
+	}
+
+	/*
+	 * Binary converters are built from the Boot-managed builder so they share
+	 * the JSON mapper's modules, date handling and filters.
+	 */
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
@@ -0,0 +1,60 @@
+package com.bookCatalog.bookcatalog.config;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+
+/**
+ * Connection pool for the reactive read path. The pool is deliberately not a
+ * {@code ConnectionFactory} bean: Boot backs off its JDBC {@code DataSource}
+ * as soon as one exists, and the JPA write path needs that data source.
+ * Without {@code catalog.r2dbc.url} there is no pool and the reactive
+ * endpoints are not mapped.
+ */
+@Configuration
+@ConditionalOnProperty(name = "catalog.r2dbc.url")
+public class R2dbcConfig {
+
+	@Value("${catalog.r2dbc.url}")
+	private String url;
+
+	@Value("${catalog.r2dbc.username:}")
+	private String username;
+
+	@Value("${catalog.r2dbc.password:}")
+	private String password;
+
+	@Value("${catalog.r2dbc.pool-size:10}")
+	private int poolSize;
+
+	private ConnectionPool pool;
+
+	@Bean
+	public DatabaseClient databaseClient() {
+		ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+				.option(ConnectionFactoryOptions.USER, username)
+				.option(ConnectionFactoryOptions.PASSWORD, password)
+				.build();
+		pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+				.initialSize(0)
+				.maxSize(poolSize)
+				.build());
+		return DatabaseClient.create(pool);
+	}
+
+	@PreDestroy
+	public void close() {
+		if (pool != null) {
+			pool.dispose();
+		}
+	}
+}
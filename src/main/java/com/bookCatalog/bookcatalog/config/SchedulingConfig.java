@@ -0,0 +1,15 @@
+package com.bookCatalog.bookcatalog.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background upkeep of in-memory views, on Boot's single-threaded task
+ * scheduler ({@code spring.task.scheduling.*}).
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "catalog.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfig {
+}
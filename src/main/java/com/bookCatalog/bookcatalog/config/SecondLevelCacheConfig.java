@@ -0,0 +1,109 @@
+package com.bookCatalog.bookcatalog.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bookCatalog.bookcatalog.entities.Book;
+import com.bookCatalog.bookcatalog.entities.Category;
+
+/**
+ * Hibernate second-level cache on an in-process Ehcache JCache manager. Every
+ * region is created here with its own entry limit and time to live; a region
+ * Hibernate asks for but that is not declared below fails startup instead of
+ * being created unbounded.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+	public static final String CATEGORY_REGION = Category.class.getName();
+	public static final String BOOK_CATEGORIES_REGION = Book.class.getName() + ".categories";
+
+	private static final AtomicInteger MANAGERS = new AtomicInteger();
+
+	@Value("${catalog.cache.enabled:true}")
+	private boolean enabled;
+
+	@Value("${catalog.cache.statistics:true}")
+	private boolean statistics;
+
+	@Value("${catalog.cache.category.max-entries:1000}")
+	private long categoryEntries;
+
+	@Value("${catalog.cache.category.ttl-seconds:3600}")
+	private long categoryTtl;
+
+	@Value("${catalog.cache.book-categories.max-entries:100000}")
+	private long bookCategoriesEntries;
+
+	@Value("${catalog.cache.book-categories.ttl-seconds:600}")
+	private long bookCategoriesTtl;
+
+	@Value("${catalog.cache.query.max-entries:1000}")
+	private long queryEntries;
+
+	@Value("${catalog.cache.query.ttl-seconds:300}")
+	private long queryTtl;
+
+	@Value("${catalog.cache.timestamps.max-entries:10000}")
+	private long timestampsEntries;
+
+	/**
+	 * Each application context gets its own manager; JCache hands out the
+	 * same instance for the same URI, which would let two test contexts share
+	 * one cache.
+	 */
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager() {
+		URI uri = URI.create("urn:bookcatalog:hibernate:" + MANAGERS.incrementAndGet());
+		EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(
+				EhcacheCachingProvider.class.getName());
+		CacheManager manager = provider.getCacheManager(uri, new DefaultConfiguration(getClass().getClassLoader()));
+		region(manager, CATEGORY_REGION, categoryEntries, categoryTtl);
+		region(manager, BOOK_CATEGORIES_REGION, bookCategoriesEntries, bookCategoriesTtl);
+		region(manager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryEntries, queryTtl);
+		// Update timestamps must outlive every cached query result, so they never expire.
+		region(manager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestampsEntries, 0L);
+		return manager;
+	}
+
+	private static void region(CacheManager manager, String name, long entries, long ttlSeconds) {
+		CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+				.newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(entries));
+		if (ttlSeconds > 0L) {
+			builder = builder.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ttlSeconds)));
+		}
+		manager.createCache(name, Eh107Configuration.fromEhcacheCacheConfiguration(builder));
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager hibernateCacheManager) {
+		return properties -> {
+			properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+			properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+			if (enabled) {
+				properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+				properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+				properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+			}
+			properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+		};
+	}
+}
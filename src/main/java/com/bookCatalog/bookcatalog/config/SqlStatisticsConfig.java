@@ -0,0 +1,30 @@
+package com.bookCatalog.bookcatalog.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bookCatalog.bookcatalog.instrumentation.InstrumentedDataSource;
+import com.bookCatalog.bookcatalog.instrumentation.StatementStatistics;
+
+@Configuration
+@ConditionalOnProperty(name = "catalog.sql.stats.enabled", matchIfMissing = true)
+public class SqlStatisticsConfig {
+
+	@Bean
+	public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<StatementStatistics> statistics) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof DataSource && !(bean instanceof InstrumentedDataSource)) {
+					return new InstrumentedDataSource((DataSource) bean, statistics.getObject());
+				}
+				return bean;
+			}
+		};
+	}
+}
@@ -0,0 +1,26 @@
+package com.bookCatalog.bookcatalog.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.bookCatalog.bookcatalog.instrumentation.EndpointTimings;
+import com.bookCatalog.bookcatalog.instrumentation.ServerTimingFilter;
+import com.bookCatalog.bookcatalog.instrumentation.StatementStatistics;
+
+@Configuration
+@ConditionalOnProperty(name = "catalog.timing.enabled", matchIfMissing = true)
+public class TimingConfig {
+
+	@Bean
+	public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(EndpointTimings endpointTimings,
+			StatementStatistics statementStatistics) {
+		FilterRegistrationBean<ServerTimingFilter> registration =
+				new FilterRegistrationBean<>(new ServerTimingFilter(endpointTimings, statementStatistics));
+		registration.addUrlPatterns("/*");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
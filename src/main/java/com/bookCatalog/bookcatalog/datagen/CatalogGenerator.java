@@ -0,0 +1,414 @@
+package com.bookCatalog.bookcatalog.datagen;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Appends a synthetic catalog of any size. Output depends only on the seed
+ * and the ids being assigned, so the same seed always produces the same
+ * books.
+ *
+ * Distributions:
+ * <ul>
+ * <li>Titles come from a handful of templates filled with words that favour
+ * the head of each list.</li>
+ * <li>Description lengths are log-normal with a median of about 600
+ * characters.</li>
+ * <li>Prices are log-normal with a median of about 35, ending in .99.</li>
+ * <li>Each book has 1 to 6 categories, mostly 1 or 2. Category popularity
+ * is Zipfian.</li>
+ * </ul>
+ *
+ * Rows go through JDBC batches by default. {@link LoadMode#CSV} writes them
+ * to temporary files and loads them with H2's {@code CSVREAD} instead; it
+ * only works on H2 and, on an in-memory database, is not faster.
+ */
+public class CatalogGenerator {
+
+	private static final Logger log = LoggerFactory.getLogger(CatalogGenerator.class);
+
+	public enum LoadMode {
+		CSV, BATCH
+	}
+
+	private static final int BATCH_SIZE = 5_000;
+	private static final int MAX_CATEGORIES_PER_BOOK = 6;
+	private static final long FIRST_DATE = Instant.parse("2000-01-01T00:00:00Z").getEpochSecond();
+	private static final long LAST_DATE = Instant.parse("2024-01-01T00:00:00Z").getEpochSecond();
+	private static final DateTimeFormatter CSV_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+	private static final String[] ADJECTIVES = { "Silent", "Last", "Lost", "Hidden", "Golden", "Broken", "Dark",
+			"Little", "Secret", "Endless", "Burning", "Quiet", "Wild", "Forgotten", "Crimson", "Glass", "Hollow",
+			"Winter", "Iron", "Distant", "Bright", "Restless", "Shattered", "Northern", "Sleeping", "Wandering" };
+	private static final String[] NOUNS = { "House", "River", "Garden", "Night", "City", "Road", "King", "Sea",
+			"Girl", "Man", "Light", "Storm", "Kingdom", "Mountain", "Promise", "Shadow", "Song", "War", "Island",
+			"Letter", "Forest", "Queen", "Bridge", "Clock", "Mirror", "Tower", "Map", "Stranger", "Daughter", "Fire" };
+	private static final String[] PLACES = { "Lisbon", "the North", "Babel", "the Valley", "Paris", "the Empire",
+			"Avalon", "Kyoto", "the Coast", "Prague", "the Desert", "Rio", "the Moon", "Istanbul", "the Old World" };
+	private static final String[] GENRES = { "Fiction", "Fantasy", "Science Fiction", "Mystery", "Thriller",
+			"Romance", "Horror", "Biography", "History", "Poetry", "Philosophy", "Religion", "Politics", "Science",
+			"Travel", "Cooking", "Children", "Young Adult", "Classics", "Comics", "Self-help", "Business",
+			"Economics", "Art", "Music", "Sports", "Health", "Psychology", "Technology", "Education" };
+	private static final String LOREM = "lorem ipsum dolor sit amet consectetur adipiscing elit sed do eiusmod "
+			+ "tempor incididunt ut labore et dolore magna aliqua ut enim ad minim veniam quis nostrud exercitation "
+			+ "ullamco laboris nisi ut aliquip ex ea commodo consequat duis aute irure dolor in reprehenderit in "
+			+ "voluptate velit esse cillum dolore eu fugiat nulla pariatur excepteur sint occaecat cupidatat non "
+			+ "proident sunt in culpa qui officia deserunt mollit anim id est laborum";
+
+	private final JdbcTemplate jdbc;
+	private final String text;
+
+	public CatalogGenerator(DataSource dataSource) {
+		this.jdbc = new JdbcTemplate(dataSource);
+		this.text = corpus();
+	}
+
+	/**
+	 * Adds {@code books} books, first topping the category table up to
+	 * {@code categories} rows. Existing rows are left alone.
+	 */
+	public Result generate(long books, int categories, long seed) {
+		return generate(books, categories, seed, LoadMode.BATCH);
+	}
+
+	public Result generate(long books, int categories, long seed, LoadMode mode) {
+		long start = System.nanoTime();
+		boolean h2 = isH2();
+
+		List<Long> categoryIds = ensureCategories(categories);
+		double[] popularity = zipf(categoryIds.size(), 1.0);
+		Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM tb_book", Long.class);
+		long firstId = maxId == null ? 1 : maxId + 1;
+
+		if (books > 0) {
+			advanceIdentity(h2, firstId + books);
+		}
+		try {
+			if (mode == LoadMode.CSV) {
+				loadCsv(firstId, books, categoryIds, popularity, seed);
+			}
+			else {
+				loadBatches(firstId, books, categoryIds, popularity, seed);
+			}
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		Result result = new Result(firstId, books, categoryIds.size(), millis);
+		log.info("Generated {} books ({} categories) in {} ms", books, categoryIds.size(), millis);
+		return result;
+	}
+
+	/** Adds books until the catalog holds {@code total}, if it does not already. */
+	public Result topUp(long total, int categories, long seed) {
+		long existing = jdbc.queryForObject("SELECT COUNT(*) FROM tb_book", Long.class);
+		return generate(Math.max(0, total - existing), categories, seed);
+	}
+
+	/**
+	 * Moves the id generator past the rows about to be inserted. Done up front
+	 * because H2 otherwise commits its sequence for every explicit id above
+	 * the current value, which makes a 10k row import take 20 seconds.
+	 */
+	private void advanceIdentity(boolean h2, long nextId) {
+		if (h2) {
+			jdbc.execute("ALTER TABLE tb_book ALTER COLUMN id RESTART WITH " + nextId);
+		}
+		else {
+			jdbc.queryForObject("SELECT setval(pg_get_serial_sequence('tb_book', 'id'), ?)", Long.class, nextId - 1);
+		}
+	}
+
+	private boolean isH2() {
+		return Boolean.TRUE.equals(jdbc.execute((Connection connection) -> {
+			try {
+				return connection.getMetaData().getDatabaseProductName().toUpperCase(Locale.ROOT).contains("H2");
+			}
+			catch (SQLException e) {
+				return false;
+			}
+		}));
+	}
+
+	private List<Long> ensureCategories(int categories) {
+		long existing = jdbc.queryForObject("SELECT COUNT(*) FROM tb_category", Long.class);
+		Timestamp now = Timestamp.from(Instant.now());
+		List<Object[]> rows = new ArrayList<>();
+		for (long i = existing; i < categories; i++) {
+			String name = GENRES[(int) (i % GENRES.length)];
+			if (i >= GENRES.length) {
+				name += " " + (i / GENRES.length + 1);
+			}
+			rows.add(new Object[] { name, now });
+		}
+		if (!rows.isEmpty()) {
+			jdbc.batchUpdate("INSERT INTO tb_category (name, created_at) VALUES (?, ?)", rows);
+		}
+		return jdbc.queryForList("SELECT id FROM tb_category ORDER BY id", Long.class);
+	}
+
+	private void loadCsv(long firstId, long books, List<Long> categoryIds, double[] popularity, long seed)
+			throws IOException {
+		Path bookFile = Files.createTempFile("catalog-books", ".csv");
+		Path categoryFile = Files.createTempFile("catalog-book-categories", ".csv");
+		try {
+			try (BufferedWriter bookOut = Files.newBufferedWriter(bookFile, StandardCharsets.UTF_8);
+					BufferedWriter categoryOut = Files.newBufferedWriter(categoryFile, StandardCharsets.UTF_8)) {
+				bookOut.write("ID,NAME,DESCRIPTION,PRICE,IMG_URL,DATE\n");
+				categoryOut.write("BOOK_ID,CATEGORY_ID\n");
+				long[] chosen = new long[MAX_CATEGORIES_PER_BOOK];
+				for (long id = firstId; id < firstId + books; id++) {
+					GeneratedBook book = book(id, seed, categoryIds, popularity, chosen);
+					bookOut.write(Long.toString(id));
+					bookOut.write(",\"");
+					bookOut.write(book.name);
+					bookOut.write("\",\"");
+					bookOut.write(book.description);
+					bookOut.write("\",");
+					bookOut.write(Double.toString(book.price));
+					bookOut.write(",\"");
+					bookOut.write(book.imgUrl);
+					bookOut.write("\",");
+					bookOut.write(CSV_TIMESTAMP.format(book.date));
+					bookOut.write('\n');
+					for (int i = 0; i < book.categoryCount; i++) {
+						categoryOut.write(Long.toString(id));
+						categoryOut.write(',');
+						categoryOut.write(Long.toString(chosen[i]));
+						categoryOut.write('\n');
+					}
+				}
+			}
+			importCsv("tb_book", "id, name, description, price, img_url, date", bookFile);
+			importCsv("tb_book_category", "book_id, category_id", categoryFile);
+		}
+		finally {
+			Files.deleteIfExists(bookFile);
+			Files.deleteIfExists(categoryFile);
+		}
+	}
+
+	private void importCsv(String table, String columns, Path file) {
+		// CSVREAD resolves its file when the statement is prepared, so the name cannot be a parameter.
+		jdbc.update("INSERT INTO " + table + " (" + columns + ") SELECT * FROM CSVREAD(" + literal(file)
+				+ ", NULL, 'charset=UTF-8')");
+	}
+
+	private static String literal(Path file) {
+		return "'" + file.toAbsolutePath().toString().replace("'", "''") + "'";
+	}
+
+	private void loadBatches(long firstId, long books, List<Long> categoryIds, double[] popularity, long seed) {
+		List<Object[]> bookRows = new ArrayList<>(BATCH_SIZE);
+		List<Object[]> categoryRows = new ArrayList<>(BATCH_SIZE * 2);
+		long[] chosen = new long[MAX_CATEGORIES_PER_BOOK];
+		long end = firstId + books;
+		for (long id = firstId; id < end; id++) {
+			GeneratedBook book = book(id, seed, categoryIds, popularity, chosen);
+			bookRows.add(new Object[] { id, book.name, book.description, book.price, book.imgUrl,
+					Timestamp.valueOf(book.date) });
+			for (int i = 0; i < book.categoryCount; i++) {
+				categoryRows.add(new Object[] { id, chosen[i] });
+			}
+			if (bookRows.size() == BATCH_SIZE || id == end - 1) {
+				jdbc.batchUpdate("INSERT INTO tb_book (id, name, description, price, img_url, date) "
+						+ "VALUES (?, ?, ?, ?, ?, ?)", bookRows);
+				jdbc.batchUpdate("INSERT INTO tb_book_category (book_id, category_id) VALUES (?, ?)", categoryRows);
+				bookRows.clear();
+				categoryRows.clear();
+			}
+		}
+	}
+
+	/** Every value of a book is drawn from a generator seeded by the seed and the book id. */
+	private GeneratedBook book(long id, long seed, List<Long> categoryIds, double[] popularity, long[] chosen) {
+		SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + id);
+		GeneratedBook book = new GeneratedBook();
+		book.name = title(random);
+		int length = (int) clamp(Math.exp(Math.log(600) + 0.6 * gaussian(random)), 40, 8_000);
+		book.description = description(random, length);
+		book.price = Math.floor(clamp(Math.exp(Math.log(35) + 0.7 * gaussian(random)), 1, 2_000)) + 0.99;
+		book.imgUrl = "https://img.example.com/books/" + id + ".jpg";
+		long epochSecond = FIRST_DATE + random.nextLong(LAST_DATE - FIRST_DATE);
+		book.date = LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+
+		int count = 1;
+		while (count < MAX_CATEGORIES_PER_BOOK && count < categoryIds.size() && random.nextDouble() < 0.45) {
+			count++;
+		}
+		book.categoryCount = 0;
+		while (book.categoryCount < count) {
+			long categoryId = categoryIds.get(sample(popularity, random.nextDouble()));
+			if (!contains(chosen, book.categoryCount, categoryId)) {
+				chosen[book.categoryCount++] = categoryId;
+			}
+		}
+		return book;
+	}
+
+	private static String title(SplittableRandom random) {
+		String title;
+		switch (random.nextInt(5)) {
+		case 0:
+			title = "The " + skewed(ADJECTIVES, random) + " " + skewed(NOUNS, random);
+			break;
+		case 1:
+			title = "The " + skewed(NOUNS, random) + " of " + skewed(PLACES, random);
+			break;
+		case 2:
+			title = "The " + skewed(NOUNS, random) + "'s " + skewed(NOUNS, random);
+			break;
+		case 3:
+			title = skewed(ADJECTIVES, random) + " " + skewed(NOUNS, random);
+			break;
+		default:
+			title = "A " + skewed(NOUNS, random) + " in " + skewed(PLACES, random);
+		}
+		if (random.nextInt(100) < 8) {
+			title += " (Book " + (2 + random.nextInt(6)) + ")";
+		}
+		return title;
+	}
+
+	/** Picks an element with a bias towards the start of the array. */
+	private static String skewed(String[] words, SplittableRandom random) {
+		double u = random.nextDouble();
+		return words[(int) (words.length * u * u)];
+	}
+
+	/** A run of whole words of roughly {@code length} characters from the corpus. */
+	private String description(SplittableRandom random, int length) {
+		int from = random.nextInt(text.length() - length - 1);
+		while (from > 0 && text.charAt(from - 1) != ' ') {
+			from--;
+		}
+		int to = from + length;
+		while (to < text.length() && text.charAt(to) != ' ') {
+			to++;
+		}
+		String description = text.substring(from, to);
+		return Character.toUpperCase(description.charAt(0)) + description.substring(1) + ".";
+	}
+
+	private static String corpus() {
+		String[] words = LOREM.split(" ");
+		SplittableRandom random = new SplittableRandom(0);
+		StringBuilder text = new StringBuilder(64 * 1024);
+		while (text.length() < 9_000 + 8_000) {
+			text.append(words[random.nextInt(words.length)]);
+			text.append(random.nextInt(12) == 0 ? ", " : " ");
+		}
+		return text.toString();
+	}
+
+	private static double gaussian(SplittableRandom random) {
+		double u = 1.0 - random.nextDouble();
+		double v = random.nextDouble();
+		return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+	}
+
+	private static double clamp(double value, double min, double max) {
+		return Math.max(min, Math.min(max, value));
+	}
+
+	/** Cumulative distribution of a Zipf law with exponent {@code s} over {@code n} ranks. */
+	private static double[] zipf(int n, double s) {
+		double[] cdf = new double[n];
+		double sum = 0;
+		for (int k = 0; k < n; k++) {
+			sum += 1.0 / Math.pow(k + 1, s);
+			cdf[k] = sum;
+		}
+		for (int k = 0; k < n; k++) {
+			cdf[k] /= sum;
+		}
+		return cdf;
+	}
+
+	private static int sample(double[] cdf, double u) {
+		int low = 0;
+		int high = cdf.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cdf[mid] < u) {
+				low = mid + 1;
+			}
+			else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static boolean contains(long[] values, int size, long value) {
+		for (int i = 0; i < size; i++) {
+			if (values[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class GeneratedBook {
+
+		private String name;
+		private String description;
+		private double price;
+		private String imgUrl;
+		private LocalDateTime date;
+		private int categoryCount;
+	}
+
+	public static final class Result {
+
+		private final long firstId;
+		private final long books;
+		private final int categories;
+		private final long millis;
+
+		Result(long firstId, long books, int categories, long millis) {
+			this.firstId = firstId;
+			this.books = books;
+			this.categories = categories;
+			this.millis = millis;
+		}
+
+		public long getFirstId() {
+			return firstId;
+		}
+
+		public long getBooks() {
+			return books;
+		}
+
+		public int getCategories() {
+			return categories;
+		}
+
+		public long getMillis() {
+			return millis;
+		}
+	}
+}
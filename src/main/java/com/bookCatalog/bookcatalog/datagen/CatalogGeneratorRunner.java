@@ -0,0 +1,39 @@
+package com.bookCatalog.bookcatalog.datagen;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the catalog up to {@code catalog.generator.books} books at startup.
+ * Enabled by the {@code dev} profile, or by setting the property directly.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "catalog.generator.books")
+public class CatalogGeneratorRunner implements ApplicationRunner {
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Value("${catalog.generator.books}")
+	private long books;
+
+	@Value("${catalog.generator.categories:30}")
+	private int categories;
+
+	@Value("${catalog.generator.seed:42}")
+	private long seed;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		new CatalogGenerator(dataSource).topUp(books, categories, seed);
+	}
+}
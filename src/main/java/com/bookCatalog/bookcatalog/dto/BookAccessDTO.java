@@ -0,0 +1,34 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class BookAccessDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private Integer estimatedAccesses;
+
+	public BookAccessDTO() {
+	}
+
+	public BookAccessDTO(Long id, Integer estimatedAccesses) {
+		this.id = id;
+		this.estimatedAccesses = estimatedAccesses;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Integer getEstimatedAccesses() {
+		return estimatedAccesses;
+	}
+
+	public void setEstimatedAccesses(Integer estimatedAccesses) {
+		this.estimatedAccesses = estimatedAccesses;
+	}
+}
@@ -1,17 +1,26 @@
 package com.bookCatalog.bookcatalog.dto;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import com.bookCatalog.bookcatalog.entities.Book;
 import com.bookCatalog.bookcatalog.entities.Category;
+import com.bookCatalog.bookcatalog.entities.CompressedText;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
+@JsonFilter(BookDTO.FILTER)
 public class BookDTO implements Serializable {
 	private static final long serialVersionUID = 1L;
 
+	public static final String FILTER = "bookFields";
+
 	private Long id;
 	private String name;
 	private String description;
@@ -20,6 +29,8 @@ public class BookDTO implements Serializable {
 	private Instant date;
 	
 	private List<CategoryDTO> categories = new ArrayList<>();
+
+	private transient Supplier<String> descriptionSource;
 	
 	public BookDTO() {
 	}
@@ -36,7 +47,13 @@ public class BookDTO implements Serializable {
 	public BookDTO(Book entity) {
 		this.id = entity.getId();
 		this.name = entity.getName();
-		this.description = entity.getDescription();
+		CompressedText compressed = entity.getCompressedDescription();
+		if (compressed != null) {
+			this.descriptionSource = compressed::getText;
+		}
+		else {
+			this.description = entity.getDescription();
+		}
 		this.price = entity.getPrice();
 		this.imgUrl = entity.getImgUrl();
 		this.date = entity.getDate();
@@ -47,6 +64,13 @@ public class BookDTO implements Serializable {
 		categories.forEach(cat -> this.categories.add(new CategoryDTO(cat)));
 	}
 
+	/** Leaves the lazy description of the entity unread; {@code descriptionSource} supplies it instead. */
+	public BookDTO(Book entity, Set<Category> categories, Supplier<String> descriptionSource) {
+		this(entity.getId(), entity.getName(), null, entity.getPrice(), entity.getImgUrl(), entity.getDate());
+		this.descriptionSource = descriptionSource;
+		categories.forEach(cat -> this.categories.add(new CategoryDTO(cat)));
+	}
+
 	public Long getId() {
 		return id;
 	}
@@ -64,6 +88,9 @@ public class BookDTO implements Serializable {
 	}
 
 	public String getDescription() {
+		if (description == null && descriptionSource != null) {
+			return descriptionSource.get();
+		}
 		return description;
 	}
 
@@ -71,6 +98,16 @@ public class BookDTO implements Serializable {
 		this.description = description;
 	}
 
+	/**
+	 * Supplies the description when it is first read, normally by the JSON
+	 * serializer, so the text is not held on the heap until the response is
+	 * written. The result is not kept.
+	 */
+	@JsonIgnore
+	public void setDescriptionSource(Supplier<String> descriptionSource) {
+		this.descriptionSource = descriptionSource;
+	}
+
 	public Double getPrice() {
 		return price;
 	}
@@ -102,4 +139,9 @@ public class BookDTO implements Serializable {
 	public void setCategories(List<CategoryDTO> categories) {
 		this.categories = categories;
 	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		description = getDescription();
+		out.defaultWriteObject();
+	}
 }
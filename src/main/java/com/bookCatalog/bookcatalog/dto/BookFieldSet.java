@@ -0,0 +1,157 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Subset of {@link BookDTO} properties requested through {@code ?fields=}.
+ * One instance exists per distinct combination of fields, built once at class
+ * load, so the request path only parses the parameter into a bit mask.
+ */
+public final class BookFieldSet {
+
+	public enum Field {
+		ID("id"),
+		NAME("name"),
+		DESCRIPTION("description"),
+		PRICE("price"),
+		IMG_URL("imgUrl"),
+		DATE("date"),
+		CATEGORIES("categories");
+
+		private final String property;
+
+		Field(String property) {
+			this.property = property;
+		}
+
+		public String getProperty() {
+			return property;
+		}
+
+		int bit() {
+			return 1 << ordinal();
+		}
+
+		public void apply(BookDTO dto, Object value) {
+			switch (this) {
+			case ID:
+				dto.setId((Long) value);
+				break;
+			case NAME:
+				dto.setName((String) value);
+				break;
+			case DESCRIPTION:
+				dto.setDescription((String) value);
+				break;
+			case PRICE:
+				dto.setPrice((Double) value);
+				break;
+			case IMG_URL:
+				dto.setImgUrl((String) value);
+				break;
+			case DATE:
+				dto.setDate((Instant) value);
+				break;
+			default:
+				throw new IllegalStateException("Field " + this + " is not a column");
+			}
+		}
+	}
+
+	private static final Field[] FIELDS = Field.values();
+	private static final BookFieldSet[] SETS = new BookFieldSet[1 << FIELDS.length];
+
+	static {
+		for (int mask = 1; mask < SETS.length; mask++) {
+			SETS[mask] = new BookFieldSet(mask);
+		}
+	}
+
+	public static final BookFieldSet ALL = SETS[SETS.length - 1];
+
+	private final int mask;
+	private final List<Field> columns;
+	private final FilterProvider filters;
+
+	private BookFieldSet(int mask) {
+		this.mask = mask;
+		List<Field> columns = new ArrayList<>();
+		List<String> properties = new ArrayList<>();
+		for (Field field : FIELDS) {
+			if ((mask & field.bit()) != 0) {
+				properties.add(field.getProperty());
+				if (field != Field.CATEGORIES) {
+					columns.add(field);
+				}
+			}
+		}
+		this.columns = Collections.unmodifiableList(columns);
+		SimpleBeanPropertyFilter filter = mask == SETS.length - 1
+				? SimpleBeanPropertyFilter.serializeAll()
+				: SimpleBeanPropertyFilter.filterOutAllExcept(properties.toArray(new String[0]));
+		this.filters = new SimpleFilterProvider().addFilter(BookDTO.FILTER, filter);
+	}
+
+	/**
+	 * Resolves a comma separated list such as {@code id,name,price} to its
+	 * precomputed field set. Blank input selects every field.
+	 */
+	public static BookFieldSet parse(String fields) {
+		if (fields == null || fields.isBlank()) {
+			return ALL;
+		}
+		int mask = 0;
+		for (String name : fields.split(",")) {
+			String property = name.trim();
+			if (property.isEmpty()) {
+				continue;
+			}
+			Field field = find(property);
+			if (field == null) {
+				throw new BadRequestException("Unknown field " + property);
+			}
+			mask |= field.bit();
+		}
+		return mask == 0 ? ALL : SETS[mask];
+	}
+
+	private static Field find(String property) {
+		for (Field field : FIELDS) {
+			if (field.getProperty().equals(property)) {
+				return field;
+			}
+		}
+		return null;
+	}
+
+	public boolean contains(Field field) {
+		return (mask & field.bit()) != 0;
+	}
+
+	/** The same set without {@code field}; the id is kept when nothing else would be left. */
+	public BookFieldSet without(Field field) {
+		int remaining = mask & ~field.bit();
+		return SETS[remaining == 0 ? Field.ID.bit() : remaining];
+	}
+
+	public boolean isAll() {
+		return this == ALL;
+	}
+
+	/** Scalar fields that map to columns of {@code tb_book}. */
+	public List<Field> getColumns() {
+		return columns;
+	}
+
+	public FilterProvider getFilters() {
+		return filters;
+	}
+}
@@ -0,0 +1,85 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Selects the books a bulk operation applies to. Every criterion that is set
+ * must match; {@code from} is inclusive and {@code to} exclusive.
+ */
+public class BookFilterDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<Long> ids;
+	private Long categoryId;
+	private Double minPrice;
+	private Double maxPrice;
+	private Instant from;
+	private Instant to;
+
+	public BookFilterDTO() {
+	}
+
+	public BookFilterDTO(List<Long> ids, Long categoryId, Double minPrice, Double maxPrice, Instant from, Instant to) {
+		this.ids = ids;
+		this.categoryId = categoryId;
+		this.minPrice = minPrice;
+		this.maxPrice = maxPrice;
+		this.from = from;
+		this.to = to;
+	}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+
+	public void setIds(List<Long> ids) {
+		this.ids = ids;
+	}
+
+	public Long getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(Long categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public Double getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(Double minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public Double getMaxPrice() {
+		return maxPrice;
+	}
+
+	public void setMaxPrice(Double maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+
+	public Instant getFrom() {
+		return from;
+	}
+
+	public void setFrom(Instant from) {
+		this.from = from;
+	}
+
+	public Instant getTo() {
+		return to;
+	}
+
+	public void setTo(Instant to) {
+		this.to = to;
+	}
+
+	public boolean hasCriteria() {
+		return ids != null || categoryId != null || minPrice != null || maxPrice != null || from != null
+				|| to != null;
+	}
+}
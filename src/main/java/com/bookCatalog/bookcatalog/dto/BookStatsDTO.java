@@ -0,0 +1,65 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public class BookStatsDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long count;
+	private Double minPrice;
+	private Double maxPrice;
+	private Double avgPrice;
+	private Instant newestDate;
+
+	public BookStatsDTO() {
+	}
+
+	public BookStatsDTO(Long count, Double minPrice, Double maxPrice, Double avgPrice, Instant newestDate) {
+		this.count = count;
+		this.minPrice = minPrice;
+		this.maxPrice = maxPrice;
+		this.avgPrice = avgPrice;
+		this.newestDate = newestDate;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+
+	public Double getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(Double minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	public Double getMaxPrice() {
+		return maxPrice;
+	}
+
+	public void setMaxPrice(Double maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+
+	public Double getAvgPrice() {
+		return avgPrice;
+	}
+
+	public void setAvgPrice(Double avgPrice) {
+		this.avgPrice = avgPrice;
+	}
+
+	public Instant getNewestDate() {
+		return newestDate;
+	}
+
+	public void setNewestDate(Instant newestDate) {
+		this.newestDate = newestDate;
+	}
+}
@@ -0,0 +1,66 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class BulkResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long matched;
+	private Long affected;
+	private Integer chunks;
+	private Long millis;
+	private List<Long> missingIds;
+
+	public BulkResultDTO() {
+	}
+
+	public BulkResultDTO(Long matched, Long affected, Integer chunks, Long millis, List<Long> missingIds) {
+		this.matched = matched;
+		this.affected = affected;
+		this.chunks = chunks;
+		this.millis = millis;
+		this.missingIds = missingIds;
+	}
+
+	public Long getMatched() {
+		return matched;
+	}
+
+	public void setMatched(Long matched) {
+		this.matched = matched;
+	}
+
+	public Long getAffected() {
+		return affected;
+	}
+
+	public void setAffected(Long affected) {
+		this.affected = affected;
+	}
+
+	public Integer getChunks() {
+		return chunks;
+	}
+
+	public void setChunks(Integer chunks) {
+		this.chunks = chunks;
+	}
+
+	public Long getMillis() {
+		return millis;
+	}
+
+	public void setMillis(Long millis) {
+		this.millis = millis;
+	}
+
+	/** Listed ids of books that do not exist; {@code null} when the filter had no id list. */
+	public List<Long> getMissingIds() {
+		return missingIds;
+	}
+
+	public void setMissingIds(List<Long> missingIds) {
+		this.missingIds = missingIds;
+	}
+}
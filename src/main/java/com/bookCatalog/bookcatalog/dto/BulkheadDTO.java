@@ -0,0 +1,105 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class BulkheadDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String name;
+	private Boolean async;
+	private Integer threads;
+	private Integer active;
+	private Integer queued;
+	private Integer queueCapacity;
+	private Long completed;
+	private Long rejected;
+	private Long timedOut;
+
+	public BulkheadDTO() {
+	}
+
+	public BulkheadDTO(String name, Boolean async, Integer threads, Integer active, Integer queued,
+			Integer queueCapacity, Long completed, Long rejected, Long timedOut) {
+		this.name = name;
+		this.async = async;
+		this.threads = threads;
+		this.active = active;
+		this.queued = queued;
+		this.queueCapacity = queueCapacity;
+		this.completed = completed;
+		this.rejected = rejected;
+		this.timedOut = timedOut;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Boolean getAsync() {
+		return async;
+	}
+
+	public void setAsync(Boolean async) {
+		this.async = async;
+	}
+
+	public Integer getThreads() {
+		return threads;
+	}
+
+	public void setThreads(Integer threads) {
+		this.threads = threads;
+	}
+
+	public Integer getActive() {
+		return active;
+	}
+
+	public void setActive(Integer active) {
+		this.active = active;
+	}
+
+	public Integer getQueued() {
+		return queued;
+	}
+
+	public void setQueued(Integer queued) {
+		this.queued = queued;
+	}
+
+	public Integer getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	public void setQueueCapacity(Integer queueCapacity) {
+		this.queueCapacity = queueCapacity;
+	}
+
+	public Long getCompleted() {
+		return completed;
+	}
+
+	public void setCompleted(Long completed) {
+		this.completed = completed;
+	}
+
+	public Long getRejected() {
+		return rejected;
+	}
+
+	public void setRejected(Long rejected) {
+		this.rejected = rejected;
+	}
+
+	public Long getTimedOut() {
+		return timedOut;
+	}
+
+	public void setTimedOut(Long timedOut) {
+		this.timedOut = timedOut;
+	}
+}
@@ -0,0 +1,54 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class CacheRegionDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long hits;
+	private Long misses;
+	private Long puts;
+	private Double hitRatio;
+
+	public CacheRegionDTO() {
+	}
+
+	public CacheRegionDTO(Long hits, Long misses, Long puts) {
+		this.hits = hits;
+		this.misses = misses;
+		this.puts = puts;
+		this.hitRatio = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+	}
+
+	public Long getHits() {
+		return hits;
+	}
+
+	public void setHits(Long hits) {
+		this.hits = hits;
+	}
+
+	public Long getMisses() {
+		return misses;
+	}
+
+	public void setMisses(Long misses) {
+		this.misses = misses;
+	}
+
+	public Long getPuts() {
+		return puts;
+	}
+
+	public void setPuts(Long puts) {
+		this.puts = puts;
+	}
+
+	public Double getHitRatio() {
+		return hitRatio;
+	}
+
+	public void setHitRatio(Double hitRatio) {
+		this.hitRatio = hitRatio;
+	}
+}
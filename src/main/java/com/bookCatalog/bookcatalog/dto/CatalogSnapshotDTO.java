@@ -0,0 +1,106 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public class CatalogSnapshotDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String file;
+	private Long mark;
+	private Integer books;
+	private Long bytes;
+	private Instant writtenAt;
+	private Long writeMillis;
+	private Boolean restored;
+	private Integer replayedChanges;
+	private Long restoreMillis;
+
+	public CatalogSnapshotDTO() {
+	}
+
+	public CatalogSnapshotDTO(String file, Long mark, Integer books, Long bytes, Instant writtenAt, Long writeMillis,
+			Boolean restored, Integer replayedChanges, Long restoreMillis) {
+		this.file = file;
+		this.mark = mark;
+		this.books = books;
+		this.bytes = bytes;
+		this.writtenAt = writtenAt;
+		this.writeMillis = writeMillis;
+		this.restored = restored;
+		this.replayedChanges = replayedChanges;
+		this.restoreMillis = restoreMillis;
+	}
+
+	public String getFile() {
+		return file;
+	}
+
+	public void setFile(String file) {
+		this.file = file;
+	}
+
+	public Long getMark() {
+		return mark;
+	}
+
+	public void setMark(Long mark) {
+		this.mark = mark;
+	}
+
+	public Integer getBooks() {
+		return books;
+	}
+
+	public void setBooks(Integer books) {
+		this.books = books;
+	}
+
+	public Long getBytes() {
+		return bytes;
+	}
+
+	public void setBytes(Long bytes) {
+		this.bytes = bytes;
+	}
+
+	public Instant getWrittenAt() {
+		return writtenAt;
+	}
+
+	public void setWrittenAt(Instant writtenAt) {
+		this.writtenAt = writtenAt;
+	}
+
+	public Long getWriteMillis() {
+		return writeMillis;
+	}
+
+	public void setWriteMillis(Long writeMillis) {
+		this.writeMillis = writeMillis;
+	}
+
+	public Boolean getRestored() {
+		return restored;
+	}
+
+	public void setRestored(Boolean restored) {
+		this.restored = restored;
+	}
+
+	public Integer getReplayedChanges() {
+		return replayedChanges;
+	}
+
+	public void setReplayedChanges(Integer replayedChanges) {
+		this.replayedChanges = replayedChanges;
+	}
+
+	public Long getRestoreMillis() {
+		return restoreMillis;
+	}
+
+	public void setRestoreMillis(Long restoreMillis) {
+		this.restoreMillis = restoreMillis;
+	}
+}
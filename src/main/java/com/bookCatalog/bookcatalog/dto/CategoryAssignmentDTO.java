@@ -0,0 +1,35 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+/** One category to add to, or remove from, every book matching {@link #getFilter()}. */
+public class CategoryAssignmentDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private BookFilterDTO filter;
+	private Long categoryId;
+
+	public CategoryAssignmentDTO() {
+	}
+
+	public CategoryAssignmentDTO(BookFilterDTO filter, Long categoryId) {
+		this.filter = filter;
+		this.categoryId = categoryId;
+	}
+
+	public BookFilterDTO getFilter() {
+		return filter;
+	}
+
+	public void setFilter(BookFilterDTO filter) {
+		this.filter = filter;
+	}
+
+	public Long getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(Long categoryId) {
+		this.categoryId = categoryId;
+	}
+}
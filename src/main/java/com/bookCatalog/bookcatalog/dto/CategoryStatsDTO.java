@@ -0,0 +1,36 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.time.Instant;
+
+public class CategoryStatsDTO extends BookStatsDTO {
+	private static final long serialVersionUID = 1L;
+
+	private Long categoryId;
+	private String name;
+
+	public CategoryStatsDTO() {
+	}
+
+	public CategoryStatsDTO(Long categoryId, String name, Long count, Double minPrice, Double maxPrice,
+			Double avgPrice, Instant newestDate) {
+		super(count, minPrice, maxPrice, avgPrice, newestDate);
+		this.categoryId = categoryId;
+		this.name = name;
+	}
+
+	public Long getCategoryId() {
+		return categoryId;
+	}
+
+	public void setCategoryId(Long categoryId) {
+		this.categoryId = categoryId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+}
@@ -0,0 +1,115 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class DescriptionCompressionDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Boolean enabled;
+	private Integer minLength;
+	private Long textRows;
+	private Long compressedRows;
+	private Long textChars;
+	private Long compressedBytes;
+	private Long tableBytes;
+	private Long migrated;
+	private Long skipped;
+	private Long millis;
+
+	public DescriptionCompressionDTO() {
+	}
+
+	public DescriptionCompressionDTO(Boolean enabled, Integer minLength, Long textRows, Long compressedRows,
+			Long textChars, Long compressedBytes, Long tableBytes, Long migrated, Long skipped, Long millis) {
+		this.enabled = enabled;
+		this.minLength = minLength;
+		this.textRows = textRows;
+		this.compressedRows = compressedRows;
+		this.textChars = textChars;
+		this.compressedBytes = compressedBytes;
+		this.tableBytes = tableBytes;
+		this.migrated = migrated;
+		this.skipped = skipped;
+		this.millis = millis;
+	}
+
+	public Boolean getEnabled() {
+		return enabled;
+	}
+
+	public void setEnabled(Boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	public Integer getMinLength() {
+		return minLength;
+	}
+
+	public void setMinLength(Integer minLength) {
+		this.minLength = minLength;
+	}
+
+	public Long getTextRows() {
+		return textRows;
+	}
+
+	public void setTextRows(Long textRows) {
+		this.textRows = textRows;
+	}
+
+	public Long getCompressedRows() {
+		return compressedRows;
+	}
+
+	public void setCompressedRows(Long compressedRows) {
+		this.compressedRows = compressedRows;
+	}
+
+	public Long getTextChars() {
+		return textChars;
+	}
+
+	public void setTextChars(Long textChars) {
+		this.textChars = textChars;
+	}
+
+	public Long getCompressedBytes() {
+		return compressedBytes;
+	}
+
+	public void setCompressedBytes(Long compressedBytes) {
+		this.compressedBytes = compressedBytes;
+	}
+
+	public Long getTableBytes() {
+		return tableBytes;
+	}
+
+	public void setTableBytes(Long tableBytes) {
+		this.tableBytes = tableBytes;
+	}
+
+	public Long getMigrated() {
+		return migrated;
+	}
+
+	public void setMigrated(Long migrated) {
+		this.migrated = migrated;
+	}
+
+	public Long getSkipped() {
+		return skipped;
+	}
+
+	public void setSkipped(Long skipped) {
+		this.skipped = skipped;
+	}
+
+	public Long getMillis() {
+		return millis;
+	}
+
+	public void setMillis(Long millis) {
+		this.millis = millis;
+	}
+}
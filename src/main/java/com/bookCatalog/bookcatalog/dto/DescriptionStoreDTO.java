@@ -0,0 +1,75 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class DescriptionStoreDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Integer entries;
+	private Long liveBytes;
+	private Long deadBytes;
+	private Long offHeapBytes;
+	private Long hits;
+	private Long misses;
+
+	public DescriptionStoreDTO() {
+	}
+
+	public DescriptionStoreDTO(Integer entries, Long liveBytes, Long deadBytes, Long offHeapBytes, Long hits,
+			Long misses) {
+		this.entries = entries;
+		this.liveBytes = liveBytes;
+		this.deadBytes = deadBytes;
+		this.offHeapBytes = offHeapBytes;
+		this.hits = hits;
+		this.misses = misses;
+	}
+
+	public Integer getEntries() {
+		return entries;
+	}
+
+	public void setEntries(Integer entries) {
+		this.entries = entries;
+	}
+
+	public Long getLiveBytes() {
+		return liveBytes;
+	}
+
+	public void setLiveBytes(Long liveBytes) {
+		this.liveBytes = liveBytes;
+	}
+
+	public Long getDeadBytes() {
+		return deadBytes;
+	}
+
+	public void setDeadBytes(Long deadBytes) {
+		this.deadBytes = deadBytes;
+	}
+
+	public Long getOffHeapBytes() {
+		return offHeapBytes;
+	}
+
+	public void setOffHeapBytes(Long offHeapBytes) {
+		this.offHeapBytes = offHeapBytes;
+	}
+
+	public Long getHits() {
+		return hits;
+	}
+
+	public void setHits(Long hits) {
+		this.hits = hits;
+	}
+
+	public Long getMisses() {
+		return misses;
+	}
+
+	public void setMisses(Long misses) {
+		this.misses = misses;
+	}
+}
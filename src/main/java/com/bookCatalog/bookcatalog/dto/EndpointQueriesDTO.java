@@ -0,0 +1,54 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class EndpointQueriesDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long requests;
+	private Long statements;
+	private Double avgPerRequest;
+	private Long maxPerRequest;
+
+	public EndpointQueriesDTO() {
+	}
+
+	public EndpointQueriesDTO(Long requests, Long statements, Long maxPerRequest) {
+		this.requests = requests;
+		this.statements = statements;
+		this.avgPerRequest = requests == 0 ? 0.0 : (double) statements / requests;
+		this.maxPerRequest = maxPerRequest;
+	}
+
+	public Long getRequests() {
+		return requests;
+	}
+
+	public void setRequests(Long requests) {
+		this.requests = requests;
+	}
+
+	public Long getStatements() {
+		return statements;
+	}
+
+	public void setStatements(Long statements) {
+		this.statements = statements;
+	}
+
+	public Double getAvgPerRequest() {
+		return avgPerRequest;
+	}
+
+	public void setAvgPerRequest(Double avgPerRequest) {
+		this.avgPerRequest = avgPerRequest;
+	}
+
+	public Long getMaxPerRequest() {
+		return maxPerRequest;
+	}
+
+	public void setMaxPerRequest(Long maxPerRequest) {
+		this.maxPerRequest = maxPerRequest;
+	}
+}
@@ -0,0 +1,81 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+import org.HdrHistogram.Histogram;
+
+public class LatencyPercentilesDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long count;
+	private Double p50;
+	private Double p90;
+	private Double p99;
+	private Double p999;
+	private Double max;
+
+	public LatencyPercentilesDTO() {
+	}
+
+	/** Reads a histogram recorded in microseconds, reporting milliseconds. */
+	public LatencyPercentilesDTO(Histogram micros) {
+		this.count = micros.getTotalCount();
+		this.p50 = millis(micros.getValueAtPercentile(50.0));
+		this.p90 = millis(micros.getValueAtPercentile(90.0));
+		this.p99 = millis(micros.getValueAtPercentile(99.0));
+		this.p999 = millis(micros.getValueAtPercentile(99.9));
+		this.max = millis(micros.getMaxValue());
+	}
+
+	private static Double millis(long micros) {
+		return micros / 1000.0;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+
+	public Double getP50() {
+		return p50;
+	}
+
+	public void setP50(Double p50) {
+		this.p50 = p50;
+	}
+
+	public Double getP90() {
+		return p90;
+	}
+
+	public void setP90(Double p90) {
+		this.p90 = p90;
+	}
+
+	public Double getP99() {
+		return p99;
+	}
+
+	public void setP99(Double p99) {
+		this.p99 = p99;
+	}
+
+	public Double getP999() {
+		return p999;
+	}
+
+	public void setP999(Double p999) {
+		this.p999 = p999;
+	}
+
+	public Double getMax() {
+		return max;
+	}
+
+	public void setMax(Double max) {
+		this.max = max;
+	}
+}
@@ -0,0 +1,95 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class LimiterDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String name;
+	private Integer limit;
+	private Integer inflight;
+	private Long accepted;
+	private Long rejected;
+	private Long dropped;
+	private Double longRttMs;
+	private Double shortRttMs;
+
+	public LimiterDTO() {
+	}
+
+	public LimiterDTO(String name, Integer limit, Integer inflight, Long accepted, Long rejected, Long dropped,
+			Double longRttMs, Double shortRttMs) {
+		this.name = name;
+		this.limit = limit;
+		this.inflight = inflight;
+		this.accepted = accepted;
+		this.rejected = rejected;
+		this.dropped = dropped;
+		this.longRttMs = longRttMs;
+		this.shortRttMs = shortRttMs;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public Integer getLimit() {
+		return limit;
+	}
+
+	public void setLimit(Integer limit) {
+		this.limit = limit;
+	}
+
+	public Integer getInflight() {
+		return inflight;
+	}
+
+	public void setInflight(Integer inflight) {
+		this.inflight = inflight;
+	}
+
+	public Long getAccepted() {
+		return accepted;
+	}
+
+	public void setAccepted(Long accepted) {
+		this.accepted = accepted;
+	}
+
+	public Long getRejected() {
+		return rejected;
+	}
+
+	public void setRejected(Long rejected) {
+		this.rejected = rejected;
+	}
+
+	public Long getDropped() {
+		return dropped;
+	}
+
+	public void setDropped(Long dropped) {
+		this.dropped = dropped;
+	}
+
+	public Double getLongRttMs() {
+		return longRttMs;
+	}
+
+	public void setLongRttMs(Double longRttMs) {
+		this.longRttMs = longRttMs;
+	}
+
+	public Double getShortRttMs() {
+		return shortRttMs;
+	}
+
+	public void setShortRttMs(Double shortRttMs) {
+		this.shortRttMs = shortRttMs;
+	}
+}
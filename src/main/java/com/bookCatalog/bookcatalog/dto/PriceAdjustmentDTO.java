@@ -0,0 +1,54 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+/**
+ * A price change applied to every book matching {@link #getFilter()}:
+ * {@code PERCENT} scales the price by {@code value} percent, {@code ADD} adds
+ * {@code value} and {@code SET} replaces the price with it. A change that
+ * would make the price of any matching book negative is rejected.
+ */
+public class PriceAdjustmentDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public enum Operation {
+		PERCENT, ADD, SET
+	}
+
+	private BookFilterDTO filter;
+	private Operation operation;
+	private Double value;
+
+	public PriceAdjustmentDTO() {
+	}
+
+	public PriceAdjustmentDTO(BookFilterDTO filter, Operation operation, Double value) {
+		this.filter = filter;
+		this.operation = operation;
+		this.value = value;
+	}
+
+	public BookFilterDTO getFilter() {
+		return filter;
+	}
+
+	public void setFilter(BookFilterDTO filter) {
+		this.filter = filter;
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	public void setOperation(Operation operation) {
+		this.operation = operation;
+	}
+
+	public Double getValue() {
+		return value;
+	}
+
+	public void setValue(Double value) {
+		this.value = value;
+	}
+}
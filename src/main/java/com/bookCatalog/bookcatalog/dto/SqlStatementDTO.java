@@ -0,0 +1,74 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class SqlStatementDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String sql;
+	private Long count;
+	private Double totalMs;
+	private Double avgMs;
+	private Double maxMs;
+	private Long rows;
+
+	public SqlStatementDTO() {
+	}
+
+	public SqlStatementDTO(String sql, Long count, Double totalMs, Double maxMs, Long rows) {
+		this.sql = sql;
+		this.count = count;
+		this.totalMs = totalMs;
+		this.avgMs = count == 0 ? 0.0 : totalMs / count;
+		this.maxMs = maxMs;
+		this.rows = rows;
+	}
+
+	public String getSql() {
+		return sql;
+	}
+
+	public void setSql(String sql) {
+		this.sql = sql;
+	}
+
+	public Long getCount() {
+		return count;
+	}
+
+	public void setCount(Long count) {
+		this.count = count;
+	}
+
+	public Double getTotalMs() {
+		return totalMs;
+	}
+
+	public void setTotalMs(Double totalMs) {
+		this.totalMs = totalMs;
+	}
+
+	public Double getAvgMs() {
+		return avgMs;
+	}
+
+	public void setAvgMs(Double avgMs) {
+		this.avgMs = avgMs;
+	}
+
+	public Double getMaxMs() {
+		return maxMs;
+	}
+
+	public void setMaxMs(Double maxMs) {
+		this.maxMs = maxMs;
+	}
+
+	public Long getRows() {
+		return rows;
+	}
+
+	public void setRows(Long rows) {
+		this.rows = rows;
+	}
+}
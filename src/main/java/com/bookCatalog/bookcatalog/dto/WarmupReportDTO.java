@@ -0,0 +1,85 @@
+package com.bookCatalog.bookcatalog.dto;
+
+import java.io.Serializable;
+
+public class WarmupReportDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Boolean ready;
+	private Integer hotBooks;
+	private Long preloadMillis;
+	private Integer requests;
+	private Integer failedRequests;
+	private Long requestMillis;
+	private Long totalMillis;
+
+	public WarmupReportDTO() {
+	}
+
+	public WarmupReportDTO(Boolean ready, Integer hotBooks, Long preloadMillis, Integer requests,
+			Integer failedRequests, Long requestMillis, Long totalMillis) {
+		this.ready = ready;
+		this.hotBooks = hotBooks;
+		this.preloadMillis = preloadMillis;
+		this.requests = requests;
+		this.failedRequests = failedRequests;
+		this.requestMillis = requestMillis;
+		this.totalMillis = totalMillis;
+	}
+
+	public Boolean getReady() {
+		return ready;
+	}
+
+	public void setReady(Boolean ready) {
+		this.ready = ready;
+	}
+
+	public Integer getHotBooks() {
+		return hotBooks;
+	}
+
+	public void setHotBooks(Integer hotBooks) {
+		this.hotBooks = hotBooks;
+	}
+
+	public Long getPreloadMillis() {
+		return preloadMillis;
+	}
+
+	public void setPreloadMillis(Long preloadMillis) {
+		this.preloadMillis = preloadMillis;
+	}
+
+	public Integer getRequests() {
+		return requests;
+	}
+
+	public void setRequests(Integer requests) {
+		this.requests = requests;
+	}
+
+	public Integer getFailedRequests() {
+		return failedRequests;
+	}
+
+	public void setFailedRequests(Integer failedRequests) {
+		this.failedRequests = failedRequests;
+	}
+
+	public Long getRequestMillis() {
+		return requestMillis;
+	}
+
+	public void setRequestMillis(Long requestMillis) {
+		this.requestMillis = requestMillis;
+	}
+
+	public Long getTotalMillis() {
+		return totalMillis;
+	}
+
+	public void setTotalMillis(Long totalMillis) {
+		this.totalMillis = totalMillis;
+	}
+}
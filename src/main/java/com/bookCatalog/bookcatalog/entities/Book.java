@@ -5,8 +5,11 @@ import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.persistence.Basic;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -15,6 +18,10 @@ import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.LazyGroup;
+
 @Entity
 @Table(name = "tb_book")
 public class Book implements Serializable {
@@ -25,8 +32,21 @@ public class Book implements Serializable {
 	private Long id;
 	private String name;
 	
+	/*
+	 * Both description columns are lazy and share a fetch group: the entity
+	 * is loaded without them and one SELECT brings both on first access.
+	 * Queries that return descriptions fetch them up front instead.
+	 */
+	@Basic(fetch = FetchType.LAZY)
+	@LazyGroup("description")
 	@Column(columnDefinition = "TEXT")
 	private String description;
+
+	@Basic(fetch = FetchType.LAZY)
+	@LazyGroup("description")
+	@Convert(converter = CompressedTextConverter.class)
+	@Column(name = "description_z", length = Integer.MAX_VALUE)
+	private CompressedText compressedDescription;
 	private Double price;
 	private String imgUrl;
 	
@@ -34,6 +54,7 @@ public class Book implements Serializable {
 	private Instant date;
 	
 	@ManyToMany
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 	@JoinTable(name = "tb_book_category",
 		joinColumns = @JoinColumn(name = "book_id"),
 		inverseJoinColumns = @JoinColumn(name = "category_id"))	
@@ -67,12 +88,26 @@ public class Book implements Serializable {
 		this.name = name;
 	}
 
+	/** The description, inflated when it is stored compressed. */
 	public String getDescription() {
-		return description;
+		return compressedDescription != null ? compressedDescription.getText() : description;
 	}
 
+	/** Stores the description as text, dropping any compressed copy. */
 	public void setDescription(String description) {
 		this.description = description;
+		this.compressedDescription = null;
+	}
+
+	/** The description as stored in {@code description_z}, or {@code null} when it is stored as text. */
+	public CompressedText getCompressedDescription() {
+		return compressedDescription;
+	}
+
+	/** Stores the description compressed, clearing the text column. */
+	public void setCompressedDescription(CompressedText compressedDescription) {
+		this.compressedDescription = compressedDescription;
+		this.description = null;
 	}
 
 	public Double getPrice() {
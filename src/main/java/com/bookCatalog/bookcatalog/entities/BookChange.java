@@ -0,0 +1,89 @@
+package com.bookCatalog.bookcatalog.entities;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * One row per committed change to a book, in commit order of its id. A row
+ * without a book stands for a change that touches books indirectly, such as
+ * a category being renamed or deleted. Rows are written and read through
+ * {@code BookChangeRepository}; the mapping exists for the schema.
+ */
+@Entity
+@Table(name = "tb_book_change")
+public class BookChange implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	private Long bookId;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant changedAt;
+
+	public BookChange() {
+	}
+
+	public BookChange(Long id, Long bookId, Instant changedAt) {
+		this.id = id;
+		this.bookId = bookId;
+		this.changedAt = changedAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getBookId() {
+		return bookId;
+	}
+
+	public void setBookId(Long bookId) {
+		this.bookId = bookId;
+	}
+
+	public Instant getChangedAt() {
+		return changedAt;
+	}
+
+	public void setChangedAt(Instant changedAt) {
+		this.changedAt = changedAt;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((id == null) ? 0 : id.hashCode());
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		BookChange other = (BookChange) obj;
+		if (id == null) {
+			if (other.id != null)
+				return false;
+		} else if (!id.equals(other.id))
+			return false;
+		return true;
+	}
+}
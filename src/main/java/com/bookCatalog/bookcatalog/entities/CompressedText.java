@@ -0,0 +1,100 @@
+package com.bookCatalog.bookcatalog.entities;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Text stored deflated in a binary column: the UTF-8 length as a big-endian
+ * int, then a zlib stream of the UTF-8 bytes. Nothing is inflated until
+ * {@link #getText} is called, so an entity or DTO can carry text it may never
+ * show. Instances never change, which lets Hibernate compare them by
+ * reference when it checks an entity for changes.
+ */
+@Immutable
+public final class CompressedText implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final byte[] bytes;
+
+	private CompressedText(byte[] bytes) {
+		this.bytes = bytes;
+	}
+
+	/** Wraps bytes read from the column; {@code null} stays {@code null}. */
+	public static CompressedText of(byte[] bytes) {
+		return bytes == null ? null : new CompressedText(bytes);
+	}
+
+	public static CompressedText compress(String text) {
+		byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+		Deflater deflater = new Deflater();
+		try {
+			deflater.setInput(utf8);
+			deflater.finish();
+			ByteArrayOutputStream out = new ByteArrayOutputStream(4 + utf8.length / 2);
+			out.write(utf8.length >>> 24);
+			out.write(utf8.length >>> 16);
+			out.write(utf8.length >>> 8);
+			out.write(utf8.length);
+			byte[] buffer = new byte[Math.max(64, Math.min(utf8.length, 8192))];
+			while (!deflater.finished()) {
+				out.write(buffer, 0, deflater.deflate(buffer));
+			}
+			return new CompressedText(out.toByteArray());
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	/** The stored bytes; not copied, so callers must not change them. */
+	public byte[] getBytes() {
+		return bytes;
+	}
+
+	/** Length of the text once inflated, in UTF-8 bytes. */
+	public int getTextLength() {
+		return ByteBuffer.wrap(bytes).getInt();
+	}
+
+	public String getText() {
+		byte[] utf8 = new byte[getTextLength()];
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(bytes, 4, bytes.length - 4);
+			int done = 0;
+			while (done < utf8.length) {
+				int n = inflater.inflate(utf8, done, utf8.length - done);
+				if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IllegalStateException("Truncated compressed text");
+				}
+				done += n;
+			}
+		}
+		catch (DataFormatException e) {
+			throw new IllegalStateException("Corrupt compressed text", e);
+		}
+		finally {
+			inflater.end();
+		}
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return this == obj || obj instanceof CompressedText && Arrays.equals(bytes, ((CompressedText) obj).bytes);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(bytes);
+	}
+}
@@ -0,0 +1,19 @@
+package com.bookCatalog.bookcatalog.entities;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/** Maps {@link CompressedText} to its bytes; no inflating happens here. */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<CompressedText, byte[]> {
+
+	@Override
+	public byte[] convertToDatabaseColumn(CompressedText attribute) {
+		return attribute == null ? null : attribute.getBytes();
+	}
+
+	@Override
+	public CompressedText convertToEntityAttribute(byte[] dbData) {
+		return CompressedText.of(dbData);
+	}
+}
@@ -0,0 +1,112 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bookCatalog.bookcatalog.dto.BookAccessDTO;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+
+/**
+ * How often each book is read, estimated by a {@link CountMinSketch} whose
+ * counters are halved every {@code catalog.hot.decay-ms}, so the estimate
+ * follows recent traffic. Books whose estimate beats the weakest of the
+ * current {@code catalog.hot.tracked} heavy hitters become candidates; when
+ * candidates reach twice that number, one thread trims them back while the
+ * others keep recording.
+ * <p>
+ * Caches can use {@link #admit} to let an entry displace another only if it
+ * is read more often, and {@link #hottest} to choose what to load first.
+ */
+@Component
+@Lazy(false)
+public class BookAccessFrequency {
+
+	private final CountMinSketch sketch;
+	private final int tracked;
+	private final Set<Long> candidates = ConcurrentHashMap.newKeySet();
+	private final ReentrantLock trimming = new ReentrantLock();
+	private volatile int floor;
+
+	public BookAccessFrequency(
+			@Value("${catalog.hot.depth:4}") int depth,
+			@Value("${catalog.hot.width:65536}") int width,
+			@Value("${catalog.hot.tracked:100}") int tracked) {
+		this.sketch = new CountMinSketch(depth, width);
+		this.tracked = tracked;
+	}
+
+	public void record(long id) {
+		int estimate = sketch.increment(id);
+		if (estimate > floor && candidates.add(id) && candidates.size() > 2 * tracked) {
+			trim();
+		}
+	}
+
+	public int estimate(long id) {
+		return sketch.estimate(id);
+	}
+
+	/** Whether {@code candidate} is read more often than {@code victim}, the entry it would replace. */
+	public boolean admit(long candidate, long victim) {
+		return sketch.estimate(candidate) > sketch.estimate(victim);
+	}
+
+	/** The most read books, most read first. */
+	public List<BookAccessDTO> hottest(int limit) {
+		if (limit < 0) {
+			throw new BadRequestException("Limit must not be negative");
+		}
+		List<BookAccessDTO> result = new ArrayList<>(candidates.size());
+		for (Long id : candidates) {
+			result.add(new BookAccessDTO(id, sketch.estimate(id)));
+		}
+		result.sort(Comparator.comparing(BookAccessDTO::getEstimatedAccesses).reversed()
+				.thenComparing(BookAccessDTO::getId));
+		return result.subList(0, Math.min(limit, result.size()));
+	}
+
+	public List<Long> hottestIds(int limit) {
+		return hottest(limit).stream().map(BookAccessDTO::getId).collect(Collectors.toList());
+	}
+
+	@Scheduled(fixedDelayString = "${catalog.hot.decay-ms:60000}", initialDelayString = "${catalog.hot.decay-ms:60000}")
+	public void decay() {
+		sketch.halve();
+		floor = floor / 2;
+	}
+
+	public void reset() {
+		sketch.clear();
+		candidates.clear();
+		floor = 0;
+	}
+
+	private void trim() {
+		if (!trimming.tryLock()) {
+			return;
+		}
+		try {
+			List<BookAccessDTO> ranked = hottest(Integer.MAX_VALUE);
+			if (ranked.size() <= tracked) {
+				return;
+			}
+			for (BookAccessDTO dropped : ranked.subList(tracked, ranked.size())) {
+				candidates.remove(dropped.getId());
+			}
+			floor = ranked.get(tracked - 1).getEstimatedAccesses();
+		}
+		finally {
+			trimming.unlock();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Count-Min sketch over {@code long} keys: {@code depth} rows of
+ * {@code width} counters, each row indexed by its own hash of the key. A
+ * key's estimate is the smallest of its counters, so it never undercounts.
+ * <p>
+ * Counters are atomic, so recording is lock-free. A key's counters in every
+ * row share one 64 byte block, the rows taking turns within it, so an
+ * increment touches a single cache line instead of {@code depth}. Each row
+ * still overcounts by {@code N / width} on average, {@code N} being the
+ * total of all increments, but the rows are no longer independent: keys
+ * hashed to the same block meet in every row, where each has only
+ * {@code 16 / depth} slots, so a frequent key in the block shares all of
+ * another key's counters with probability {@code (depth / 16)^depth}, 1/256
+ * at depth 4. The classic bound, an overcount of at most
+ * {@code e * N / width} with probability {@code 1 - e^-depth}, is therefore
+ * only approximate here, which is enough to rank hot books.
+ */
+public class CountMinSketch {
+
+	private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+	private static final int BLOCK = 16;
+
+	private final int depth;
+	private final int width;
+	private final int slots;
+	private final int blockMask;
+	private final AtomicIntegerArray counters;
+
+	/**
+	 * {@code depth} must divide 16; {@code width} is rounded up to a power of
+	 * two so that {@code depth * width} fills whole blocks.
+	 */
+	public CountMinSketch(int depth, int width) {
+		if (depth < 1 || BLOCK % depth != 0 || width < 1) {
+			throw new IllegalArgumentException("Depth must divide " + BLOCK + " and width must be positive");
+		}
+		this.depth = depth;
+		this.slots = BLOCK / depth;
+		int rounded = width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+		this.width = Math.max(rounded, slots);
+		this.blockMask = this.width / slots - 1;
+		this.counters = new AtomicIntegerArray(depth * this.width);
+	}
+
+	/** Counts one occurrence of {@code key} and returns its new estimate. */
+	public int increment(long key) {
+		long hash = hash(key);
+		int block = block(hash);
+		int estimate = Integer.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			estimate = Math.min(estimate, counters.incrementAndGet(index(block, row, hash)));
+		}
+		return estimate;
+	}
+
+	public int estimate(long key) {
+		long hash = hash(key);
+		int block = block(hash);
+		int estimate = Integer.MAX_VALUE;
+		for (int row = 0; row < depth; row++) {
+			estimate = Math.min(estimate, counters.get(index(block, row, hash)));
+		}
+		return estimate;
+	}
+
+	/**
+	 * Halves every counter, so old accesses weigh half as much as new ones
+	 * after each call. Increments that race with it are kept.
+	 */
+	public void halve() {
+		for (int i = 0; i < counters.length(); i++) {
+			counters.getAndUpdate(i, value -> value >>> 1);
+		}
+	}
+
+	public void clear() {
+		for (int i = 0; i < counters.length(); i++) {
+			counters.set(i, 0);
+		}
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	private static long hash(long key) {
+		// SplitMix64 finalizer.
+		long z = key + GOLDEN;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/** The low half of the hash picks the block; the high half picks each row's slot in it. */
+	private int block(long hash) {
+		return ((int) hash & blockMask) * BLOCK;
+	}
+
+	private int index(int block, int row, long hash) {
+		int slot = (int) (hash >>> (32 + 4 * row)) & (slots - 1);
+		return block + row * slots + slot;
+	}
+}
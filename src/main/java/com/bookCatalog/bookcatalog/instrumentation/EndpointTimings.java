@@ -0,0 +1,79 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import com.bookCatalog.bookcatalog.dto.LatencyPercentilesDTO;
+
+/**
+ * Latency histograms per endpoint and phase. Request threads record into
+ * HdrHistogram {@link Recorder}s, which are wait-free for writers; readers
+ * drain the recorders into cumulative histograms under a per-endpoint lock.
+ */
+@Component
+public class EndpointTimings {
+
+	private static final int SIGNIFICANT_DIGITS = 3;
+
+	private final ConcurrentMap<String, EndpointHistograms> endpoints = new ConcurrentHashMap<>();
+
+	void record(String endpoint, RequestTimings timings, long end) {
+		EndpointHistograms histograms = endpoints.computeIfAbsent(endpoint, key -> new EndpointHistograms());
+		histograms.record(TimingPhase.TOTAL, end - timings.getStart());
+		histograms.record(TimingPhase.CONTROLLER, timings.exclusive(TimingPhase.CONTROLLER));
+		histograms.record(TimingPhase.SERVICE, timings.exclusive(TimingPhase.SERVICE));
+		histograms.record(TimingPhase.REPOSITORY, timings.exclusive(TimingPhase.REPOSITORY));
+		histograms.record(TimingPhase.DATABASE, timings.exclusive(TimingPhase.DATABASE));
+		if (timings.getHandlerEnd() > 0L) {
+			histograms.record(TimingPhase.SERIALIZATION, end - timings.getHandlerEnd());
+		}
+	}
+
+	public Map<String, Map<String, LatencyPercentilesDTO>> snapshot() {
+		Map<String, Map<String, LatencyPercentilesDTO>> result = new TreeMap<>();
+		endpoints.forEach((endpoint, histograms) -> result.put(endpoint, histograms.snapshot()));
+		return result;
+	}
+
+	public void reset() {
+		endpoints.clear();
+	}
+
+	private static class EndpointHistograms {
+
+		private final Map<TimingPhase, Recorder> recorders = new EnumMap<>(TimingPhase.class);
+		private final Map<TimingPhase, Histogram> intervals = new EnumMap<>(TimingPhase.class);
+		private final Map<TimingPhase, Histogram> cumulative = new EnumMap<>(TimingPhase.class);
+
+		EndpointHistograms() {
+			for (TimingPhase phase : TimingPhase.values()) {
+				recorders.put(phase, new Recorder(SIGNIFICANT_DIGITS));
+				cumulative.put(phase, new Histogram(SIGNIFICANT_DIGITS));
+			}
+		}
+
+		void record(TimingPhase phase, long nanos) {
+			recorders.get(phase).recordValue(nanos / 1000L);
+		}
+
+		synchronized Map<String, LatencyPercentilesDTO> snapshot() {
+			Map<String, LatencyPercentilesDTO> result = new LinkedHashMap<>();
+			for (TimingPhase phase : TimingPhase.values()) {
+				Histogram interval = recorders.get(phase).getIntervalHistogram(intervals.get(phase));
+				intervals.put(phase, interval);
+				Histogram histogram = cumulative.get(phase);
+				histogram.add(interval);
+				result.put(phase.getMetric(), new LatencyPercentilesDTO(histogram));
+			}
+			return result;
+		}
+	}
+}
@@ -0,0 +1,172 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Wraps every connection so statements report their text, bind values,
+ * execution time and row counts to {@link StatementStatistics}.
+ */
+public class InstrumentedDataSource extends DelegatingDataSource {
+
+	private final StatementStatistics statistics;
+
+	public InstrumentedDataSource(DataSource target, StatementStatistics statistics) {
+		super(target);
+		this.statistics = statistics;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return wrap(super.getConnection());
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return wrap(super.getConnection(username, password));
+	}
+
+	private Connection wrap(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+				new ConnectionHandler(connection));
+	}
+
+	private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		}
+		catch (InvocationTargetException e) {
+			throw e.getTargetException();
+		}
+	}
+
+	private class ConnectionHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		ConnectionHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			Object result = InstrumentedDataSource.invoke(target, method, args);
+			if (!(result instanceof Statement)) {
+				return result;
+			}
+			String name = method.getName();
+			Class<?> type;
+			String sql = null;
+			if (name.equals("prepareCall")) {
+				type = CallableStatement.class;
+				sql = (String) args[0];
+			}
+			else if (name.equals("prepareStatement")) {
+				type = PreparedStatement.class;
+				sql = (String) args[0];
+			}
+			else {
+				type = Statement.class;
+			}
+			return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { type },
+					new StatementHandler((Statement) result, target, sql));
+		}
+	}
+
+	private class StatementHandler implements InvocationHandler {
+
+		private final Statement target;
+		private final Connection connection;
+		private final String sql;
+		private final List<Object> binds = new ArrayList<>();
+
+		StatementHandler(Statement target, Connection connection, String sql) {
+			this.target = target;
+			this.connection = connection;
+			this.sql = sql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.startsWith("execute")) {
+				return execute(method, args);
+			}
+			if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+				bind((Integer) args[0], name.equals("setNull") ? null : args[1]);
+			}
+			else if (name.equals("clearParameters")) {
+				binds.clear();
+			}
+			Object result = InstrumentedDataSource.invoke(target, method, args);
+			if (result instanceof ResultSet && name.equals("getResultSet") && sql != null) {
+				return countRows((ResultSet) result, statistics.statsFor(sql));
+			}
+			return result;
+		}
+
+		private void bind(int index, Object value) {
+			while (binds.size() < index) {
+				binds.add(null);
+			}
+			binds.set(index - 1, value);
+		}
+
+		private Object execute(Method method, Object[] args) throws Throwable {
+			String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+			long start = System.nanoTime();
+			Object result = InstrumentedDataSource.invoke(target, method, args);
+			long elapsed = System.nanoTime() - start;
+			if (executed == null) {
+				return result;
+			}
+			StatementStatistics.SqlStats stats = statistics.record(executed, elapsed, updatedRows(result));
+			if (statistics.isSlow(elapsed)) {
+				statistics.logSlow(executed, elapsed, new ArrayList<>(binds), connection);
+			}
+			if (result instanceof ResultSet) {
+				return countRows((ResultSet) result, stats);
+			}
+			return result;
+		}
+
+		private long updatedRows(Object result) {
+			if (result instanceof Integer || result instanceof Long) {
+				return ((Number) result).longValue();
+			}
+			if (result instanceof int[]) {
+				long rows = 0;
+				for (int count : (int[]) result) {
+					rows += Math.max(count, 0);
+				}
+				return rows;
+			}
+			return 0L;
+		}
+
+		private ResultSet countRows(ResultSet resultSet, StatementStatistics.SqlStats stats) {
+			return (ResultSet) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ResultSet.class },
+					(proxy, method, args) -> {
+						Object result = InstrumentedDataSource.invoke(resultSet, method, args);
+						if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+							stats.addRow();
+						}
+						return result;
+					});
+		}
+	}
+}
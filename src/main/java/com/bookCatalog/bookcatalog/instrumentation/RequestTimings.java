@@ -0,0 +1,149 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+/**
+ * Accumulates the phases of one request. The instance is bound to the thread
+ * serving the request and, in async mode, to the bulkhead thread running its
+ * service call; the phases written by each thread do not overlap.
+ */
+public final class RequestTimings {
+
+	private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+	private static final int PHASES = TimingPhase.values().length;
+
+	private final long[] nanos = new long[PHASES];
+	private final int[] depth = new int[PHASES];
+	private final long start = System.nanoTime();
+	private volatile long handlerEnd;
+	private int statements;
+
+	private RequestTimings() {
+	}
+
+	static RequestTimings begin() {
+		RequestTimings timings = new RequestTimings();
+		CURRENT.set(timings);
+		return timings;
+	}
+
+	static void end() {
+		CURRENT.remove();
+	}
+
+	/** The timings of the current request, or {@code null} outside of one. */
+	public static RequestTimings current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Binds the timings of a request to the current thread, returning what
+	 * was bound before so it can be given back to {@link #restore}.
+	 */
+	public static RequestTimings attach(RequestTimings timings) {
+		RequestTimings previous = CURRENT.get();
+		CURRENT.set(timings);
+		return previous;
+	}
+
+	public static void restore(RequestTimings previous) {
+		if (previous == null) {
+			CURRENT.remove();
+		}
+		else {
+			CURRENT.set(previous);
+		}
+	}
+
+	/** Marks entry into a phase; nested entries into the same phase are not counted twice. */
+	public long enter(TimingPhase phase) {
+		return depth[phase.ordinal()]++ == 0 ? System.nanoTime() : 0L;
+	}
+
+	public void exit(TimingPhase phase, long started) {
+		if (--depth[phase.ordinal()] == 0) {
+			long now = System.nanoTime();
+			nanos[phase.ordinal()] += now - started;
+			if (phase == TimingPhase.CONTROLLER) {
+				handlerEnded(now);
+			}
+		}
+	}
+
+	/**
+	 * Marks the end of the handler; what follows until the response is
+	 * written counts as serialization. A handler returning a future ends when
+	 * the future completes, which may be on another thread and may be before
+	 * or after the controller method returns, so the later mark wins.
+	 */
+	public void handlerEnded(long now) {
+		if (now - handlerEnd > 0L || handlerEnd == 0L) {
+			handlerEnd = now;
+		}
+	}
+
+	/** Counts a JDBC statement executed by this request, adding its time to the database phase. */
+	public void statement(long elapsedNanos) {
+		statements++;
+		nanos[TimingPhase.DATABASE.ordinal()] += elapsedNanos;
+	}
+
+	public int getStatements() {
+		return statements;
+	}
+
+	long getStart() {
+		return start;
+	}
+
+	long getHandlerEnd() {
+		return handlerEnd;
+	}
+
+	/**
+	 * Time spent in a phase excluding the phases nested in it: controller
+	 * time excludes the service, which excludes the repository.
+	 */
+	public long exclusive(TimingPhase phase) {
+		switch (phase) {
+		case CONTROLLER:
+			return Math.max(0L, nanos[TimingPhase.CONTROLLER.ordinal()] - nanos[TimingPhase.SERVICE.ordinal()]);
+		case SERVICE:
+			return Math.max(0L, nanos[TimingPhase.SERVICE.ordinal()] - nanos[TimingPhase.REPOSITORY.ordinal()]);
+		default:
+			return nanos[phase.ordinal()];
+		}
+	}
+
+	public String serverTiming() {
+		StringBuilder sb = new StringBuilder(64);
+		append(sb, TimingPhase.DATABASE);
+		sb.append(";desc=\"").append(statements).append(" statements\"");
+		append(sb, TimingPhase.REPOSITORY);
+		append(sb, TimingPhase.SERVICE);
+		append(sb, TimingPhase.CONTROLLER);
+		sb.append(", ").append(TimingPhase.TOTAL.getMetric()).append(";dur=");
+		appendMillis(sb, System.nanoTime() - start);
+		return sb.toString();
+	}
+
+	private void append(StringBuilder sb, TimingPhase phase) {
+		if (sb.length() > 0) {
+			sb.append(", ");
+		}
+		sb.append(phase.getMetric()).append(";dur=");
+		appendMillis(sb, exclusive(phase));
+	}
+
+	private static void appendMillis(StringBuilder sb, long nanos) {
+		long micros = nanos / 1000L;
+		sb.append(micros / 1000L).append('.');
+		long fraction = micros % 1000L;
+		if (fraction < 100L) {
+			sb.append('0');
+		}
+		if (fraction < 10L) {
+			sb.append('0');
+		}
+		sb.append(fraction);
+	}
+}
@@ -0,0 +1,54 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.bookCatalog.bookcatalog.config.SecondLevelCacheConfig;
+import com.bookCatalog.bookcatalog.dto.CacheRegionDTO;
+
+/**
+ * Hit, miss and put counts of the second-level cache regions, read from
+ * Hibernate's statistics. The counts stay at zero when
+ * {@code catalog.cache.statistics} is off.
+ */
+@Component
+public class SecondLevelCacheStatistics {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	public Map<String, CacheRegionDTO> snapshot() {
+		Statistics statistics = sessionFactory().getStatistics();
+		Map<String, CacheRegionDTO> result = new LinkedHashMap<>();
+		for (String region : new String[] { SecondLevelCacheConfig.CATEGORY_REGION,
+				SecondLevelCacheConfig.BOOK_CATEGORIES_REGION }) {
+			CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+			if (regionStatistics != null) {
+				result.put(region, new CacheRegionDTO(regionStatistics.getHitCount(),
+						regionStatistics.getMissCount(), regionStatistics.getPutCount()));
+			}
+		}
+		result.put("queries", new CacheRegionDTO(statistics.getQueryCacheHitCount(),
+				statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+		return result;
+	}
+
+	/** Empties every region and restarts the counters. */
+	public void reset() {
+		SessionFactory sessionFactory = sessionFactory();
+		sessionFactory.getCache().evictAllRegions();
+		sessionFactory.getStatistics().clear();
+	}
+
+	private SessionFactory sessionFactory() {
+		return entityManagerFactory.unwrap(SessionFactory.class);
+	}
+}
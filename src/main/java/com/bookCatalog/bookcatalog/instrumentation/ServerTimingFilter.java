@@ -0,0 +1,72 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Opens the per-request {@link RequestTimings} and, once the response is
+ * written, records every phase and the number of SQL statements under the
+ * matched endpoint pattern. Requests handled asynchronously are recorded at
+ * the end of their async dispatch.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+	public static final String HEADER = "Server-Timing";
+
+	private static final String ATTRIBUTE = RequestTimings.class.getName();
+
+	private final EndpointTimings endpointTimings;
+	private final StatementStatistics statementStatistics;
+
+	public ServerTimingFilter(EndpointTimings endpointTimings, StatementStatistics statementStatistics) {
+		this.endpointTimings = endpointTimings;
+		this.statementStatistics = statementStatistics;
+	}
+
+	@Override
+	protected boolean shouldNotFilterAsyncDispatch() {
+		return false;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		RequestTimings timings = (RequestTimings) request.getAttribute(ATTRIBUTE);
+		if (timings == null) {
+			timings = RequestTimings.begin();
+			request.setAttribute(ATTRIBUTE, timings);
+		}
+		else {
+			RequestTimings.attach(timings);
+		}
+		try {
+			filterChain.doFilter(request, response);
+			if (!request.isAsyncStarted() && !response.isCommitted() && !response.containsHeader(HEADER)) {
+				response.setHeader(HEADER, timings.serverTiming());
+			}
+		}
+		finally {
+			if (!request.isAsyncStarted()) {
+				record(request, timings);
+			}
+			RequestTimings.end();
+		}
+	}
+
+	private void record(HttpServletRequest request, RequestTimings timings) {
+		long end = System.nanoTime();
+		Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+		if (pattern != null) {
+			String endpoint = request.getMethod() + " " + pattern;
+			endpointTimings.record(endpoint, timings, end);
+			statementStatistics.recordRequest(endpoint, timings.getStatements());
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.bookCatalog.bookcatalog.dto.EndpointQueriesDTO;
+import com.bookCatalog.bookcatalog.dto.SqlStatementDTO;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+
+/**
+ * Counters per normalized SQL statement, fed by {@link InstrumentedDataSource}.
+ * Statements are looked up by their raw text first, so normalization runs
+ * once per distinct string rather than once per execution.
+ */
+@Component
+public class StatementStatistics {
+
+	private static final Logger log = LoggerFactory.getLogger(StatementStatistics.class);
+
+	private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+	private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+	private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private static final String OVERFLOW = "<other statements>";
+
+	private final ConcurrentMap<String, SqlStats> byRawSql = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, SqlStats> byNormalizedSql = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, EndpointQueries> byEndpoint = new ConcurrentHashMap<>();
+
+	private final long slowThresholdNanos;
+	private final boolean explainSlowQueries;
+	private final int maxStatements;
+
+	public StatementStatistics(
+			@Value("${catalog.sql.slow-query-threshold-ms:200}") long slowThresholdMs,
+			@Value("${catalog.sql.explain-slow-queries:true}") boolean explainSlowQueries,
+			@Value("${catalog.sql.max-statements:1000}") int maxStatements) {
+		this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+		this.explainSlowQueries = explainSlowQueries;
+		this.maxStatements = maxStatements;
+	}
+
+	static String normalize(String sql) {
+		String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+		normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+		normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+		return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+	}
+
+	SqlStats statsFor(String sql) {
+		SqlStats stats = byRawSql.get(sql);
+		if (stats != null) {
+			return stats;
+		}
+		String normalized = normalize(sql);
+		if (byNormalizedSql.size() >= maxStatements && !byNormalizedSql.containsKey(normalized)) {
+			normalized = OVERFLOW;
+		}
+		stats = byNormalizedSql.computeIfAbsent(normalized, SqlStats::new);
+		if (byRawSql.size() < maxStatements) {
+			byRawSql.putIfAbsent(sql, stats);
+		}
+		return stats;
+	}
+
+	SqlStats record(String sql, long elapsedNanos, long rows) {
+		SqlStats stats = statsFor(sql);
+		stats.count.increment();
+		stats.totalNanos.add(elapsedNanos);
+		stats.maxNanos.accumulate(elapsedNanos);
+		if (rows > 0) {
+			stats.rows.add(rows);
+		}
+		RequestTimings timings = RequestTimings.current();
+		if (timings != null) {
+			timings.statement(elapsedNanos);
+		}
+		return stats;
+	}
+
+	boolean isSlow(long elapsedNanos) {
+		return elapsedNanos >= slowThresholdNanos;
+	}
+
+	void logSlow(String sql, long elapsedNanos, List<Object> binds, Connection connection) {
+		String plan = explainSlowQueries ? explain(sql, binds, connection) : "disabled";
+		log.warn("Slow query ({} ms): {}\n  binds: {}\n  plan: {}",
+				TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql, binds, plan);
+	}
+
+	private static String explain(String sql, List<Object> binds, Connection connection) {
+		String verb = sql.trim().toLowerCase();
+		if (!(verb.startsWith("select") || verb.startsWith("update") || verb.startsWith("delete"))) {
+			return "not applicable";
+		}
+		try (PreparedStatement st = connection.prepareStatement("EXPLAIN " + sql)) {
+			for (int i = 0; i < binds.size(); i++) {
+				st.setObject(i + 1, binds.get(i));
+			}
+			StringBuilder plan = new StringBuilder();
+			try (ResultSet rs = st.executeQuery()) {
+				while (rs.next()) {
+					plan.append("\n    ").append(rs.getString(1));
+				}
+			}
+			return plan.toString();
+		}
+		catch (SQLException e) {
+			return "unavailable (" + e.getMessage() + ")";
+		}
+	}
+
+	void recordRequest(String endpoint, int statements) {
+		EndpointQueries queries = byEndpoint.computeIfAbsent(endpoint, key -> new EndpointQueries());
+		queries.requests.increment();
+		queries.statements.add(statements);
+		queries.max.accumulate(statements);
+	}
+
+	public List<SqlStatementDTO> top(int limit, String sort) {
+		if (limit < 0) {
+			throw new BadRequestException("Limit must not be negative");
+		}
+		Comparator<SqlStatementDTO> order;
+		switch (sort) {
+		case "count":
+			order = Comparator.comparing(SqlStatementDTO::getCount);
+			break;
+		case "max":
+			order = Comparator.comparing(SqlStatementDTO::getMaxMs);
+			break;
+		case "rows":
+			order = Comparator.comparing(SqlStatementDTO::getRows);
+			break;
+		default:
+			order = Comparator.comparing(SqlStatementDTO::getTotalMs);
+		}
+		List<SqlStatementDTO> result = new ArrayList<>();
+		byNormalizedSql.values().forEach(stats -> result.add(stats.toDto()));
+		result.sort(order.reversed());
+		return result.subList(0, Math.min(limit, result.size()));
+	}
+
+	public Map<String, EndpointQueriesDTO> queriesPerRequest() {
+		Map<String, EndpointQueriesDTO> result = new TreeMap<>();
+		byEndpoint.forEach((endpoint, queries) -> result.put(endpoint, new EndpointQueriesDTO(
+				queries.requests.sum(), queries.statements.sum(), queries.max.get())));
+		return result;
+	}
+
+	public void reset() {
+		byRawSql.clear();
+		byNormalizedSql.clear();
+		byEndpoint.clear();
+	}
+
+	static final class SqlStats {
+
+		private final String sql;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+		private final LongAdder rows = new LongAdder();
+
+		SqlStats(String sql) {
+			this.sql = sql;
+		}
+
+		void addRow() {
+			rows.increment();
+		}
+
+		SqlStatementDTO toDto() {
+			return new SqlStatementDTO(sql, count.sum(), totalNanos.sum() / 1e6, maxNanos.get() / 1e6, rows.sum());
+		}
+	}
+
+	private static final class EndpointQueries {
+
+		private final LongAdder requests = new LongAdder();
+		private final LongAdder statements = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+	}
+}
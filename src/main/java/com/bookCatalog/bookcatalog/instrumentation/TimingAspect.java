@@ -0,0 +1,50 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.util.concurrent.CompletionStage;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@ConditionalOnProperty(name = "catalog.timing.enabled", matchIfMissing = true)
+public class TimingAspect {
+
+	@Around("@within(org.springframework.web.bind.annotation.RestController)")
+	public Object controller(ProceedingJoinPoint pjp) throws Throwable {
+		Object result = time(pjp, TimingPhase.CONTROLLER);
+		RequestTimings timings = RequestTimings.current();
+		if (timings != null && result instanceof CompletionStage) {
+			// An async handler is done only when its future is, not when it returns the future.
+			((CompletionStage<?>) result).whenComplete((value, failure) -> timings.handlerEnded(System.nanoTime()));
+		}
+		return result;
+	}
+
+	@Around("@within(org.springframework.stereotype.Service)")
+	public Object service(ProceedingJoinPoint pjp) throws Throwable {
+		return time(pjp, TimingPhase.SERVICE);
+	}
+
+	@Around("this(org.springframework.data.repository.Repository)")
+	public Object repository(ProceedingJoinPoint pjp) throws Throwable {
+		return time(pjp, TimingPhase.REPOSITORY);
+	}
+
+	private Object time(ProceedingJoinPoint pjp, TimingPhase phase) throws Throwable {
+		RequestTimings timings = RequestTimings.current();
+		if (timings == null) {
+			return pjp.proceed();
+		}
+		long started = timings.enter(phase);
+		try {
+			return pjp.proceed();
+		}
+		finally {
+			timings.exit(phase, started);
+		}
+	}
+}
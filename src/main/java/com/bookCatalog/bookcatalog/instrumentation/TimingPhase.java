@@ -0,0 +1,20 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+public enum TimingPhase {
+	TOTAL("total"),
+	CONTROLLER("ctl"),
+	SERVICE("svc"),
+	REPOSITORY("repo"),
+	DATABASE("db"),
+	SERIALIZATION("ser");
+
+	private final String metric;
+
+	TimingPhase(String metric) {
+		this.metric = metric;
+	}
+
+	public String getMetric() {
+		return metric;
+	}
+}
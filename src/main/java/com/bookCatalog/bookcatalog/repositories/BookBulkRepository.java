@@ -0,0 +1,121 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bookCatalog.bookcatalog.dto.BookFilterDTO;
+import com.bookCatalog.bookcatalog.dto.PriceAdjustmentDTO;
+
+/**
+ * Set-based statements over {@code tb_book} for bulk operations. Callers
+ * select one chunk of matching ids at a time with {@link #findIds} and apply
+ * the change to that chunk by primary key, so each statement touches a
+ * bounded number of rows. These statements bypass the persistence context.
+ */
+@Repository
+public class BookBulkRepository {
+
+	@Autowired
+	private NamedParameterJdbcTemplate jdbc;
+
+	/**
+	 * Up to {@code limit} ids matching the filter, in ascending order and
+	 * greater than {@code afterId}. When {@code within} is given only those
+	 * ids are considered; the filter's own id list is ignored.
+	 */
+	public List<Long> findIds(BookFilterDTO filter, List<Long> within, long afterId, int limit) {
+		MapSqlParameterSource params = new MapSqlParameterSource("afterId", afterId).addValue("limit", limit);
+		StringBuilder sql = new StringBuilder("SELECT b.id FROM tb_book b WHERE b.id > :afterId");
+		appendCriteria(sql, params, filter, within);
+		sql.append(" ORDER BY b.id LIMIT :limit");
+		return jdbc.queryForList(sql.toString(), params, Long.class);
+	}
+
+	/** The lowest price among the books matching the filter, or {@code null} when none does. */
+	public Double findMinPrice(BookFilterDTO filter) {
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		StringBuilder sql = new StringBuilder("SELECT MIN(b.price) FROM tb_book b WHERE 1 = 1");
+		appendCriteria(sql, params, filter, filter.getIds());
+		return jdbc.queryForObject(sql.toString(), params, Double.class);
+	}
+
+	private static void appendCriteria(StringBuilder sql, MapSqlParameterSource params, BookFilterDTO filter,
+			List<Long> within) {
+		if (within != null) {
+			sql.append(" AND b.id IN (:within)");
+			params.addValue("within", within);
+		}
+		if (filter.getCategoryId() != null) {
+			sql.append(" AND EXISTS (SELECT 1 FROM tb_book_category bc "
+					+ "WHERE bc.book_id = b.id AND bc.category_id = :categoryId)");
+			params.addValue("categoryId", filter.getCategoryId());
+		}
+		if (filter.getMinPrice() != null) {
+			sql.append(" AND b.price >= :minPrice");
+			params.addValue("minPrice", filter.getMinPrice());
+		}
+		if (filter.getMaxPrice() != null) {
+			sql.append(" AND b.price <= :maxPrice");
+			params.addValue("maxPrice", filter.getMaxPrice());
+		}
+		// Hibernate writes Instant to the zone-less column in the JVM zone; Timestamp.from does the same.
+		if (filter.getFrom() != null) {
+			sql.append(" AND b.date >= :from");
+			params.addValue("from", Timestamp.from(filter.getFrom()));
+		}
+		if (filter.getTo() != null) {
+			sql.append(" AND b.date < :to");
+			params.addValue("to", Timestamp.from(filter.getTo()));
+		}
+	}
+
+	/** Those of the given ids that belong to a book, whatever else the book is like. */
+	public List<Long> findExistingIds(List<Long> ids) {
+		return jdbc.queryForList("SELECT id FROM tb_book WHERE id IN (:ids)", new MapSqlParameterSource("ids", ids),
+				Long.class);
+	}
+
+	public int updatePrice(List<Long> ids, PriceAdjustmentDTO.Operation operation, double value) {
+		String price;
+		switch (operation) {
+		case PERCENT:
+			price = "ROUND(price * (1 + :value / 100.0), 2)";
+			break;
+		case ADD:
+			// The caller rejects a decrease below the lowest matching price; this only
+			// guards against prices lowered while the job runs.
+			price = "GREATEST(ROUND(price + :value, 2), 0)";
+			break;
+		default:
+			price = ":value";
+		}
+		return jdbc.update("UPDATE tb_book SET price = " + price + " WHERE id IN (:ids)",
+				new MapSqlParameterSource("ids", ids).addValue("value", value));
+	}
+
+	/** Links the category to those of the given books that lack it; rerunning it inserts nothing. */
+	public int addCategory(List<Long> ids, Long categoryId) {
+		return jdbc.update("INSERT INTO tb_book_category (book_id, category_id) "
+				+ "SELECT b.id, :categoryId FROM tb_book b WHERE b.id IN (:ids) "
+				+ "AND NOT EXISTS (SELECT 1 FROM tb_book_category bc "
+				+ "WHERE bc.book_id = b.id AND bc.category_id = :categoryId)",
+				new MapSqlParameterSource("ids", ids).addValue("categoryId", categoryId));
+	}
+
+	public int removeCategory(List<Long> ids, Long categoryId) {
+		return jdbc.update("DELETE FROM tb_book_category WHERE category_id = :categoryId AND book_id IN (:ids)",
+				new MapSqlParameterSource("ids", ids).addValue("categoryId", categoryId));
+	}
+
+	/** Deletes the books and their category links, returning the number of books deleted. */
+	public int deleteBooks(List<Long> ids) {
+		MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+		jdbc.update("DELETE FROM tb_book_category WHERE book_id IN (:ids)", params);
+		return jdbc.update("DELETE FROM tb_book WHERE id IN (:ids)", params);
+	}
+}
@@ -0,0 +1,85 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.DatabaseMetaData;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The change log in {@code tb_book_change}. Its highest id is the high-water
+ * mark a catalog snapshot records, and the rows above it are what a restored
+ * snapshot has to catch up on.
+ */
+@Repository
+public class BookChangeRepository {
+
+	private static final String INSERT = "INSERT INTO tb_book_change (book_id, changed_at) VALUES (?, ?)";
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	public void record(List<Long> bookIds) {
+		Timestamp now = Timestamp.from(Instant.now());
+		List<Object[]> rows = new ArrayList<>(bookIds.size());
+		bookIds.forEach(id -> rows.add(new Object[] { id, now }));
+		jdbc.batchUpdate(INSERT, rows);
+	}
+
+	/** Records a change that may affect any book. */
+	public void recordAll() {
+		record(Collections.singletonList(null));
+	}
+
+	/**
+	 * A hash of the connection URL and user, which tells a snapshot taken
+	 * from this database from one written by an instance using another.
+	 */
+	public long findDatabaseIdentity() {
+		String identity = jdbc.execute((ConnectionCallback<String>) con -> {
+			DatabaseMetaData metaData = con.getMetaData();
+			return metaData.getURL() + " " + metaData.getUserName();
+		});
+		return UUID.nameUUIDFromBytes(identity.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+	}
+
+	/** The id of the latest change, or {@code 0} when the log is empty. */
+	public long findHighWaterMark() {
+		Long mark = jdbc.queryForObject("SELECT MAX(id) FROM tb_book_change", Long.class);
+		return mark == null ? 0L : mark;
+	}
+
+	/** When the change with the given id was logged, {@code null} once it is pruned. */
+	public Instant findChangedAt(long id) {
+		List<Timestamp> changedAt = jdbc.queryForList("SELECT changed_at FROM tb_book_change WHERE id = ?",
+				Timestamp.class, id);
+		return changedAt.isEmpty() ? null : changedAt.get(0).toInstant();
+	}
+
+	/**
+	 * Distinct book ids changed after the given mark or logged since the
+	 * given instant. A {@code null} element means one of those changes may
+	 * affect any book.
+	 */
+	public List<Long> findChangedSince(long mark, Instant since) {
+		return jdbc.queryForList("SELECT DISTINCT book_id FROM tb_book_change WHERE id > ? OR changed_at >= ?",
+				Long.class, mark, Timestamp.from(since));
+	}
+
+	/**
+	 * Deletes the changes logged before the cutoff, except the latest one,
+	 * which stays as the high-water mark.
+	 */
+	public int deleteBefore(Instant cutoff) {
+		return jdbc.update("DELETE FROM tb_book_change WHERE changed_at < ? "
+				+ "AND id < (SELECT MAX(id) FROM tb_book_change)", Timestamp.from(cutoff));
+	}
+}
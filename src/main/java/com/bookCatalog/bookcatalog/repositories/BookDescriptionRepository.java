@@ -0,0 +1,117 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.bookCatalog.bookcatalog.dto.DescriptionCompressionDTO;
+import com.bookCatalog.bookcatalog.entities.CompressedText;
+
+/**
+ * Moves descriptions between the {@code description} text column of
+ * {@code tb_book} and the compressed {@code description_z} column. An update
+ * only applies while the row still holds the value that was read, so a book
+ * saved during a migration keeps what it was saved with.
+ */
+@Repository
+public class BookDescriptionRepository {
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	/** Up to {@code limit} books after {@code afterId}, in id order, with a text description of at least {@code minLength} characters. */
+	public Map<Long, String> findTextAfter(long afterId, int minLength, int limit) {
+		Map<Long, String> texts = new LinkedHashMap<>();
+		jdbc.query("SELECT id, description FROM tb_book WHERE id > ? AND LENGTH(description) >= ? ORDER BY id LIMIT ?",
+				rs -> {
+					texts.put(rs.getLong(1), rs.getString(2));
+				}, afterId, minLength, limit);
+		return texts;
+	}
+
+	/** Up to {@code limit} books after {@code afterId}, in id order, with a compressed description. */
+	public Map<Long, CompressedText> findCompressedAfter(long afterId, int limit) {
+		Map<Long, CompressedText> compressed = new LinkedHashMap<>();
+		jdbc.query("SELECT id, description_z FROM tb_book WHERE id > ? AND description_z IS NOT NULL ORDER BY id LIMIT ?",
+				rs -> {
+					compressed.put(rs.getLong(1), CompressedText.of(rs.getBytes(2)));
+				}, afterId, limit);
+		return compressed;
+	}
+
+	/** Replaces each text read into {@code texts} with its compressed form; returns the rows changed. */
+	public int compress(Map<Long, String> texts, Map<Long, CompressedText> compressed) {
+		List<Object[]> rows = new ArrayList<>(compressed.size());
+		compressed.forEach((id, value) -> rows.add(new Object[] { value.getBytes(), id, texts.get(id) }));
+		return sum(jdbc.batchUpdate(
+				"UPDATE tb_book SET description = NULL, description_z = ? WHERE id = ? AND description = ?", rows));
+	}
+
+	/** Stores each compressed description back as text; returns the rows changed. */
+	public int expand(Map<Long, CompressedText> compressed) {
+		List<Object[]> rows = new ArrayList<>(compressed.size());
+		compressed.forEach((id, value) -> rows.add(new Object[] { value.getText(), id, value.getBytes() }));
+		return sum(jdbc.batchUpdate(
+				"UPDATE tb_book SET description = ?, description_z = NULL WHERE id = ? AND description_z = ?", rows));
+	}
+
+	/**
+	 * Rows and sizes of both columns. The table size comes from the database
+	 * and includes indexes and out-of-row storage; it is {@code null} on
+	 * databases other than H2 and PostgreSQL.
+	 */
+	public DescriptionCompressionDTO findStatistics() {
+		DescriptionCompressionDTO dto = jdbc.queryForObject("SELECT COUNT(description), COUNT(description_z), "
+				+ "COALESCE(SUM(LENGTH(description)), 0), COALESCE(SUM(LENGTH(description_z)), 0) FROM tb_book",
+				(rs, rowNum) -> {
+					DescriptionCompressionDTO statistics = new DescriptionCompressionDTO();
+					statistics.setTextRows(rs.getLong(1));
+					statistics.setCompressedRows(rs.getLong(2));
+					statistics.setTextChars(rs.getLong(3));
+					statistics.setCompressedBytes(rs.getLong(4));
+					return statistics;
+				});
+		dto.setTableBytes(findTableBytes());
+		return dto;
+	}
+
+	private Long findTableBytes() {
+		String product = jdbc.execute((Connection connection) -> {
+			try {
+				return connection.getMetaData().getDatabaseProductName().toUpperCase(Locale.ROOT);
+			}
+			catch (SQLException e) {
+				return "";
+			}
+		});
+		try {
+			if (product.contains("H2")) {
+				return jdbc.queryForObject("CALL DISK_SPACE_USED('TB_BOOK')", Long.class);
+			}
+			if (product.contains("POSTGRES")) {
+				return jdbc.queryForObject("SELECT pg_total_relation_size('tb_book')", Long.class);
+			}
+		}
+		catch (DataAccessException e) {
+			// Size functions may need privileges the application does not have.
+		}
+		return null;
+	}
+
+	private static int sum(int[] counts) {
+		int rows = 0;
+		for (int count : counts) {
+			rows += Math.max(count, 0);
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,73 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.entities.CompressedText;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of {@code tb_book} over R2DBC. Writes stay on
+ * {@link BookRepository}; both see the same tables.
+ */
+@Repository
+@ConditionalOnProperty(name = "catalog.r2dbc.url")
+public class BookReadRepository {
+
+	private static final String SELECT = "SELECT id, name, description, description_z, price, img_url, date FROM tb_book";
+
+	private static final Map<String, String> COLUMNS = Map.of(
+			"id", "id", "name", "name", "price", "price", "imgUrl", "img_url", "date", "date");
+
+	@Autowired
+	private DatabaseClient client;
+
+	public Flux<BookDTO> findAll(Pageable pageable) {
+		String sql = SELECT + ReactiveQueries.orderBy(pageable.getSort(), COLUMNS) + ReactiveQueries.limit(pageable);
+		return client.sql(sql).map(BookReadRepository::toDto).all();
+	}
+
+	/** Every book ordered by id, emitted as the subscriber requests them. */
+	public Flux<BookDTO> streamAll() {
+		return client.sql(SELECT + " ORDER BY id").map(BookReadRepository::toDto).all();
+	}
+
+	public Mono<Long> count() {
+		return client.sql("SELECT COUNT(*) FROM tb_book").map(row -> row.get(0, Long.class)).one();
+	}
+
+	public Mono<BookDTO> findById(Long id) {
+		return client.sql(SELECT + " WHERE id = :id").bind("id", id).map(BookReadRepository::toDto).one();
+	}
+
+	public Flux<CategoryDTO> findCategories(Long bookId) {
+		return client.sql("SELECT c.id, c.name FROM tb_category c "
+				+ "JOIN tb_book_category bc ON bc.category_id = c.id WHERE bc.book_id = :id ORDER BY c.id")
+				.bind("id", bookId)
+				.map(row -> new CategoryDTO(row.get("id", Long.class), row.get("name", String.class)))
+				.all();
+	}
+
+	private static BookDTO toDto(Row row) {
+		BookDTO dto = new BookDTO(row.get("id", Long.class), row.get("name", String.class),
+				row.get("description", String.class), row.get("price", Double.class),
+				row.get("img_url", String.class),
+				ReactiveQueries.toInstant(row.get("date", LocalDateTime.class)));
+		CompressedText compressed = CompressedText.of(row.get("description_z", byte[].class));
+		if (compressed != null) {
+			dto.setDescriptionSource(compressed::getText);
+		}
+		return dto;
+	}
+}
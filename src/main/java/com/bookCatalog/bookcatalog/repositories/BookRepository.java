@@ -1,11 +1,27 @@
 package com.bookCatalog.bookcatalog.repositories;
 
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.bookCatalog.bookcatalog.entities.Book;
 
+/**
+ * The description is a lazy attribute of {@link Book}; the methods named
+ * "with description" fetch it in the same SELECT, for callers that return it.
+ */
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, BookRepositoryCustom {
+
+	@Query(value = "SELECT obj FROM Book obj FETCH ALL PROPERTIES", countQuery = "SELECT COUNT(obj) FROM Book obj")
+	Page<Book> findAllWithDescription(Pageable pageable);
 
+	@Query("SELECT obj FROM Book obj FETCH ALL PROPERTIES WHERE obj.id > :id ORDER BY obj.id")
+	List<Book> findWithDescriptionByIdGreaterThan(@Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.util.Optional;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
+
+public interface BookRepositoryCustom {
+
+	Page<BookDTO> findAllProjected(BookFieldSet fields, Pageable pageable);
+
+	Optional<BookDTO> findProjectedById(Long id, BookFieldSet fields);
+}
@@ -0,0 +1,123 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.entities.Book;
+import com.bookCatalog.bookcatalog.entities.CompressedText;
+
+/**
+ * Reads only the columns of the requested {@link BookFieldSet}. The
+ * {@code tb_book_category} join is issued as a separate query, and only when
+ * the categories were asked for. A compressed description is handed to the
+ * DTO still compressed and inflated when the response is written.
+ */
+public class BookRepositoryCustomImpl implements BookRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager em;
+
+	@Override
+	public Page<BookDTO> findAllProjected(BookFieldSet fields, Pageable pageable) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+		Root<Book> root = cq.from(Book.class);
+		cq.multiselect(selections(root, fields));
+		cq.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+		TypedQuery<Tuple> query = em.createQuery(cq);
+		if (pageable.isPaged()) {
+			query.setFirstResult((int) pageable.getOffset());
+			query.setMaxResults(pageable.getPageSize());
+		}
+		List<BookDTO> content = toDtos(query.getResultList(), fields);
+		return PageableExecutionUtils.getPage(content, pageable, this::count);
+	}
+
+	@Override
+	public Optional<BookDTO> findProjectedById(Long id, BookFieldSet fields) {
+		CriteriaBuilder cb = em.getCriteriaBuilder();
+		CriteriaQuery<Tuple> cq = cb.createTupleQuery();
+		Root<Book> root = cq.from(Book.class);
+		cq.multiselect(selections(root, fields));
+		cq.where(cb.equal(root.get("id"), id));
+
+		List<BookDTO> result = toDtos(em.createQuery(cq).getResultList(), fields);
+		return result.stream().findFirst();
+	}
+
+	private long count() {
+		return em.createQuery("SELECT COUNT(obj) FROM Book obj", Long.class).getSingleResult();
+	}
+
+	private List<Selection<?>> selections(Root<Book> root, BookFieldSet fields) {
+		List<Selection<?>> selections = new ArrayList<>();
+		selections.add(root.get("id"));
+		for (BookFieldSet.Field field : fields.getColumns()) {
+			if (field != BookFieldSet.Field.ID) {
+				selections.add(root.get(field.getProperty()));
+			}
+			if (field == BookFieldSet.Field.DESCRIPTION) {
+				selections.add(root.get("compressedDescription"));
+			}
+		}
+		return selections;
+	}
+
+	private List<BookDTO> toDtos(List<Tuple> tuples, BookFieldSet fields) {
+		List<BookDTO> dtos = new ArrayList<>(tuples.size());
+		Map<Long, BookDTO> byId = new HashMap<>();
+		for (Tuple tuple : tuples) {
+			Long id = tuple.get(0, Long.class);
+			BookDTO dto = new BookDTO();
+			int index = 1;
+			for (BookFieldSet.Field field : fields.getColumns()) {
+				if (field == BookFieldSet.Field.DESCRIPTION) {
+					Object text = tuple.get(index++);
+					CompressedText compressed = tuple.get(index++, CompressedText.class);
+					if (compressed != null) {
+						dto.setDescriptionSource(compressed::getText);
+						continue;
+					}
+					field.apply(dto, text);
+				}
+				else {
+					field.apply(dto, field == BookFieldSet.Field.ID ? id : tuple.get(index++));
+				}
+			}
+			dtos.add(dto);
+			byId.put(id, dto);
+		}
+		if (fields.contains(BookFieldSet.Field.CATEGORIES) && !byId.isEmpty()) {
+			List<Object[]> links = em.createQuery(
+					"SELECT obj.id, cat.id, cat.name FROM Book obj JOIN obj.categories cat WHERE obj.id IN :ids",
+					Object[].class)
+					.setParameter("ids", byId.keySet())
+					.getResultList();
+			for (Object[] link : links) {
+				byId.get((Long) link[0]).getCategories().add(new CategoryDTO((Long) link[1], (String) link[2]));
+			}
+		}
+		return dtos;
+	}
+}
@@ -0,0 +1,135 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import com.bookCatalog.bookcatalog.entities.CompressedText;
+import com.bookCatalog.bookcatalog.services.BookChangedEvent;
+
+/**
+ * Streams the whole catalog in one pass for views that are maintained in
+ * memory and rebuilt from time to time. Rows are handed over one book at a
+ * time, so a rebuild never holds more than the view itself.
+ */
+@Repository
+public class BookScanRepository implements CatalogSource {
+
+	private static final int FETCH_SIZE = 1000;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Override
+	public void forEachBook(Consumer<BookChangedEvent.State> action) {
+		String sql = "SELECT b.id, b.name, b.price, b.img_url, b.date, bc.category_id FROM tb_book b "
+				+ "LEFT JOIN tb_book_category bc ON bc.book_id = b.id ORDER BY b.id";
+		BookCollector collector = new BookCollector(action);
+		jdbc.query(con -> {
+			PreparedStatement st = con.prepareStatement(sql);
+			st.setFetchSize(FETCH_SIZE);
+			return st;
+		}, collector);
+		collector.flush();
+	}
+
+	/** The given books that still exist, in ascending id order. */
+	public void forEachBook(Collection<Long> ids, Consumer<BookChangedEvent.State> action) {
+		List<Long> sorted = new ArrayList<>(new TreeSet<>(ids));
+		for (int from = 0; from < sorted.size(); from += FETCH_SIZE) {
+			List<Long> chunk = sorted.subList(from, Math.min(from + FETCH_SIZE, sorted.size()));
+			String sql = "SELECT b.id, b.name, b.price, b.img_url, b.date, bc.category_id FROM tb_book b "
+					+ "LEFT JOIN tb_book_category bc ON bc.book_id = b.id WHERE b.id IN ("
+					+ String.join(",", Collections.nCopies(chunk.size(), "?")) + ") ORDER BY b.id";
+			BookCollector collector = new BookCollector(action);
+			jdbc.query(sql, collector, chunk.toArray());
+			collector.flush();
+		}
+	}
+
+	/** Descriptions of the given books that still exist. */
+	public Map<Long, String> findDescriptions(Collection<Long> ids) {
+		Map<Long, String> descriptions = new HashMap<>();
+		List<Long> sorted = new ArrayList<>(new TreeSet<>(ids));
+		for (int from = 0; from < sorted.size(); from += FETCH_SIZE) {
+			List<Long> chunk = sorted.subList(from, Math.min(from + FETCH_SIZE, sorted.size()));
+			jdbc.query("SELECT id, description, description_z FROM tb_book WHERE id IN ("
+					+ String.join(",", Collections.nCopies(chunk.size(), "?")) + ")", rs -> {
+						CompressedText compressed = CompressedText.of(rs.getBytes(3));
+						descriptions.put(rs.getLong(1), compressed != null ? compressed.getText() : rs.getString(2));
+					}, chunk.toArray());
+		}
+		return descriptions;
+	}
+
+	public long countBooks() {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM tb_book", Long.class);
+	}
+
+	@Override
+	public Map<Long, String> findCategoryNames() {
+		Map<Long, String> names = new HashMap<>();
+		jdbc.query("SELECT id, name FROM tb_category", rs -> {
+			names.put(rs.getLong(1), rs.getString(2));
+		});
+		return names;
+	}
+
+	private static final class BookCollector implements RowCallbackHandler {
+
+		private final Consumer<BookChangedEvent.State> action;
+		private Long id;
+		private String name;
+		private Double price;
+		private String imgUrl;
+		private Instant date;
+		private Set<Long> categoryIds;
+
+		BookCollector(Consumer<BookChangedEvent.State> action) {
+			this.action = action;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			long rowId = rs.getLong(1);
+			if (id == null || id != rowId) {
+				flush();
+				id = rowId;
+				name = rs.getString(2);
+				price = rs.getObject(3) == null ? null : rs.getDouble(3);
+				imgUrl = rs.getString(4);
+				Timestamp timestamp = rs.getTimestamp(5);
+				date = timestamp == null ? null : timestamp.toInstant();
+				categoryIds = new HashSet<>(2);
+			}
+			long categoryId = rs.getLong(6);
+			if (!rs.wasNull()) {
+				categoryIds.add(categoryId);
+			}
+		}
+
+		void flush() {
+			if (id != null) {
+				action.accept(new BookChangedEvent.State(id, name, price, imgUrl, date, categoryIds));
+				id = null;
+			}
+		}
+	}
+}
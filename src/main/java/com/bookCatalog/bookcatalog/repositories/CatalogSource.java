@@ -0,0 +1,18 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.bookCatalog.bookcatalog.services.BookChangedEvent;
+
+/**
+ * Where the in-memory views read the whole catalog from when they are
+ * rebuilt: the database, or a snapshot file written earlier.
+ */
+public interface CatalogSource {
+
+	/** Every book with its category ids, in ascending id order. */
+	void forEachBook(Consumer<BookChangedEvent.State> action);
+
+	Map<Long, String> findCategoryNames();
+}
@@ -0,0 +1,48 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+
+import io.r2dbc.spi.Row;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking reads of {@code tb_category} over R2DBC. Writes stay on
+ * {@link CategoryRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "catalog.r2dbc.url")
+public class CategoryReadRepository {
+
+	private static final String SELECT = "SELECT id, name FROM tb_category";
+
+	private static final Map<String, String> COLUMNS = Map.of("id", "id", "name", "name");
+
+	@Autowired
+	private DatabaseClient client;
+
+	public Flux<CategoryDTO> findAll(Pageable pageable) {
+		String sql = SELECT + ReactiveQueries.orderBy(pageable.getSort(), COLUMNS) + ReactiveQueries.limit(pageable);
+		return client.sql(sql).map(CategoryReadRepository::toDto).all();
+	}
+
+	public Mono<Long> count() {
+		return client.sql("SELECT COUNT(*) FROM tb_category").map(row -> row.get(0, Long.class)).one();
+	}
+
+	public Mono<CategoryDTO> findById(Long id) {
+		return client.sql(SELECT + " WHERE id = :id").bind("id", id).map(CategoryReadRepository::toDto).one();
+	}
+
+	private static CategoryDTO toDto(Row row) {
+		return new CategoryDTO(row.get("id", Long.class), row.get("name", String.class));
+	}
+}
@@ -1,6 +1,13 @@
 package com.bookCatalog.bookcatalog.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.bookCatalog.bookcatalog.entities.Category;
@@ -8,4 +15,8 @@ import com.bookCatalog.bookcatalog.entities.Category;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	/** Served from the query cache; the hint applies to the count query too. */
+	@Override
+	@QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+	Page<Category> findAll(Pageable pageable);
 }
@@ -0,0 +1,48 @@
+package com.bookCatalog.bookcatalog.repositories;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+
+/**
+ * SQL fragments shared by the R2DBC read repositories. Sort properties are
+ * resolved against a fixed property to column map, never spliced in as given.
+ */
+final class ReactiveQueries {
+
+	private ReactiveQueries() {
+	}
+
+	static String orderBy(Sort sort, Map<String, String> columns) {
+		if (sort.isUnsorted()) {
+			return " ORDER BY id";
+		}
+		StringBuilder sql = new StringBuilder(" ORDER BY ");
+		for (Sort.Order order : sort) {
+			String column = columns.get(order.getProperty());
+			if (column == null) {
+				throw new BadRequestException("Cannot sort by " + order.getProperty());
+			}
+			sql.append(column).append(order.isAscending() ? " ASC" : " DESC").append(", ");
+		}
+		return sql.append("id").toString();
+	}
+
+	static String limit(Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return "";
+		}
+		return " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset();
+	}
+
+	/** Hibernate writes {@code Instant} to a zone-less timestamp in the JVM zone. */
+	static Instant toInstant(LocalDateTime value) {
+		return value == null ? null : value.atZone(ZoneId.systemDefault()).toInstant();
+	}
+}
@@ -0,0 +1,27 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.admission.AdmissionControl;
+import com.bookCatalog.bookcatalog.dto.LimiterDTO;
+
+@RestController
+@RequestMapping(value = "/admin/admission")
+@ConditionalOnProperty(name = "catalog.admission.enabled", matchIfMissing = true)
+public class AdmissionResource {
+
+	@Autowired
+	private AdmissionControl admissionControl;
+
+	@GetMapping
+	public ResponseEntity<Map<String, LimiterDTO>> findAll() {
+		return ResponseEntity.ok().body(admissionControl.snapshot());
+	}
+}
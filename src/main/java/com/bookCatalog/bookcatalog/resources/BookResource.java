@@ -1,11 +1,17 @@
 package com.bookCatalog.bookcatalog.resources;
 
 import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,50 +19,256 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.bookCatalog.bookcatalog.admission.Bulkheads;
+import com.bookCatalog.bookcatalog.admission.LongRunning;
 import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
+import com.bookCatalog.bookcatalog.dto.BookFilterDTO;
+import com.bookCatalog.bookcatalog.dto.BookStatsDTO;
+import com.bookCatalog.bookcatalog.dto.BulkResultDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryAssignmentDTO;
+import com.bookCatalog.bookcatalog.dto.PriceAdjustmentDTO;
+import com.bookCatalog.bookcatalog.instrumentation.RequestTimings;
+import com.bookCatalog.bookcatalog.services.BookBulkService;
+import com.bookCatalog.bookcatalog.services.BookDescriptions;
+import com.bookCatalog.bookcatalog.services.BookExportService;
 import com.bookCatalog.bookcatalog.services.BookService;
+import com.bookCatalog.bookcatalog.services.CatalogStatistics;
+import com.bookCatalog.bookcatalog.services.RelatedBooks;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
 
 @RestController
 @RequestMapping(value = "/books")
 public class BookResource {
 
+	private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+	private static final BookFieldSet TOP_FIELDS = BookFieldSet.parse("id,name,price,imgUrl,date,categories");
+
+	private static final BookFieldSet RELATED_FIELDS = BookFieldSet.parse("id,name,price,imgUrl,date");
+
+	private static final BookFieldSet TOP_SNIPPET_FIELDS = BookFieldSet.parse("id,name,description,price,imgUrl,date,categories");
+
+	private static final BookFieldSet RELATED_SNIPPET_FIELDS = BookFieldSet.parse("id,name,description,price,imgUrl,date");
+
+	private static final int MAX_SNIPPET = 1000;
+
 	@Autowired
 	private BookService service;
+
+	@Autowired
+	private BookExportService exportService;
+
+	@Autowired
+	private BookBulkService bulkService;
+
+	@Autowired
+	private CatalogStatistics statistics;
+
+	@Autowired
+	private RelatedBooks relatedBooks;
+
+	@Autowired
+	private BookDescriptions descriptions;
+
+	@Autowired
+	private Bulkheads bulkheads;
 	
 	@GetMapping
-	public ResponseEntity<Page<BookDTO>> findAll(Pageable pageable) {
+	public CompletableFuture<ResponseEntity<Page<BookDTO>>> findAll(Pageable pageable) {
 		
-		Page<BookDTO> list = service.findAllPaged(pageable);
-		
-		return ResponseEntity.ok().body(list);
+		return bulkheads.getReads().submit(() -> {
+			Page<BookDTO> list = service.findAllPaged(pageable);
+			return ResponseEntity.ok().body(list);
+		});
+	}
+
+	@GetMapping(params = "fields")
+	public CompletableFuture<ResponseEntity<MappingJacksonValue>> findAll(Pageable pageable,
+			@RequestParam String fields) {
+		BookFieldSet fieldSet = BookFieldSet.parse(fields);
+		return bulkheads.getReads().submit(() -> {
+			Page<BookDTO> list = service.findAllPaged(pageable, fieldSet);
+			return ResponseEntity.ok().body(filtered(list, fieldSet));
+		});
+	}
+
+	@LongRunning
+	@GetMapping(value = "/export")
+	public ResponseEntity<StreamingResponseBody> export() {
+		StreamingResponseBody body = out -> exportService.writeNdjson(out);
+		return ResponseEntity.ok().contentType(NDJSON).body(body);
+	}
+
+	/** Served from memory, so it needs no bulkhead; see {@link CatalogStatistics}. */
+	@GetMapping(value = "/stats")
+	public ResponseEntity<BookStatsDTO> stats() {
+		return ResponseEntity.ok().body(statistics.books());
+	}
+
+	/**
+	 * Newest or cheapest books, optionally within one category. Served from
+	 * memory like {@link #stats()}; {@code snippet} adds the start of each
+	 * description, read from {@link BookDescriptions} on the read bulkhead
+	 * because a miss goes to the database.
+	 */
+	@GetMapping(value = "/top/{ranking}")
+	public CompletableFuture<ResponseEntity<MappingJacksonValue>> top(@PathVariable String ranking,
+			@RequestParam(required = false) Long categoryId, @RequestParam(defaultValue = "20") int size,
+			@RequestParam(defaultValue = "0") int snippet) {
+		List<BookDTO> list = statistics.top(CatalogStatistics.Ranking.parse(ranking), categoryId, size);
+		return withSnippets(list, snippet, TOP_FIELDS, TOP_SNIPPET_FIELDS);
 	}
 
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<BookDTO> findById(@PathVariable Long id) {
-		BookDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+	public CompletableFuture<ResponseEntity<BookDTO>> findById(@PathVariable Long id) {
+		return bulkheads.getReads().submit(() -> {
+			BookDTO dto = service.findById(id);
+			return ResponseEntity.ok().body(dto);
+		});
+	}
+
+	/**
+	 * Books sharing categories with this one; served from memory, see
+	 * {@link RelatedBooks}. Snippets are read as for {@link #top}.
+	 */
+	@GetMapping(value = "/{id}/related")
+	public CompletableFuture<ResponseEntity<MappingJacksonValue>> related(@PathVariable Long id,
+			@RequestParam(defaultValue = "10") int size, @RequestParam(defaultValue = "0") int snippet) {
+		List<BookDTO> list = relatedBooks.related(id, size);
+		return withSnippets(list, snippet, RELATED_FIELDS, RELATED_SNIPPET_FIELDS);
+	}
+
+	@GetMapping(value = "/{id}", params = "fields")
+	public CompletableFuture<ResponseEntity<MappingJacksonValue>> findById(@PathVariable Long id,
+			@RequestParam String fields) {
+		BookFieldSet fieldSet = BookFieldSet.parse(fields);
+		return bulkheads.getReads().submit(() -> {
+			BookDTO dto = service.findById(id, fieldSet);
+			return ResponseEntity.ok().body(filtered(dto, fieldSet));
+		});
 	}
 	
 	@PostMapping
-	public ResponseEntity<BookDTO> insert(@RequestBody BookDTO dto) {
-		dto = service.insert(dto);
-		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
-				.buildAndExpand(dto.getId()).toUri();
-		return ResponseEntity.created(uri).body(dto);
+	public CompletableFuture<ResponseEntity<BookDTO>> insert(@RequestBody BookDTO dto) {
+		UriComponentsBuilder location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}");
+		return bulkheads.getWrites().submit(() -> {
+			BookDTO created = service.insert(dto);
+			URI uri = location.buildAndExpand(created.getId()).toUri();
+			return ResponseEntity.created(uri).body(created);
+		});
 	}
 
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<BookDTO> update(@PathVariable Long id, @RequestBody BookDTO dto) {
-		dto = service.update(id, dto);
-		return ResponseEntity.ok().body(dto);
+	public CompletableFuture<ResponseEntity<BookDTO>> update(@PathVariable Long id, @RequestBody BookDTO dto) {
+		return bulkheads.getWrites().submit(() -> {
+			BookDTO updated = service.update(id, dto);
+			return ResponseEntity.ok().body(updated);
+		});
 	}
 
 	@DeleteMapping(value = "/{id}")
-	public ResponseEntity<Void> delete(@PathVariable Long id) {
-		service.delete(id);
-		return ResponseEntity.noContent().build();
+	public CompletableFuture<ResponseEntity<Void>> delete(@PathVariable Long id) {
+		return bulkheads.getWrites().submit(() -> {
+			service.delete(id);
+			return ResponseEntity.noContent().<Void>build();
+		});
+	}
+
+	/**
+	 * Bulk jobs can run for minutes, so they share the long-running export
+	 * bulkhead. PERCENT and ADD are not idempotent, so a job that outlived a
+	 * timeout and kept committing chunks must not answer with a retryable
+	 * 503: neither the bulkhead nor the async request times them out.
+	 */
+	@LongRunning
+	@PostMapping(value = "/price-adjustments")
+	public DeferredResult<ResponseEntity<BulkResultDTO>> adjustPrices(@RequestBody PriceAdjustmentDTO adjustment) {
+		return untimed(bulkheads.getExports().submitUntimed(() -> {
+			BulkResultDTO result = bulkService.adjustPrices(adjustment);
+			return ResponseEntity.ok().body(result);
+		}));
+	}
+
+	@LongRunning
+	@PostMapping(value = "/category-assignments")
+	public DeferredResult<ResponseEntity<BulkResultDTO>> addCategory(
+			@RequestBody CategoryAssignmentDTO assignment) {
+		return untimed(bulkheads.getExports().submitUntimed(() -> {
+			BulkResultDTO result = bulkService.addCategory(assignment);
+			return ResponseEntity.ok().body(result);
+		}));
+	}
+
+	@LongRunning
+	@DeleteMapping(value = "/category-assignments")
+	public DeferredResult<ResponseEntity<BulkResultDTO>> removeCategory(
+			@RequestBody CategoryAssignmentDTO assignment) {
+		return untimed(bulkheads.getExports().submitUntimed(() -> {
+			BulkResultDTO result = bulkService.removeCategory(assignment);
+			return ResponseEntity.ok().body(result);
+		}));
+	}
+
+	@LongRunning
+	@DeleteMapping
+	public DeferredResult<ResponseEntity<BulkResultDTO>> delete(@RequestBody BookFilterDTO filter) {
+		return untimed(bulkheads.getExports().submitUntimed(() -> {
+			BulkResultDTO result = bulkService.delete(filter);
+			return ResponseEntity.ok().body(result);
+		}));
+	}
+
+	/** Relays the job's outcome without the async request timeout. */
+	private static <T> DeferredResult<T> untimed(CompletableFuture<T> job) {
+		DeferredResult<T> result = new DeferredResult<>(-1L);
+		RequestTimings timings = RequestTimings.current();
+		job.whenComplete((value, failure) -> {
+			if (timings != null) {
+				timings.handlerEnded(System.nanoTime());
+			}
+			if (failure != null) {
+				result.setErrorResult(failure);
+			}
+			else {
+				result.setResult(value);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * The list with {@code fields}, or with each description set to a snippet
+	 * of up to {@code snippet} characters and {@code snippetFields}. Snippets
+	 * missing from {@link BookDescriptions} are read from the database, so
+	 * only a list without them is answered on the request thread.
+	 */
+	private CompletableFuture<ResponseEntity<MappingJacksonValue>> withSnippets(List<BookDTO> list, int snippet,
+			BookFieldSet fields, BookFieldSet snippetFields) {
+		if (snippet < 0 || snippet > MAX_SNIPPET) {
+			throw new BadRequestException("Snippet must be between 0 and " + MAX_SNIPPET);
+		}
+		if (snippet == 0) {
+			return CompletableFuture.completedFuture(ResponseEntity.ok().body(filtered(list, fields)));
+		}
+		List<Long> ids = list.stream().map(BookDTO::getId).collect(Collectors.toList());
+		return bulkheads.getReads().submit(() -> {
+			Map<Long, String> snippets = descriptions.snippets(ids, snippet);
+			list.forEach(dto -> dto.setDescription(snippets.get(dto.getId())));
+			return ResponseEntity.ok().body(filtered(list, snippetFields));
+		});
+	}
+
+	private static MappingJacksonValue filtered(Object body, BookFieldSet fieldSet) {
+		MappingJacksonValue value = new MappingJacksonValue(body);
+		value.setFilters(fieldSet.getFilters());
+		return value;
 	}
 } 
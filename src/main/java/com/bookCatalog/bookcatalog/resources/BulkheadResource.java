@@ -0,0 +1,25 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.admission.Bulkheads;
+import com.bookCatalog.bookcatalog.dto.BulkheadDTO;
+
+@RestController
+@RequestMapping(value = "/admin/bulkheads")
+public class BulkheadResource {
+
+	@Autowired
+	private Bulkheads bulkheads;
+
+	@GetMapping
+	public ResponseEntity<Map<String, BulkheadDTO>> findAll() {
+		return ResponseEntity.ok().body(bulkheads.snapshot());
+	}
+}
@@ -0,0 +1,32 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.CacheRegionDTO;
+import com.bookCatalog.bookcatalog.instrumentation.SecondLevelCacheStatistics;
+
+@RestController
+@RequestMapping(value = "/admin/caches")
+public class CacheResource {
+
+	@Autowired
+	private SecondLevelCacheStatistics statistics;
+
+	@GetMapping
+	public ResponseEntity<Map<String, CacheRegionDTO>> findAll() {
+		return ResponseEntity.ok().body(statistics.snapshot());
+	}
+
+	@DeleteMapping
+	public ResponseEntity<Void> reset() {
+		statistics.reset();
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -1,6 +1,8 @@
 package com.bookCatalog.bookcatalog.resources;
 
 import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -15,8 +17,12 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import com.bookCatalog.bookcatalog.admission.Bulkheads;
 import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryStatsDTO;
+import com.bookCatalog.bookcatalog.services.CatalogStatistics;
 import com.bookCatalog.bookcatalog.services.CategoryService;
 
 @RestController 
@@ -25,38 +31,59 @@ public class CategoryResource {
 
 	@Autowired
 	private CategoryService service;
+
+	@Autowired
+	private CatalogStatistics statistics;
+
+	@Autowired
+	private Bulkheads bulkheads;
 	
 	@GetMapping
-	public ResponseEntity<Page<CategoryDTO>> findAll(Pageable pageable) {
+	public CompletableFuture<ResponseEntity<Page<CategoryDTO>>> findAll(Pageable pageable) {
 		
-		Page<CategoryDTO> list = service.findAllPaged(pageable);
-		
-		return ResponseEntity.ok().body(list);
+		return bulkheads.getReads().submit(() -> {
+			Page<CategoryDTO> list = service.findAllPaged(pageable);
+			return ResponseEntity.ok().body(list);
+		});
+	}
+
+	/** Served from memory, so it needs no bulkhead; see {@link CatalogStatistics}. */
+	@GetMapping(value = "/stats")
+	public ResponseEntity<List<CategoryStatsDTO>> stats() {
+		return ResponseEntity.ok().body(statistics.categories());
 	}
 
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
-		CategoryDTO dto = service.findById(id);
-		return ResponseEntity.ok().body(dto);
+	public CompletableFuture<ResponseEntity<CategoryDTO>> findById(@PathVariable Long id) {
+		return bulkheads.getReads().submit(() -> {
+			CategoryDTO dto = service.findById(id);
+			return ResponseEntity.ok().body(dto);
+		});
 	}
 	
 	@PostMapping
-	public ResponseEntity<CategoryDTO> insert(@RequestBody CategoryDTO dto) {
-		dto = service.insert(dto);
-		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
-				.buildAndExpand(dto.getId()).toUri();
-		return ResponseEntity.created(uri).body(dto);
+	public CompletableFuture<ResponseEntity<CategoryDTO>> insert(@RequestBody CategoryDTO dto) {
+		UriComponentsBuilder location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}");
+		return bulkheads.getWrites().submit(() -> {
+			CategoryDTO created = service.insert(dto);
+			URI uri = location.buildAndExpand(created.getId()).toUri();
+			return ResponseEntity.created(uri).body(created);
+		});
 	}
 
 	@PutMapping(value = "/{id}")
-	public ResponseEntity<CategoryDTO> update(@PathVariable Long id, @RequestBody CategoryDTO dto) {
-		dto = service.update(id, dto);
-		return ResponseEntity.ok().body(dto);
+	public CompletableFuture<ResponseEntity<CategoryDTO>> update(@PathVariable Long id, @RequestBody CategoryDTO dto) {
+		return bulkheads.getWrites().submit(() -> {
+			CategoryDTO updated = service.update(id, dto);
+			return ResponseEntity.ok().body(updated);
+		});
 	}
 
 	@DeleteMapping(value = "/{id}")
-	public ResponseEntity<Void> delete(@PathVariable Long id) {
-		service.delete(id);
-		return ResponseEntity.noContent().build();
+	public CompletableFuture<ResponseEntity<Void>> delete(@PathVariable Long id) {
+		return bulkheads.getWrites().submit(() -> {
+			service.delete(id);
+			return ResponseEntity.noContent().<Void>build();
+		});
 	}
 } 
@@ -0,0 +1,29 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.DescriptionCompressionDTO;
+import com.bookCatalog.bookcatalog.services.DescriptionCompression;
+
+@RestController
+@RequestMapping(value = "/admin/descriptions/compression")
+public class DescriptionCompressionResource {
+
+	@Autowired
+	private DescriptionCompression compression;
+
+	@GetMapping
+	public ResponseEntity<DescriptionCompressionDTO> find() {
+		return ResponseEntity.ok().body(compression.statistics());
+	}
+
+	@PostMapping
+	public ResponseEntity<DescriptionCompressionDTO> migrate() {
+		return ResponseEntity.ok().body(compression.migrate());
+	}
+}
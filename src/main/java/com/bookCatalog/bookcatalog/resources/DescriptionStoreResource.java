@@ -0,0 +1,30 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.DescriptionStoreDTO;
+import com.bookCatalog.bookcatalog.services.BookDescriptions;
+
+@RestController
+@RequestMapping(value = "/admin/descriptions")
+public class DescriptionStoreResource {
+
+	@Autowired
+	private BookDescriptions descriptions;
+
+	@GetMapping
+	public ResponseEntity<DescriptionStoreDTO> find() {
+		return ResponseEntity.ok().body(descriptions.statistics());
+	}
+
+	@DeleteMapping
+	public ResponseEntity<Void> reset() {
+		descriptions.reset();
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,34 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.BookAccessDTO;
+import com.bookCatalog.bookcatalog.instrumentation.BookAccessFrequency;
+
+@RestController
+@RequestMapping(value = "/admin/hot-books")
+public class HotBookResource {
+
+	@Autowired
+	private BookAccessFrequency accessFrequency;
+
+	@GetMapping
+	public ResponseEntity<List<BookAccessDTO>> findTop(
+			@RequestParam(value = "limit", defaultValue = "20") Integer limit) {
+		return ResponseEntity.ok().body(accessFrequency.hottest(limit));
+	}
+
+	@DeleteMapping
+	public ResponseEntity<Void> reset() {
+		accessFrequency.reset();
+		return ResponseEntity.noContent().build();
+	}
+}
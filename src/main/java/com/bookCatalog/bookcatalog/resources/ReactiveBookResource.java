@@ -0,0 +1,47 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.services.ReactiveBookService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only mirror of the {@code /books} GET endpoints backed by R2DBC. The
+ * request thread is released while the query runs; {@code /stream} writes one
+ * book per line and only pulls the next row once the previous one is written.
+ */
+@RestController
+@ConditionalOnProperty(name = "catalog.r2dbc.url")
+@RequestMapping(value = "/reactive/books")
+public class ReactiveBookResource {
+
+	@Autowired
+	private ReactiveBookService service;
+
+	@GetMapping
+	public Mono<ResponseEntity<Page<BookDTO>>> findAll(Pageable pageable) {
+		return service.findAllPaged(pageable).map(list -> ResponseEntity.ok().body(list));
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public Flux<BookDTO> stream() {
+		return service.streamAll();
+	}
+
+	@GetMapping(value = "/{id}")
+	public Mono<ResponseEntity<BookDTO>> findById(@PathVariable Long id) {
+		return service.findById(id).map(dto -> ResponseEntity.ok().body(dto));
+	}
+}
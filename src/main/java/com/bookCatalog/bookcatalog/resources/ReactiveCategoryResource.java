@@ -0,0 +1,35 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.services.ReactiveCategoryService;
+
+import reactor.core.publisher.Mono;
+
+@RestController
+@ConditionalOnProperty(name = "catalog.r2dbc.url")
+@RequestMapping(value = "/reactive/categories")
+public class ReactiveCategoryResource {
+
+	@Autowired
+	private ReactiveCategoryService service;
+
+	@GetMapping
+	public Mono<ResponseEntity<Page<CategoryDTO>>> findAll(Pageable pageable) {
+		return service.findAllPaged(pageable).map(list -> ResponseEntity.ok().body(list));
+	}
+
+	@GetMapping(value = "/{id}")
+	public Mono<ResponseEntity<CategoryDTO>> findById(@PathVariable Long id) {
+		return service.findById(id).map(dto -> ResponseEntity.ok().body(dto));
+	}
+}
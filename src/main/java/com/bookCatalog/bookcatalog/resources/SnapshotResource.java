@@ -0,0 +1,32 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.CatalogSnapshotDTO;
+import com.bookCatalog.bookcatalog.snapshot.CatalogSnapshotService;
+
+@RestController
+@RequestMapping(value = "/admin/snapshot")
+@ConditionalOnProperty(name = "catalog.snapshot.enabled", matchIfMissing = true)
+public class SnapshotResource {
+
+	@Autowired
+	private CatalogSnapshotService service;
+
+	@GetMapping
+	public ResponseEntity<CatalogSnapshotDTO> find() {
+		CatalogSnapshotDTO status = service.status();
+		return status == null ? ResponseEntity.noContent().build() : ResponseEntity.ok().body(status);
+	}
+
+	@PostMapping
+	public ResponseEntity<CatalogSnapshotDTO> write() {
+		return ResponseEntity.ok().body(service.write());
+	}
+}
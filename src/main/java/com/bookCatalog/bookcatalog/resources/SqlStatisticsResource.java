@@ -0,0 +1,42 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.EndpointQueriesDTO;
+import com.bookCatalog.bookcatalog.dto.SqlStatementDTO;
+import com.bookCatalog.bookcatalog.instrumentation.StatementStatistics;
+
+@RestController
+@RequestMapping(value = "/admin/sql")
+public class SqlStatisticsResource {
+
+	@Autowired
+	private StatementStatistics statistics;
+
+	@GetMapping
+	public ResponseEntity<List<SqlStatementDTO>> findTop(
+			@RequestParam(value = "limit", defaultValue = "10") Integer limit,
+			@RequestParam(value = "sort", defaultValue = "total") String sort) {
+		return ResponseEntity.ok().body(statistics.top(limit, sort));
+	}
+
+	@GetMapping(value = "/requests")
+	public ResponseEntity<Map<String, EndpointQueriesDTO>> queriesPerRequest() {
+		return ResponseEntity.ok().body(statistics.queriesPerRequest());
+	}
+
+	@DeleteMapping
+	public ResponseEntity<Void> reset() {
+		statistics.reset();
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,32 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.LatencyPercentilesDTO;
+import com.bookCatalog.bookcatalog.instrumentation.EndpointTimings;
+
+@RestController
+@RequestMapping(value = "/admin/timings")
+public class TimingResource {
+
+	@Autowired
+	private EndpointTimings timings;
+
+	@GetMapping
+	public ResponseEntity<Map<String, Map<String, LatencyPercentilesDTO>>> findAll() {
+		return ResponseEntity.ok().body(timings.snapshot());
+	}
+
+	@DeleteMapping
+	public ResponseEntity<Void> reset() {
+		timings.reset();
+		return ResponseEntity.noContent().build();
+	}
+}
@@ -0,0 +1,40 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bookCatalog.bookcatalog.dto.WarmupReportDTO;
+import com.bookCatalog.bookcatalog.warmup.CatalogWarmup;
+
+/**
+ * Readiness probe target: answers 503 until the warmup has run and the
+ * application accepts traffic.
+ */
+@RestController
+@RequestMapping(value = "/admin/warmup")
+public class WarmupResource {
+
+	@Autowired
+	private ApplicationAvailability availability;
+
+	@Autowired
+	private ObjectProvider<CatalogWarmup> warmup;
+
+	@GetMapping
+	public ResponseEntity<WarmupReportDTO> find() {
+		CatalogWarmup runner = warmup.getIfAvailable();
+		WarmupReportDTO last = runner == null ? null : runner.getReport();
+		WarmupReportDTO report = last == null ? new WarmupReportDTO() : new WarmupReportDTO(null, last.getHotBooks(),
+				last.getPreloadMillis(), last.getRequests(), last.getFailedRequests(), last.getRequestMillis(),
+				last.getTotalMillis());
+		report.setReady(availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC);
+		return ResponseEntity.status(report.getReady() ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(report);
+	}
+}
@@ -1,14 +1,18 @@
 package com.bookCatalog.bookcatalog.resources.exceptions;
 
 import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
 
 import javax.servlet.http.HttpServletRequest;import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
 import com.bookCatalog.bookcatalog.services.exceptions.DatabaseException;
 import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+import com.bookCatalog.bookcatalog.services.exceptions.ServiceUnavailableException;
 
 @ControllerAdvice
 public class ResourceExceptionHandler {
@@ -36,4 +40,44 @@ public class ResourceExceptionHandler {
 		err.setPath(request.getRequestURI());
 		return ResponseEntity.status(status).body(err);
 	}	
+
+	@ExceptionHandler(BadRequestException.class)
+	public ResponseEntity<StandardError> badRequest(BadRequestException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.BAD_REQUEST;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Bad request");
+		err.setMessage(e.getMessage());
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}	
+
+	@ExceptionHandler(ServiceUnavailableException.class)
+	public ResponseEntity<StandardError> serviceUnavailable(ServiceUnavailableException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Service unavailable");
+		err.setMessage(e.getMessage());
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+				.body(err);
+	}	
+
+	@ExceptionHandler(RejectedExecutionException.class)
+	public ResponseEntity<StandardError> rejected(RejectedExecutionException e, HttpServletRequest request) {
+		HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+		StandardError err = new StandardError();
+		err.setTimestamp(Instant.now());
+		err.setStatus(status.value());
+		err.setError("Service unavailable");
+		err.setMessage("Too many concurrent requests");
+		err.setPath(request.getRequestURI());
+		return ResponseEntity.status(status)
+				.header(HttpHeaders.RETRY_AFTER, "1")
+				.body(err);
+	}	
 }
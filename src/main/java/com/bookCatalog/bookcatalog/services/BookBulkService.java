@@ -0,0 +1,172 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookCatalog.bookcatalog.dto.BookFilterDTO;
+import com.bookCatalog.bookcatalog.dto.BulkResultDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryAssignmentDTO;
+import com.bookCatalog.bookcatalog.dto.PriceAdjustmentDTO;
+import com.bookCatalog.bookcatalog.repositories.BookBulkRepository;
+import com.bookCatalog.bookcatalog.repositories.CategoryRepository;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+/**
+ * Applies one change to every book matching a filter. The matching ids are
+ * walked in chunks of {@code catalog.bulk.chunk-size}, each chunk in its own
+ * transaction, so locks are held for one chunk at a time and a failure only
+ * rolls back the chunk in progress.
+ */
+@Service
+public class BookBulkService {
+
+	@Autowired
+	private BookBulkRepository repository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@Value("${catalog.bulk.chunk-size:1000}")
+	private int chunkSize;
+
+	public BulkResultDTO adjustPrices(PriceAdjustmentDTO adjustment) {
+		PriceAdjustmentDTO.Operation operation = adjustment.getOperation();
+		Double value = adjustment.getValue();
+		if (operation == null || value == null) {
+			throw new BadRequestException("Operation and value are required");
+		}
+		requireCriteria(adjustment.getFilter());
+		if (operation == PriceAdjustmentDTO.Operation.PERCENT && value <= -100.0
+				|| operation == PriceAdjustmentDTO.Operation.SET && value < 0.0
+				|| operation == PriceAdjustmentDTO.Operation.ADD && value < 0.0
+						&& belowZero(adjustment.getFilter(), value)) {
+			throw new BadRequestException("Price adjustment would make prices negative");
+		}
+		return forEachChunk(adjustment.getFilter(), BooksChangedEvent.Change.PRICE,
+				ids -> repository.updatePrice(ids, operation, value));
+	}
+
+	/**
+	 * Adds the category to every matching book. Books that already have it
+	 * are skipped by the insert itself, so repeating the call is harmless.
+	 */
+	public BulkResultDTO addCategory(CategoryAssignmentDTO assignment) {
+		Long categoryId = existingCategory(assignment);
+		return forEachChunk(assignment.getFilter(), BooksChangedEvent.Change.CATEGORIES,
+				ids -> repository.addCategory(ids, categoryId));
+	}
+
+	public BulkResultDTO removeCategory(CategoryAssignmentDTO assignment) {
+		Long categoryId = existingCategory(assignment);
+		return forEachChunk(assignment.getFilter(), BooksChangedEvent.Change.CATEGORIES,
+				ids -> repository.removeCategory(ids, categoryId));
+	}
+
+	/**
+	 * Deletes every matching book with set-based statements. Listed ids of
+	 * books that do not exist are reported in the result rather than failing
+	 * the call.
+	 */
+	public BulkResultDTO delete(BookFilterDTO filter) {
+		return forEachChunk(filter, BooksChangedEvent.Change.DELETED, repository::deleteBooks);
+	}
+
+	private boolean belowZero(BookFilterDTO filter, double decrease) {
+		Double minPrice = repository.findMinPrice(filter);
+		return minPrice != null && Math.round((minPrice + decrease) * 100.0) < 0L;
+	}
+
+	private Long existingCategory(CategoryAssignmentDTO assignment) {
+		Long categoryId = assignment.getCategoryId();
+		if (categoryId == null) {
+			throw new BadRequestException("Category id is required");
+		}
+		if (!categoryRepository.existsById(categoryId)) {
+			throw new ResourceNotFoundException("Category not found " + categoryId);
+		}
+		return categoryId;
+	}
+
+	private BulkResultDTO forEachChunk(BookFilterDTO filter, BooksChangedEvent.Change change,
+			ToIntFunction<List<Long>> action) {
+		requireCriteria(filter);
+		long start = System.nanoTime();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		Totals totals = new Totals();
+		if (filter.getIds() != null) {
+			totals.missing = new ArrayList<>();
+			List<Long> ids = filter.getIds().stream()
+					.filter(Objects::nonNull)
+					.distinct()
+					.sorted()
+					.collect(Collectors.toList());
+			for (int from = 0; from < ids.size(); from += chunkSize) {
+				List<Long> within = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+				transaction.executeWithoutResult(status -> chunk(filter, within, 0L, change, action, totals));
+			}
+		}
+		else {
+			Long last = 0L;
+			while (last != null) {
+				long afterId = last;
+				last = transaction.execute(status -> chunk(filter, null, afterId, change, action, totals));
+			}
+		}
+		long millis = (System.nanoTime() - start) / 1_000_000;
+		return new BulkResultDTO(totals.matched, totals.affected, totals.chunks, millis, totals.missing);
+	}
+
+	private static void requireCriteria(BookFilterDTO filter) {
+		if (filter == null || !filter.hasCriteria()) {
+			throw new BadRequestException("A filter is required");
+		}
+	}
+
+	/** Runs one chunk, returning its last id, or {@code null} when nothing matched. */
+	private Long chunk(BookFilterDTO filter, List<Long> within, long afterId, BooksChangedEvent.Change change,
+			ToIntFunction<List<Long>> action, Totals totals) {
+		List<Long> ids = repository.findIds(filter, within, afterId, chunkSize);
+		if (within != null && ids.size() < within.size()) {
+			Set<Long> found = new HashSet<>(ids);
+			List<Long> unmatched = within.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+			// Ids of books the other criteria left out are not missing.
+			Set<Long> existing = new HashSet<>(repository.findExistingIds(unmatched));
+			unmatched.stream().filter(id -> !existing.contains(id)).forEach(totals.missing::add);
+		}
+		if (ids.isEmpty()) {
+			return null;
+		}
+		totals.matched += ids.size();
+		totals.affected += action.applyAsInt(ids);
+		totals.chunks++;
+		publisher.publishEvent(new BooksChangedEvent(change, ids));
+		return ids.get(ids.size() - 1);
+	}
+
+	private static final class Totals {
+
+		private long matched;
+		private long affected;
+		private int chunks;
+		private List<Long> missing;
+	}
+}
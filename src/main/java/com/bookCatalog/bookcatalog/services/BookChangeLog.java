@@ -0,0 +1,57 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.time.Instant;
+import java.util.Collections;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bookCatalog.bookcatalog.repositories.BookChangeRepository;
+
+/**
+ * Appends every published change to the change log. The listeners run
+ * synchronously, inside the transaction that made the change, so a change
+ * and its log row commit or roll back together.
+ * <p>
+ * Rows older than {@code catalog.changes.retention-ms} are pruned on their
+ * own schedule, whether or not catalog snapshots are enabled, so a snapshot
+ * older than that is not restored.
+ */
+@Component
+public class BookChangeLog {
+
+	@Autowired
+	private BookChangeRepository repository;
+
+	@Value("${catalog.changes.retention-ms:86400000}")
+	private long retentionMillis;
+
+	@EventListener
+	public void bookChanged(BookChangedEvent event) {
+		BookChangedEvent.State state = event.getAfter() != null ? event.getAfter() : event.getBefore();
+		repository.record(Collections.singletonList(state.getId()));
+	}
+
+	@EventListener
+	public void booksChanged(BooksChangedEvent event) {
+		repository.record(event.getIds());
+	}
+
+	@EventListener
+	public void categoryChanged(CategoryChangedEvent event) {
+		repository.recordAll();
+	}
+
+	@Scheduled(fixedDelayString = "${catalog.changes.prune-ms:3600000}",
+			initialDelayString = "${catalog.changes.prune-ms:3600000}")
+	public int prune() {
+		return repository.deleteBefore(Instant.now().minusMillis(retentionMillis));
+	}
+
+	public long getRetentionMillis() {
+		return retentionMillis;
+	}
+}
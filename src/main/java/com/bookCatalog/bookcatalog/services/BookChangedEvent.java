@@ -0,0 +1,83 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.bookCatalog.bookcatalog.entities.Book;
+import com.bookCatalog.bookcatalog.entities.Category;
+
+/**
+ * Published by {@link BookService} for every single-book write, carrying the
+ * book as it was before and after. {@code before} is {@code null} for an
+ * insert and {@code after} for a delete. Bulk writes publish
+ * {@link BooksChangedEvent} instead.
+ */
+public class BookChangedEvent {
+
+	private final State before;
+	private final State after;
+
+	public BookChangedEvent(State before, State after) {
+		this.before = before;
+		this.after = after;
+	}
+
+	public State getBefore() {
+		return before;
+	}
+
+	public State getAfter() {
+		return after;
+	}
+
+	/** The fields of a book that derived views aggregate over. */
+	public static final class State {
+
+		private final Long id;
+		private final String name;
+		private final Double price;
+		private final String imgUrl;
+		private final Instant date;
+		private final Set<Long> categoryIds;
+
+		public State(Long id, String name, Double price, String imgUrl, Instant date, Set<Long> categoryIds) {
+			this.id = id;
+			this.name = name;
+			this.price = price;
+			this.imgUrl = imgUrl;
+			this.date = date;
+			this.categoryIds = Collections.unmodifiableSet(categoryIds);
+		}
+
+		public static State of(Book book) {
+			return new State(book.getId(), book.getName(), book.getPrice(), book.getImgUrl(), book.getDate(),
+					book.getCategories().stream().map(Category::getId).collect(Collectors.toSet()));
+		}
+
+		public Long getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public Double getPrice() {
+			return price;
+		}
+
+		public String getImgUrl() {
+			return imgUrl;
+		}
+
+		public Instant getDate() {
+			return date;
+		}
+
+		public Set<Long> getCategoryIds() {
+			return categoryIds;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bookCatalog.bookcatalog.dto.DescriptionStoreDTO;
+import com.bookCatalog.bookcatalog.repositories.BookScanRepository;
+
+/**
+ * Read-through access to book descriptions in a {@link DescriptionStore}.
+ * A description missing from the store is read from the database and added;
+ * a committed change to a book drops its entry. A load that overlaps an
+ * invalidation is not stored, so a reader that fetched the old text just
+ * before a change commits cannot put it back.
+ */
+@Component
+public class BookDescriptions {
+
+	@Autowired
+	private BookScanRepository scanRepository;
+
+	private final DescriptionStore store;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private long invalidations;
+
+	public BookDescriptions(
+			@Value("${catalog.descriptions.segment-mb:16}") int segmentMb,
+			@Value("${catalog.descriptions.max-mb:256}") long maxMb) {
+		this.store = new DescriptionStore(segmentMb << 20, maxMb << 20, 1024);
+	}
+
+	public String get(Long id) {
+		String description = store.get(id);
+		if (description != null) {
+			hits.increment();
+			return description;
+		}
+		misses.increment();
+		return load(List.of(id)).get(id);
+	}
+
+	/** Snippets of up to {@code maxChars} characters for the given books, by id. */
+	public Map<Long, String> snippets(Collection<Long> ids, int maxChars) {
+		Map<Long, String> snippets = new HashMap<>();
+		List<Long> missing = new ArrayList<>();
+		for (Long id : ids) {
+			String snippet = store.snippet(id, maxChars);
+			if (snippet != null) {
+				snippets.put(id, snippet);
+			}
+			else {
+				missing.add(id);
+			}
+		}
+		hits.add(snippets.size());
+		if (!missing.isEmpty()) {
+			misses.add(missing.size());
+			Map<Long, String> loaded = load(missing);
+			for (Long id : missing) {
+				snippets.put(id, DescriptionStore.snippet(loaded.get(id), maxChars));
+			}
+		}
+		return snippets;
+	}
+
+	private Map<Long, String> load(List<Long> ids) {
+		long before;
+		synchronized (this) {
+			before = invalidations;
+		}
+		Map<Long, String> loaded = scanRepository.findDescriptions(ids);
+		synchronized (this) {
+			if (before == invalidations) {
+				loaded.forEach(store::put);
+			}
+		}
+		return loaded;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void bookChanged(BookChangedEvent event) {
+		BookChangedEvent.State state = event.getAfter() != null ? event.getAfter() : event.getBefore();
+		invalidate(List.of(state.getId()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void booksChanged(BooksChangedEvent event) {
+		if (event.getChange() == BooksChangedEvent.Change.DELETED) {
+			invalidate(event.getIds());
+		}
+	}
+
+	private synchronized void invalidate(Collection<Long> ids) {
+		invalidations++;
+		ids.forEach(store::remove);
+	}
+
+	public DescriptionStoreDTO statistics() {
+		return new DescriptionStoreDTO(store.size(), store.getLiveBytes(), store.getDeadBytes(),
+				store.getOffHeapBytes(), hits.sum(), misses.sum());
+	}
+
+	public synchronized void reset() {
+		invalidations++;
+		store.clear();
+		hits.reset();
+		misses.reset();
+	}
+}
@@ -0,0 +1,54 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Streams the whole catalog as newline delimited JSON, one book per line.
+ * Each chunk is read in its own short transaction, so an export never holds
+ * a connection while it waits on a slow client.
+ */
+@Service
+public class BookExportService {
+
+	private static final int CHUNK_SIZE = 1000;
+
+	@Autowired
+	private BookService service;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	public long writeNdjson(OutputStream out) throws IOException {
+		ObjectWriter writer = objectMapper.writerFor(BookDTO.class)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		long count = 0;
+		try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+			generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			generator.setRootValueSeparator(null);
+			Long lastId = 0L;
+			List<BookDTO> chunk;
+			do {
+				chunk = service.findChunkAfter(lastId, CHUNK_SIZE);
+				for (BookDTO dto : chunk) {
+					writer.writeValue(generator, dto);
+					generator.writeRaw('\n');
+					lastId = dto.getId();
+				}
+				count += chunk.size();
+				generator.flush();
+			} while (chunk.size() == CHUNK_SIZE);
+		}
+		return count;
+	}
+}
@@ -1,21 +1,26 @@
 package com.bookCatalog.bookcatalog.services;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
-import javax.persistence.EntityNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
 import com.bookCatalog.bookcatalog.dto.CategoryDTO;
 import com.bookCatalog.bookcatalog.entities.Book;
 import com.bookCatalog.bookcatalog.entities.Category;
+import com.bookCatalog.bookcatalog.instrumentation.BookAccessFrequency;
 import com.bookCatalog.bookcatalog.repositories.BookRepository;
 import com.bookCatalog.bookcatalog.repositories.CategoryRepository;
 import com.bookCatalog.bookcatalog.services.exceptions.DatabaseException;
@@ -29,18 +34,74 @@ public class BookService {
 	
 	@Autowired
 	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@Autowired
+	private BookAccessFrequency accessFrequency;
+
+	@Autowired
+	private BookDescriptions descriptions;
+
+	@Autowired
+	private DescriptionCompression compression;
 	
 	@Transactional(readOnly = true)
 	public Page<BookDTO> findAllPaged(Pageable pageable) {
-		Page<Book> list = repository.findAll(pageable);
+		Page<Book> list = repository.findAllWithDescription(pageable);
+		list.forEach(x -> accessFrequency.record(x.getId()));
 		return list.map(x -> new BookDTO(x));
 	}
 
+	/**
+	 * The description is left out of the query and read from
+	 * {@link BookDescriptions} when the response is serialized.
+	 */
 	@Transactional(readOnly = true)
 	public BookDTO findById(Long id) {
 		Optional<Book> obj = repository.findById(id);
 		Book entity = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
-		return new BookDTO(entity, entity.getCategories());
+		accessFrequency.record(id);
+		return new BookDTO(entity, entity.getCategories(), () -> descriptions.get(id));
+	}
+
+	@Transactional(readOnly = true)
+	public Page<BookDTO> findAllPaged(Pageable pageable, BookFieldSet fields) {
+		Page<BookDTO> list = repository.findAllProjected(fields, pageable);
+		list.forEach(x -> {
+			if (x.getId() != null) {
+				accessFrequency.record(x.getId());
+			}
+		});
+		return list;
+	}
+
+	/**
+	 * A requested description is left out of the query and read from
+	 * {@link BookDescriptions} when the response is serialized.
+	 */
+	@Transactional(readOnly = true)
+	public BookDTO findById(Long id, BookFieldSet fields) {
+		boolean description = fields.contains(BookFieldSet.Field.DESCRIPTION);
+		Optional<BookDTO> obj = repository.findProjectedById(id,
+				description ? fields.without(BookFieldSet.Field.DESCRIPTION) : fields);
+		BookDTO dto = obj.orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+		accessFrequency.record(id);
+		if (description) {
+			dto.setDescriptionSource(() -> descriptions.get(id));
+		}
+		return dto;
+	}
+
+	/**
+	 * Next chunk of books ordered by id, starting after {@code lastId}. Seeking
+	 * on the primary key keeps each chunk as cheap as the first one.
+	 */
+	@Transactional(readOnly = true)
+	public List<BookDTO> findChunkAfter(Long lastId, int size) {
+		List<Book> list = repository.findWithDescriptionByIdGreaterThan(lastId, PageRequest.of(0, size));
+		return list.stream().map(x -> new BookDTO(x)).collect(Collectors.toList());
 	}
 
 	@Transactional
@@ -48,25 +109,34 @@ public class BookService {
 		Book entity = new Book();
 		copyDtoToEntity(dto, entity);
 		entity = repository.save(entity);
+		publisher.publishEvent(new BookChangedEvent(null, BookChangedEvent.State.of(entity)));
 		return new BookDTO(entity);
 	}
 
 	@Transactional
 	public BookDTO update(Long id, BookDTO dto) {
-		try {
-			Book entity = repository.getOne(id);
-			copyDtoToEntity(dto, entity);
-			entity = repository.save(entity);
-			return new BookDTO(entity);
-		}
-		catch (EntityNotFoundException e) {
-			throw new ResourceNotFoundException("Id not found " + id);
-		}		
+		Book entity = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Id not found " + id));
+		BookChangedEvent.State before = BookChangedEvent.State.of(entity);
+		copyDtoToEntity(dto, entity);
+		entity = repository.save(entity);
+		publisher.publishEvent(new BookChangedEvent(before, BookChangedEvent.State.of(entity)));
+		return new BookDTO(entity);
 	}
 
+	/**
+	 * Flushes before returning so a constraint violation surfaces here, as a
+	 * {@link DatabaseException}, rather than at commit.
+	 */
+	@Transactional
 	public void delete(Long id) {
 		try {
+			Optional<Book> before = repository.findById(id);
+			BookChangedEvent.State state = before.map(BookChangedEvent.State::of).orElse(null);
 			repository.deleteById(id);
+			repository.flush();
+			if (state != null) {
+				publisher.publishEvent(new BookChangedEvent(state, null));
+			}
 		}
 		catch (EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
@@ -79,15 +149,16 @@ public class BookService {
 	private void copyDtoToEntity(BookDTO dto, Book entity) {
 
 		entity.setName(dto.getName());
-		entity.setDescription(dto.getDescription());
+		compression.setDescription(entity, dto.getDescription());
 		entity.setDate(dto.getDate());
 		entity.setImgUrl(dto.getImgUrl());
 		entity.setPrice(dto.getPrice());
 		
 		entity.getCategories().clear();
 		for (CategoryDTO catDto : dto.getCategories()) {
-			Category category = categoryRepository.getOne(catDto.getId());
-			entity.getCategories().add(category);			
+			Category category = categoryRepository.findById(catDto.getId())
+					.orElseThrow(() -> new ResourceNotFoundException("Category not found " + catDto.getId()));
+			entity.getCategories().add(category);
 		}
 	}	
 }
@@ -0,0 +1,32 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.List;
+
+/**
+ * Published once per chunk by bulk operations, inside the chunk's
+ * transaction, with the ids it touched. Caches keyed by book id listen with
+ * {@code @TransactionalEventListener} so they only drop entries whose change
+ * was committed.
+ */
+public class BooksChangedEvent {
+
+	public enum Change {
+		PRICE, CATEGORIES, DELETED
+	}
+
+	private final Change change;
+	private final List<Long> ids;
+
+	public BooksChangedEvent(Change change, List<Long> ids) {
+		this.change = change;
+		this.ids = ids;
+	}
+
+	public Change getChange() {
+		return change;
+	}
+
+	public List<Long> getIds() {
+		return ids;
+	}
+}
@@ -0,0 +1,304 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookStatsDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryStatsDTO;
+import com.bookCatalog.bookcatalog.repositories.BookScanRepository;
+import com.bookCatalog.bookcatalog.repositories.CatalogSource;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+/**
+ * Count, price range, average price and newest date of the whole catalog and
+ * of each category, and its newest and cheapest books, kept in memory so
+ * reads never reach the database.
+ * <p>
+ * Single-book writes from {@link BookService} are applied once committed:
+ * counters are adders, and minimum, maximum and the top lists come from the
+ * first {@code catalog.stats.tracked} books of a {@link RankedSet}. Bulk writes do
+ * not say what they changed, so they only mark the statistics dirty, as does
+ * a ranked set whose tracked books have all been deleted. Dirty statistics
+ * are rebuilt from one scan of the catalog within
+ * {@code catalog.stats.dirty-check-ms}, and clean ones every
+ * {@code catalog.stats.reconcile-ms} to wash out floating point drift and
+ * writes made outside the application.
+ */
+@Component
+@Lazy(false)
+public class CatalogStatistics {
+
+	private static final Logger log = LoggerFactory.getLogger(CatalogStatistics.class);
+
+	static final Comparator<BookChangedEvent.State> BY_PRICE = Comparator
+			.comparingDouble(BookChangedEvent.State::getPrice)
+			.thenComparing(BookChangedEvent.State::getId);
+	static final Comparator<BookChangedEvent.State> BY_PRICE_DESC = Comparator
+			.comparing(BookChangedEvent.State::getPrice, Comparator.reverseOrder())
+			.thenComparing(BookChangedEvent.State::getId);
+	static final Comparator<BookChangedEvent.State> BY_DATE_DESC = Comparator
+			.comparing(BookChangedEvent.State::getDate, Comparator.reverseOrder())
+			.thenComparing(BookChangedEvent.State::getId);
+
+	/** The precomputed lists of {@link #top}. */
+	public enum Ranking {
+		NEWEST, CHEAPEST;
+
+		public static Ranking parse(String name) {
+			for (Ranking ranking : values()) {
+				if (ranking.name().equalsIgnoreCase(name)) {
+					return ranking;
+				}
+			}
+			throw new BadRequestException("Unknown ranking " + name);
+		}
+	}
+
+	@Autowired
+	private BookScanRepository scanRepository;
+
+	@Value("${catalog.stats.tracked:50}")
+	private int tracked;
+
+	private final AtomicBoolean dirty = new AtomicBoolean(true);
+	private volatile boolean rebuilding;
+	private volatile Snapshot snapshot;
+
+	public BookStatsDTO books() {
+		Snapshot current = snapshot();
+		return current.all.toDto(new BookStatsDTO());
+	}
+
+	/** One entry per category, in id order, including categories without books. */
+	public List<CategoryStatsDTO> categories() {
+		Snapshot current = snapshot();
+		List<CategoryStatsDTO> result = new ArrayList<>(current.categories.size());
+		current.categories.forEach((id, aggregate) -> {
+			CategoryStatsDTO dto = aggregate.toDto(new CategoryStatsDTO());
+			dto.setCategoryId(id);
+			dto.setName(aggregate.name);
+			result.add(dto);
+		});
+		return result;
+	}
+
+	/**
+	 * The first {@code size} books of a ranking, over the whole catalog or a
+	 * single category. Descriptions are not kept in memory and are left out.
+	 */
+	public List<BookDTO> top(Ranking ranking, Long categoryId, int size) {
+		if (size < 1 || size > tracked) {
+			throw new BadRequestException("Size must be between 1 and " + tracked);
+		}
+		Snapshot current = snapshot();
+		Aggregate aggregate = current.all;
+		if (categoryId != null) {
+			aggregate = current.categories.get(categoryId);
+			if (aggregate == null) {
+				throw new ResourceNotFoundException("Category not found " + categoryId);
+			}
+		}
+		boolean newest = ranking == Ranking.NEWEST;
+		List<BookChangedEvent.State> head = (newest ? aggregate.newest : aggregate.cheapest).head(size);
+		if (head.size() < size && head.size() < (newest ? aggregate.dated : aggregate.priced).sum()) {
+			dirty.set(true);
+		}
+		List<BookDTO> result = new ArrayList<>(head.size());
+		for (BookChangedEvent.State state : head) {
+			BookDTO dto = new BookDTO(state.getId(), state.getName(), null, state.getPrice(), state.getImgUrl(),
+					state.getDate());
+			for (Long id : state.getCategoryIds()) {
+				Aggregate category = current.categories.get(id);
+				dto.getCategories().add(new CategoryDTO(id, category == null ? null : category.name));
+			}
+			result.add(dto);
+		}
+		return result;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void bookChanged(BookChangedEvent event) {
+		Snapshot current = snapshot();
+		if (event.getBefore() != null) {
+			current.apply(event.getBefore(), false);
+		}
+		if (event.getAfter() != null) {
+			current.apply(event.getAfter(), true);
+		}
+		changedDuringRebuild();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void booksChanged(BooksChangedEvent event) {
+		dirty.set(true);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void categoryChanged(CategoryChangedEvent event) {
+		Snapshot current = snapshot();
+		if (event.getName() == null) {
+			current.categories.remove(event.getId());
+		}
+		else {
+			current.category(event.getId()).name = event.getName();
+		}
+		changedDuringRebuild();
+	}
+
+	/** A change applied to the snapshot being replaced is lost, so the new one is rebuilt again. */
+	private void changedDuringRebuild() {
+		if (rebuilding) {
+			dirty.set(true);
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void initialize() {
+		if (snapshot == null) {
+			reconcile();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${catalog.stats.dirty-check-ms:5000}",
+			initialDelayString = "${catalog.stats.dirty-check-ms:5000}")
+	public void reconcileIfDirty() {
+		if (dirty.get()) {
+			reconcile();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${catalog.stats.reconcile-ms:600000}",
+			initialDelayString = "${catalog.stats.reconcile-ms:600000}")
+	public void reconcile() {
+		reconcile(scanRepository);
+	}
+
+	/** Replaces the statistics with ones computed from the given source. */
+	public synchronized void reconcile(CatalogSource source) {
+		long start = System.nanoTime();
+		rebuilding = true;
+		dirty.set(false);
+		try {
+			Snapshot next = new Snapshot();
+			source.findCategoryNames().forEach((id, name) -> next.category(id).name = name);
+			source.forEachBook(state -> next.apply(state, true));
+			snapshot = next;
+		}
+		catch (RuntimeException e) {
+			dirty.set(true);
+			throw e;
+		}
+		finally {
+			rebuilding = false;
+		}
+		log.debug("Catalog statistics rebuilt in {} ms", (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private Snapshot snapshot() {
+		Snapshot current = snapshot;
+		if (current == null) {
+			reconcile();
+			current = snapshot;
+		}
+		return current;
+	}
+
+	private final class Snapshot {
+
+		private final Aggregate all = new Aggregate();
+		private final ConcurrentNavigableMap<Long, Aggregate> categories = new ConcurrentSkipListMap<>();
+
+		Aggregate category(Long id) {
+			return categories.computeIfAbsent(id, key -> new Aggregate());
+		}
+
+		void apply(BookChangedEvent.State state, boolean added) {
+			all.apply(state, added);
+			for (Long categoryId : state.getCategoryIds()) {
+				Aggregate aggregate = added ? category(categoryId) : categories.get(categoryId);
+				if (aggregate != null) {
+					aggregate.apply(state, added);
+				}
+			}
+		}
+	}
+
+	private final class Aggregate {
+
+		private final LongAdder count = new LongAdder();
+		private final LongAdder priced = new LongAdder();
+		private final LongAdder dated = new LongAdder();
+		private final DoubleAdder priceSum = new DoubleAdder();
+		private final RankedSet<BookChangedEvent.State> cheapest = new RankedSet<>(BY_PRICE, tracked);
+		private final RankedSet<BookChangedEvent.State> priciest = new RankedSet<>(BY_PRICE_DESC, tracked);
+		private final RankedSet<BookChangedEvent.State> newest = new RankedSet<>(BY_DATE_DESC, tracked);
+		private volatile String name;
+
+		void apply(BookChangedEvent.State state, boolean added) {
+			count.add(added ? 1 : -1);
+			if (state.getPrice() != null) {
+				priced.add(added ? 1 : -1);
+				priceSum.add(added ? state.getPrice() : -state.getPrice());
+				update(cheapest, state, added);
+				update(priciest, state, added);
+			}
+			if (state.getDate() != null) {
+				dated.add(added ? 1 : -1);
+				update(newest, state, added);
+			}
+		}
+
+		private void update(RankedSet<BookChangedEvent.State> set, BookChangedEvent.State state, boolean added) {
+			if (added) {
+				set.add(state);
+			}
+			else {
+				set.remove(state);
+			}
+		}
+
+		<T extends BookStatsDTO> T toDto(T dto) {
+			long pricedCount = priced.sum();
+			dto.setCount(count.sum());
+			dto.setMinPrice(pricedCount == 0 ? null : price(cheapest));
+			dto.setMaxPrice(pricedCount == 0 ? null : price(priciest));
+			dto.setAvgPrice(pricedCount == 0 ? null : priceSum.sum() / pricedCount);
+			BookChangedEvent.State newestBook = first(newest);
+			dto.setNewestDate(newestBook == null ? null : newestBook.getDate());
+			return dto;
+		}
+
+		private Double price(RankedSet<BookChangedEvent.State> set) {
+			BookChangedEvent.State first = first(set);
+			return first == null ? null : first.getPrice();
+		}
+
+		/** The first tracked book, which may be stale until the next rebuild if it is not exact. */
+		private BookChangedEvent.State first(RankedSet<BookChangedEvent.State> set) {
+			if (!set.isFirstExact()) {
+				dirty.set(true);
+			}
+			return set.first();
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.bookCatalog.bookcatalog.services;
+
+/**
+ * Published by {@link CategoryService} when a category is created, renamed
+ * or deleted; {@code name} is {@code null} for a delete.
+ */
+public class CategoryChangedEvent {
+
+	private final Long id;
+	private final String name;
+
+	public CategoryChangedEvent(Long id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
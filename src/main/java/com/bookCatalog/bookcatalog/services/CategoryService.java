@@ -2,9 +2,8 @@ package com.bookCatalog.bookcatalog.services;
 
 import java.util.Optional;
 
-import javax.persistence.EntityNotFoundException;
-
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
@@ -23,6 +22,9 @@ public class CategoryService {
 
 	@Autowired
 	private CategoryRepository repository;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
 	
 	@Transactional(readOnly = true)
 	public Page<CategoryDTO> findAllPaged(Pageable pageable) {
@@ -42,25 +44,29 @@ public class CategoryService {
 		Category entity = new Category();
 		entity.setName(dto.getName());
 		entity = repository.save(entity);
+		publisher.publishEvent(new CategoryChangedEvent(entity.getId(), entity.getName()));
 		return new CategoryDTO(entity);
 	}
 
 	@Transactional
 	public CategoryDTO update(Long id, CategoryDTO dto) {
-		try {
-			Category entity = repository.getOne(id);
-			entity.setName(dto.getName());
-			entity = repository.save(entity);
-			return new CategoryDTO(entity);
-		}
-		catch (EntityNotFoundException e) {
-			throw new ResourceNotFoundException("Id not found " + id);
-		}		
+		Category entity = repository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Id not found " + id));
+		entity.setName(dto.getName());
+		entity = repository.save(entity);
+		publisher.publishEvent(new CategoryChangedEvent(entity.getId(), entity.getName()));
+		return new CategoryDTO(entity);
 	}
 
+	/**
+	 * Runs in one transaction with the change log entry the event adds, and
+	 * flushes so a constraint violation surfaces here rather than at commit.
+	 */
+	@Transactional
 	public void delete(Long id) {
 		try {
 			repository.deleteById(id);
+			repository.flush();
+			publisher.publishEvent(new CategoryChangedEvent(id, null));
 		}
 		catch (EmptyResultDataAccessException e) {
 			throw new ResourceNotFoundException("Id not found " + id);
@@ -0,0 +1,127 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookCatalog.bookcatalog.dto.DescriptionCompressionDTO;
+import com.bookCatalog.bookcatalog.entities.Book;
+import com.bookCatalog.bookcatalog.entities.CompressedText;
+import com.bookCatalog.bookcatalog.repositories.BookDescriptionRepository;
+
+/**
+ * Opt-in storage of long descriptions deflated in {@code description_z}
+ * rather than in the {@code description} text column, which keeps the rows
+ * of {@code tb_book} short. With {@code catalog.descriptions.compression.enabled}
+ * set, saved descriptions of at least {@code min-length} characters are
+ * stored compressed and {@link #migrate} compresses the existing ones; with
+ * it unset, {@link #migrate} turns compressed descriptions back into text.
+ * Reads handle both columns, so the setting can change between restarts.
+ */
+@Service
+public class DescriptionCompression {
+
+	@Autowired
+	private BookDescriptionRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Value("${catalog.descriptions.compression.enabled:false}")
+	private boolean enabled;
+
+	@Value("${catalog.descriptions.compression.min-length:512}")
+	private int minLength;
+
+	@Value("${catalog.bulk.chunk-size:1000}")
+	private int chunkSize;
+
+	/** Sets the description of the entity, compressed when this mode applies to it. */
+	public void setDescription(Book entity, String description) {
+		CompressedText compressed = compress(description);
+		if (compressed != null) {
+			entity.setCompressedDescription(compressed);
+		}
+		else {
+			entity.setDescription(description);
+		}
+	}
+
+	public DescriptionCompressionDTO statistics() {
+		DescriptionCompressionDTO dto = repository.findStatistics();
+		dto.setEnabled(enabled);
+		dto.setMinLength(minLength);
+		return dto;
+	}
+
+	/**
+	 * Brings existing rows in line with the setting, a chunk of books per
+	 * transaction. Descriptions that would not shrink, and rows saved since
+	 * they were read, are counted as skipped.
+	 */
+	public DescriptionCompressionDTO migrate() {
+		long start = System.nanoTime();
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		long[] totals = new long[2];
+		Long last = 0L;
+		while (last != null) {
+			long afterId = last;
+			last = transaction.execute(status -> enabled ? compressChunk(afterId, totals) : expandChunk(afterId, totals));
+		}
+		DescriptionCompressionDTO dto = statistics();
+		dto.setMigrated(totals[0]);
+		dto.setSkipped(totals[1]);
+		dto.setMillis((System.nanoTime() - start) / 1_000_000);
+		return dto;
+	}
+
+	/** Runs one chunk, returning its last id, or {@code null} when no row was left. */
+	private Long compressChunk(long afterId, long[] totals) {
+		Map<Long, String> texts = repository.findTextAfter(afterId, minLength, chunkSize);
+		if (texts.isEmpty()) {
+			return null;
+		}
+		Map<Long, CompressedText> compressed = new LinkedHashMap<>();
+		Long last = null;
+		for (Map.Entry<Long, String> entry : texts.entrySet()) {
+			CompressedText value = compress(entry.getValue());
+			if (value != null) {
+				compressed.put(entry.getKey(), value);
+			}
+			last = entry.getKey();
+		}
+		int changed = compressed.isEmpty() ? 0 : repository.compress(texts, compressed);
+		totals[0] += changed;
+		totals[1] += texts.size() - changed;
+		return last;
+	}
+
+	private Long expandChunk(long afterId, long[] totals) {
+		Map<Long, CompressedText> compressed = repository.findCompressedAfter(afterId, chunkSize);
+		if (compressed.isEmpty()) {
+			return null;
+		}
+		int changed = repository.expand(compressed);
+		totals[0] += changed;
+		totals[1] += compressed.size() - changed;
+		Long last = null;
+		for (Long id : compressed.keySet()) {
+			last = id;
+		}
+		return last;
+	}
+
+	/** The compressed description, or {@code null} when it should stay text. */
+	private CompressedText compress(String description) {
+		if (!enabled || description == null || description.length() < minLength) {
+			return null;
+		}
+		CompressedText compressed = CompressedText.compress(description);
+		return compressed.getBytes().length < compressed.getTextLength() ? compressed : null;
+	}
+}
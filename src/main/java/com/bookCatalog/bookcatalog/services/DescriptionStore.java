@@ -0,0 +1,373 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Book descriptions kept outside the Java heap. Each one is UTF-8 encoded,
+ * deflated when that makes it smaller, and appended to the current direct
+ * buffer segment. What stays on the heap is a {@link LongIntMap} from book id
+ * to slot and the slot's address and lengths in primitive arrays, about 40
+ * bytes per book whatever the description's length.
+ * <p>
+ * Replacing or removing a description leaves a hole; when a new segment
+ * would be needed and holes outweigh live bytes, {@link #compact} copies the
+ * live entries into fresh segments. When the store is full, {@link #put}
+ * refuses the entry and the caller keeps reading it from the database.
+ */
+public final class DescriptionStore {
+
+	private static final long FREE = -1L;
+	private static final int COMPRESSED = 0x8000_0000;
+	private static final int MIN_COMPRESSED = 64;
+
+	private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+	private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final int segmentSize;
+	private final int maxSegments;
+	private LongIntMap slots;
+
+	private ByteBuffer[] segments = new ByteBuffer[0];
+	private int position;
+	private long[] addresses;
+	private int[] storedLengths;
+	private int[] textLengths;
+	private int slotCount;
+	private int[] freeSlots = new int[16];
+	private int freeCount;
+	private long liveBytes;
+	private long deadBytes;
+
+	public DescriptionStore(int segmentSize, long maxBytes, int expectedSize) {
+		this.segmentSize = segmentSize;
+		this.maxSegments = (int) Math.min(Integer.MAX_VALUE, Math.max(1, maxBytes / segmentSize));
+		this.slots = new LongIntMap(expectedSize);
+		int capacity = Math.max(expectedSize, 16);
+		addresses = new long[capacity];
+		storedLengths = new int[capacity];
+		textLengths = new int[capacity];
+	}
+
+	/**
+	 * Stores the description of a book, replacing any previous one. Returns
+	 * {@code false}, leaving the book out of the store, when the description is
+	 * {@code null}, larger than a segment, or does not fit.
+	 */
+	public boolean put(long id, String description) {
+		if (description == null) {
+			remove(id);
+			return false;
+		}
+		byte[] text = description.getBytes(StandardCharsets.UTF_8);
+		byte[] stored = text;
+		int storedLength = text.length;
+		int flags = 0;
+		if (text.length >= MIN_COMPRESSED) {
+			Deflater deflater = DEFLATER.get();
+			deflater.reset();
+			deflater.setInput(text);
+			deflater.finish();
+			byte[] compressed = new byte[text.length];
+			int length = deflater.deflate(compressed);
+			if (deflater.finished() && length < text.length) {
+				stored = compressed;
+				storedLength = length;
+				flags = COMPRESSED;
+			}
+		}
+		if (storedLength > segmentSize) {
+			remove(id);
+			return false;
+		}
+		lock.writeLock().lock();
+		try {
+			int slot = slots.get(id);
+			if (slot != LongIntMap.MISSING) {
+				release(slot);
+			}
+			long address = allocate(storedLength);
+			if (address == FREE) {
+				if (slot != LongIntMap.MISSING) {
+					slots.remove(id);
+					free(slot);
+				}
+				return false;
+			}
+			ByteBuffer segment = segments[(int) (address >>> 32)].duplicate();
+			segment.position((int) address);
+			segment.put(stored, 0, storedLength);
+			if (slot == LongIntMap.MISSING) {
+				slot = newSlot();
+				slots.put(id, slot);
+			}
+			addresses[slot] = address;
+			storedLengths[slot] = storedLength | flags;
+			textLengths[slot] = text.length;
+			liveBytes += storedLength;
+			return true;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(long id) {
+		lock.writeLock().lock();
+		try {
+			int slot = slots.get(id);
+			if (slot != LongIntMap.MISSING) {
+				slots.remove(id);
+				release(slot);
+				free(slot);
+			}
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			slots = new LongIntMap(16);
+			segments = new ByteBuffer[0];
+			position = 0;
+			slotCount = 0;
+			freeCount = 0;
+			liveBytes = 0;
+			deadBytes = 0;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** The whole description, or {@code null} when the store does not have it. */
+	public String get(long id) {
+		return read(id, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * At most {@code maxChars} characters from the start of the description,
+	 * followed by an ellipsis when it was cut. Only the bytes needed for the
+	 * snippet are inflated. {@code null} when the store does not have it.
+	 */
+	public String snippet(long id, int maxChars) {
+		return read(id, maxChars);
+	}
+
+	/** The snippet {@link #snippet(long, int)} would give for a description read elsewhere. */
+	public static String snippet(String description, int maxChars) {
+		if (description == null || description.length() <= maxChars) {
+			return description;
+		}
+		int end = maxChars;
+		if (end > 0 && Character.isHighSurrogate(description.charAt(end - 1))) {
+			end--;
+		}
+		return description.substring(0, end) + "\u2026";
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return slotCount - freeCount;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Bytes held by live entries, after compression. */
+	public long getLiveBytes() {
+		lock.readLock().lock();
+		try {
+			return liveBytes;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Bytes held by replaced or removed entries, until the next compaction. */
+	public long getDeadBytes() {
+		lock.readLock().lock();
+		try {
+			return deadBytes;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Direct memory reserved by the segments. */
+	public long getOffHeapBytes() {
+		lock.readLock().lock();
+		try {
+			return (long) segments.length * segmentSize;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Copies live entries into as few segments as they need. */
+	public void compact() {
+		lock.writeLock().lock();
+		try {
+			ByteBuffer[] previous = segments;
+			segments = new ByteBuffer[0];
+			position = 0;
+			byte[] buffer = new byte[0];
+			for (int slot = 0; slot < slotCount; slot++) {
+				long address = addresses[slot];
+				if (address == FREE) {
+					continue;
+				}
+				int length = storedLengths[slot] & ~COMPRESSED;
+				if (buffer.length < length) {
+					buffer = new byte[length];
+				}
+				ByteBuffer from = previous[(int) (address >>> 32)].duplicate();
+				from.position((int) address);
+				from.get(buffer, 0, length);
+				long moved = append(length);
+				ByteBuffer to = segments[(int) (moved >>> 32)].duplicate();
+				to.position((int) moved);
+				to.put(buffer, 0, length);
+				addresses[slot] = moved;
+			}
+			deadBytes = 0;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private String read(long id, int maxChars) {
+		lock.readLock().lock();
+		try {
+			int slot = slots.get(id);
+			if (slot == LongIntMap.MISSING) {
+				return null;
+			}
+			long address = addresses[slot];
+			int stored = storedLengths[slot];
+			int textLength = textLengths[slot];
+			int length = stored & ~COMPRESSED;
+			int wanted = maxChars >= textLength ? textLength : (int) Math.min(textLength, 3L * maxChars + 3);
+			ByteBuffer segment = segments[(int) (address >>> 32)].duplicate();
+			segment.position((int) address).limit((int) address + length);
+			byte[] text = new byte[wanted];
+			if ((stored & COMPRESSED) == 0) {
+				segment.get(text);
+			}
+			else {
+				inflate(segment, text);
+			}
+			String value = new String(text, StandardCharsets.UTF_8);
+			if (wanted == textLength && value.length() <= maxChars) {
+				return value;
+			}
+			return cut(value, maxChars) + "\u2026";
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private static void inflate(ByteBuffer input, byte[] output) {
+		Inflater inflater = INFLATER.get();
+		inflater.reset();
+		inflater.setInput(input);
+		try {
+			int done = 0;
+			while (done < output.length && !inflater.finished()) {
+				int n = inflater.inflate(output, done, output.length - done);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IllegalStateException("Truncated description entry");
+				}
+				done += n;
+			}
+		}
+		catch (DataFormatException e) {
+			throw new IllegalStateException("Corrupt description entry", e);
+		}
+	}
+
+	/** The first {@code maxChars} characters, without a half character left by a byte-level cut. */
+	private static String cut(String value, int maxChars) {
+		int end = Math.min(value.length(), maxChars);
+		while (end > 0 && value.charAt(end - 1) == '\uFFFD') {
+			end--;
+		}
+		if (end > 0 && Character.isHighSurrogate(value.charAt(end - 1))) {
+			end--;
+		}
+		return value.substring(0, end);
+	}
+
+	/** Turns the slot's entry into a hole; compaction skips the slot until it gets a new address. */
+	private void release(int slot) {
+		addresses[slot] = FREE;
+		int length = storedLengths[slot] & ~COMPRESSED;
+		liveBytes -= length;
+		deadBytes += length;
+	}
+
+	/** Room for {@code length} bytes, compacting or adding a segment when needed; {@link #FREE} if full. */
+	private long allocate(int length) {
+		if (segments.length > 0 && position + length <= segmentSize) {
+			return append(length);
+		}
+		if (deadBytes > liveBytes) {
+			compact();
+			if (position + length <= segmentSize) {
+				return append(length);
+			}
+		}
+		if (segments.length >= maxSegments) {
+			return FREE;
+		}
+		return append(length);
+	}
+
+	private long append(int length) {
+		if (segments.length == 0 || position + length > segmentSize) {
+			segments = Arrays.copyOf(segments, segments.length + 1);
+			segments[segments.length - 1] = ByteBuffer.allocateDirect(segmentSize);
+			position = 0;
+		}
+		long address = ((long) (segments.length - 1) << 32) | position;
+		position += length;
+		return address;
+	}
+
+	private int newSlot() {
+		if (freeCount > 0) {
+			return freeSlots[--freeCount];
+		}
+		if (slotCount == addresses.length) {
+			int capacity = addresses.length * 2;
+			addresses = Arrays.copyOf(addresses, capacity);
+			storedLengths = Arrays.copyOf(storedLengths, capacity);
+			textLengths = Arrays.copyOf(textLengths, capacity);
+		}
+		return slotCount++;
+	}
+
+	private void free(int slot) {
+		addresses[slot] = FREE;
+		if (freeCount == freeSlots.length) {
+			freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+		}
+		freeSlots[freeCount++] = slot;
+	}
+}
@@ -0,0 +1,157 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open addressing hash map from positive {@code long} keys to {@code int}
+ * values, held in two primitive arrays: about 24 bytes per entry where a
+ * {@code HashMap<Long, Integer>} needs over 60. Writers take a write lock;
+ * readers probe optimistically and only lock when a write got in the way.
+ */
+final class LongIntMap {
+
+	static final int MISSING = -1;
+
+	private static final long EMPTY = 0L;
+
+	private final StampedLock lock = new StampedLock();
+	private long[] keys;
+	private int[] values;
+	private int size;
+
+	LongIntMap(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+		keys = new long[capacity];
+		values = new int[capacity];
+	}
+
+	/** The value for {@code key}, or {@link #MISSING}. */
+	int get(long key) {
+		long stamp = lock.tryOptimisticRead();
+		long[] k = keys;
+		int[] v = values;
+		if (k.length == v.length) {
+			int value = find(k, v, key);
+			if (lock.validate(stamp)) {
+				return value;
+			}
+		}
+		stamp = lock.readLock();
+		try {
+			return find(keys, values, key);
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	void put(long key, int value) {
+		if (key <= 0L) {
+			throw new IllegalArgumentException("Key must be positive: " + key);
+		}
+		long stamp = lock.writeLock();
+		try {
+			if ((size + 1) * 2 > keys.length) {
+				resize(keys.length * 2);
+			}
+			if (insert(keys, values, key, value)) {
+				size++;
+			}
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	void remove(long key) {
+		long stamp = lock.writeLock();
+		try {
+			int mask = keys.length - 1;
+			int i = slot(key, mask);
+			while (keys[i] != key) {
+				if (keys[i] == EMPTY) {
+					return;
+				}
+				i = (i + 1) & mask;
+			}
+			size--;
+			// Backward shift: pull later entries of the probe run into the hole so no tombstones are needed.
+			int j = i;
+			while (true) {
+				j = (j + 1) & mask;
+				if (keys[j] == EMPTY) {
+					break;
+				}
+				int home = slot(keys[j], mask);
+				boolean movable = j > i ? home <= i || home > j : home <= i && home > j;
+				if (movable) {
+					keys[i] = keys[j];
+					values[i] = values[j];
+					i = j;
+				}
+			}
+			keys[i] = EMPTY;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	int size() {
+		long stamp = lock.readLock();
+		try {
+			return size;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private void resize(int capacity) {
+		long[] newKeys = new long[capacity];
+		int[] newValues = new int[capacity];
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != EMPTY) {
+				insert(newKeys, newValues, keys[i], values[i]);
+			}
+		}
+		keys = newKeys;
+		values = newValues;
+	}
+
+	private static boolean insert(long[] keys, int[] values, long key, int value) {
+		int mask = keys.length - 1;
+		int i = slot(key, mask);
+		while (keys[i] != EMPTY) {
+			if (keys[i] == key) {
+				values[i] = value;
+				return false;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		return true;
+	}
+
+	private static int find(long[] keys, int[] values, long key) {
+		int mask = keys.length - 1;
+		int i = slot(key, mask);
+		for (int probes = 0; probes < keys.length; probes++) {
+			long stored = keys[i];
+			if (stored == key) {
+				return values[i];
+			}
+			if (stored == EMPTY) {
+				return MISSING;
+			}
+			i = (i + 1) & mask;
+		}
+		return MISSING;
+	}
+
+	private static int slot(long key, int mask) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+}
@@ -0,0 +1,88 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * The first {@code capacity} elements of a changing set under a fixed order,
+ * held in a skip list so readers never block. Writers serialize on the
+ * instance. Elements pushed past the capacity are forgotten; the best of them
+ * is remembered so that, once removals have shrunk the set, a reader can
+ * tell which leading elements are still known to be exact.
+ */
+final class RankedSet<E> {
+
+	private final Comparator<? super E> order;
+	private final int capacity;
+	private final ConcurrentSkipListSet<E> elements;
+	private int size;
+	private volatile E bestEvicted;
+
+	RankedSet(Comparator<? super E> order, int capacity) {
+		this.order = order;
+		this.capacity = capacity;
+		this.elements = new ConcurrentSkipListSet<>(order);
+	}
+
+	synchronized void add(E element) {
+		if (size == capacity && order.compare(element, elements.last()) > 0) {
+			evicted(element);
+			return;
+		}
+		if (elements.add(element)) {
+			size++;
+		}
+		if (size > capacity) {
+			evicted(elements.pollLast());
+			size--;
+		}
+	}
+
+	synchronized void remove(E element) {
+		if (elements.remove(element)) {
+			size--;
+		}
+	}
+
+	private void evicted(E element) {
+		E best = bestEvicted;
+		if (best == null || order.compare(element, best) < 0) {
+			bestEvicted = element;
+		}
+	}
+
+	/** The first element, or {@code null} when there is none. */
+	E first() {
+		Iterator<E> iterator = elements.iterator();
+		return iterator.hasNext() ? iterator.next() : null;
+	}
+
+	/**
+	 * Up to {@code n} leading elements that are known to be exact: those
+	 * ordered before every element that was ever pushed out.
+	 */
+	List<E> head(int n) {
+		E best = bestEvicted;
+		List<E> result = new ArrayList<>(Math.min(n, capacity));
+		for (E element : elements) {
+			if (result.size() == n || best != null && order.compare(element, best) > 0) {
+				break;
+			}
+			result.add(element);
+		}
+		return result;
+	}
+
+	/** Whether {@link #first()} is exact, that is no forgotten element ranks before it. */
+	boolean isFirstExact() {
+		E best = bestEvicted;
+		if (best == null) {
+			return true;
+		}
+		E first = first();
+		return first != null && order.compare(first, best) <= 0;
+	}
+}
@@ -0,0 +1,41 @@
+package com.bookCatalog.bookcatalog.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.repositories.BookReadRepository;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(name = "catalog.r2dbc.url")
+public class ReactiveBookService {
+
+	@Autowired
+	private BookReadRepository repository;
+
+	public Mono<Page<BookDTO>> findAllPaged(Pageable pageable) {
+		return Mono.zip(repository.findAll(pageable).collectList(), repository.count())
+				.map(t -> new PageImpl<>(t.getT1(), pageable, t.getT2()));
+	}
+
+	public Flux<BookDTO> streamAll() {
+		return repository.streamAll();
+	}
+
+	public Mono<BookDTO> findById(Long id) {
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Entity not found")))
+				.flatMap(dto -> repository.findCategories(id).collectList().map(categories -> {
+					dto.getCategories().addAll(categories);
+					return dto;
+				}));
+	}
+}
@@ -0,0 +1,32 @@
+package com.bookCatalog.bookcatalog.services;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.repositories.CategoryReadRepository;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(name = "catalog.r2dbc.url")
+public class ReactiveCategoryService {
+
+	@Autowired
+	private CategoryReadRepository repository;
+
+	public Mono<Page<CategoryDTO>> findAllPaged(Pageable pageable) {
+		return Mono.zip(repository.findAll(pageable).collectList(), repository.count())
+				.map(t -> new PageImpl<>(t.getT1(), pageable, t.getT2()));
+	}
+
+	public Mono<CategoryDTO> findById(Long id) {
+		return repository.findById(id)
+				.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Entity not found")));
+	}
+}
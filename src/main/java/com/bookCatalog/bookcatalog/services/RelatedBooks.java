@@ -0,0 +1,508 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.repositories.BookScanRepository;
+import com.bookCatalog.bookcatalog.repositories.CatalogSource;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+/**
+ * Books related to a given book, ranked by the Jaccard similarity of their
+ * category sets and then by date, newest first.
+ * <p>
+ * Similarity only depends on the category set, so books are grouped by it.
+ * A {@link LongIntMap} gives each book's group, and every group keeps its
+ * newest {@code catalog.related.tracked} books. A group's neighbours, the
+ * {@code catalog.related.neighbours} most similar groups, are held as
+ * parallel arrays of group indexes and scores. They are computed on first use
+ * from an inverted index of categories to groups and updated in place when a
+ * new category set appears, so pairs of groups that share nothing are never
+ * scored. Committed single-book writes are applied directly; bulk writes mark
+ * the index dirty and it is rebuilt from one scan, as in
+ * {@link CatalogStatistics}. Groups are never removed in place: a neighbour
+ * found empty is skipped and marks the index dirty, so the rebuild drops it.
+ */
+@Component
+@Lazy(false)
+public class RelatedBooks {
+
+	private static final Logger log = LoggerFactory.getLogger(RelatedBooks.class);
+
+	static final Comparator<BookChangedEvent.State> BY_RECENCY = Comparator
+			.comparing(BookChangedEvent.State::getDate, Comparator.nullsLast(Comparator.reverseOrder()))
+			.thenComparing(BookChangedEvent.State::getId);
+
+	@Autowired
+	private BookScanRepository scanRepository;
+
+	@Value("${catalog.related.tracked:20}")
+	private int tracked;
+
+	@Value("${catalog.related.neighbours:64}")
+	private int neighbourLimit;
+
+	private final AtomicBoolean dirty = new AtomicBoolean(true);
+	private volatile boolean rebuilding;
+	private volatile Index index;
+
+	/** Up to {@code size} books related to the given one, which is never part of the result. */
+	public List<BookDTO> related(Long id, int size) {
+		if (size < 1 || size > tracked) {
+			throw new BadRequestException("Size must be between 1 and " + tracked);
+		}
+		Index current = index();
+		Group group = current.groupOf(id);
+		if (group == null) {
+			throw new ResourceNotFoundException("Entity not found");
+		}
+		Neighbours neighbours = current.neighbours(group);
+		List<BookDTO> result = new ArrayList<>(size);
+		List<BookChangedEvent.State> tier = new ArrayList<>();
+		int i = 0;
+		while (i < neighbours.groups.length && result.size() < size) {
+			float score = neighbours.scores[i];
+			tier.clear();
+			for (; i < neighbours.groups.length && neighbours.scores[i] == score; i++) {
+				Group neighbour = current.group(neighbours.groups[i]);
+				if (neighbour.size.sum() == 0) {
+					// Emptied by deletes or moves; the rebuild drops it and frees its place among the neighbours.
+					dirty.set(true);
+					continue;
+				}
+				List<BookChangedEvent.State> head = neighbour.newest.head(size + 1);
+				if (head.size() <= size && head.size() < neighbour.size.sum()) {
+					dirty.set(true);
+				}
+				tier.addAll(head);
+			}
+			tier.sort(BY_RECENCY);
+			for (BookChangedEvent.State state : tier) {
+				if (result.size() == size) {
+					break;
+				}
+				if (!state.getId().equals(id)) {
+					result.add(new BookDTO(state.getId(), state.getName(), null, state.getPrice(), state.getImgUrl(),
+							state.getDate()));
+				}
+			}
+		}
+		return result;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void bookChanged(BookChangedEvent event) {
+		index().apply(event.getBefore(), event.getAfter());
+		if (rebuilding) {
+			dirty.set(true);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void booksChanged(BooksChangedEvent event) {
+		dirty.set(true);
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void initialize() {
+		if (index == null) {
+			rebuild();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${catalog.stats.dirty-check-ms:5000}",
+			initialDelayString = "${catalog.stats.dirty-check-ms:5000}")
+	public void rebuildIfDirty() {
+		if (dirty.get()) {
+			rebuild();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${catalog.stats.reconcile-ms:600000}",
+			initialDelayString = "${catalog.stats.reconcile-ms:600000}")
+	public void rebuild() {
+		rebuild(scanRepository);
+	}
+
+	/** Replaces the index with one built from the given source. */
+	public synchronized void rebuild(CatalogSource source) {
+		long start = System.nanoTime();
+		rebuilding = true;
+		dirty.set(false);
+		try {
+			Index previous = index;
+			Index next = new Index(previous == null ? 1024 : previous.books.size());
+			source.forEachBook(state -> next.apply(null, state));
+			index = next;
+		}
+		catch (RuntimeException e) {
+			dirty.set(true);
+			throw e;
+		}
+		finally {
+			rebuilding = false;
+		}
+		log.debug("Related books index rebuilt in {} ms", (System.nanoTime() - start) / 1_000_000);
+	}
+
+	private Index index() {
+		Index current = index;
+		if (current == null) {
+			rebuild();
+			current = index;
+		}
+		return current;
+	}
+
+	static float jaccard(long[] a, long[] b) {
+		int shared = 0;
+		for (int i = 0, j = 0; i < a.length && j < b.length;) {
+			if (a[i] == b[j]) {
+				shared++;
+				i++;
+				j++;
+			}
+			else if (a[i] < b[j]) {
+				i++;
+			}
+			else {
+				j++;
+			}
+		}
+		int union = a.length + b.length - shared;
+		return union == 0 ? 0f : (float) shared / union;
+	}
+
+	private static long[] categoryIds(BookChangedEvent.State state) {
+		long[] ids = new long[state.getCategoryIds().size()];
+		int i = 0;
+		for (Long id : state.getCategoryIds()) {
+			ids[i++] = id;
+		}
+		Arrays.sort(ids);
+		return ids;
+	}
+
+	/** Books grouped by category set. Writers and the first computation of neighbours lock the instance. */
+	private final class Index {
+
+		private final LongIntMap books;
+		private final Map<CategorySet, Group> groupsBySet = new HashMap<>();
+		private final Map<Long, IntList> groupsByCategory = new HashMap<>();
+		private volatile Group[] groups = new Group[64];
+		private int groupCount;
+		private int[] seen = new int[64];
+		private int pass;
+		private int computedNeighbours;
+
+		Index(int expectedBooks) {
+			books = new LongIntMap(expectedBooks);
+		}
+
+		Group groupOf(long bookId) {
+			int i = books.get(bookId);
+			return i == LongIntMap.MISSING ? null : groups[i];
+		}
+
+		Group group(int i) {
+			return groups[i];
+		}
+
+		synchronized void apply(BookChangedEvent.State before, BookChangedEvent.State after) {
+			if (before != null) {
+				Group group = groupsBySet.get(new CategorySet(categoryIds(before)));
+				if (group != null) {
+					group.remove(before);
+				}
+				if (after == null) {
+					books.remove(before.getId());
+				}
+			}
+			if (after != null) {
+				Group group = groupFor(categoryIds(after));
+				group.add(after);
+				books.put(after.getId(), group.index);
+			}
+		}
+
+		private Group groupFor(long[] categoryIds) {
+			CategorySet key = new CategorySet(categoryIds);
+			Group group = groupsBySet.get(key);
+			if (group != null) {
+				return group;
+			}
+			group = new Group(groupCount, categoryIds);
+			Group[] current = groups;
+			if (groupCount == current.length) {
+				current = Arrays.copyOf(current, current.length * 2);
+				seen = Arrays.copyOf(seen, current.length);
+			}
+			current[groupCount++] = group;
+			groups = current;
+			groupsBySet.put(key, group);
+			for (long categoryId : categoryIds) {
+				groupsByCategory.computeIfAbsent(categoryId, id -> new IntList()).add(group.index);
+			}
+			if (computedNeighbours == 0) {
+				return group;
+			}
+			int stamp = nextPass();
+			for (long categoryId : categoryIds) {
+				IntList members = groupsByCategory.get(categoryId);
+				for (int m = 0; m < members.size; m++) {
+					int i = members.items[m];
+					if (seen[i] != stamp) {
+						seen[i] = stamp;
+						Group other = current[i];
+						Neighbours neighbours = other.neighbours;
+						if (neighbours != null) {
+							other.neighbours = neighbours.offer(group.index,
+									jaccard(other.categoryIds, categoryIds), neighbourLimit);
+						}
+					}
+				}
+			}
+			return group;
+		}
+
+		Neighbours neighbours(Group group) {
+			Neighbours neighbours = group.neighbours;
+			return neighbours != null ? neighbours : computeNeighbours(group);
+		}
+
+		private synchronized Neighbours computeNeighbours(Group group) {
+			if (group.neighbours != null) {
+				return group.neighbours;
+			}
+			Group[] current = groups;
+			Selection best = new Selection(neighbourLimit, current);
+			int stamp = nextPass();
+			for (long categoryId : group.categoryIds) {
+				IntList members = groupsByCategory.get(categoryId);
+				for (int m = 0; m < members.size; m++) {
+					int i = members.items[m];
+					if (seen[i] != stamp) {
+						seen[i] = stamp;
+						best.offer(i, jaccard(group.categoryIds, current[i].categoryIds));
+					}
+				}
+			}
+			Neighbours neighbours = best.toNeighbours();
+			group.neighbours = neighbours;
+			computedNeighbours++;
+			return neighbours;
+		}
+
+		/** Marks the start of a traversal, so {@code seen} never needs clearing. */
+		private int nextPass() {
+			if (++pass == 0) {
+				Arrays.fill(seen, 0);
+				pass = 1;
+			}
+			return pass;
+		}
+	}
+
+	/**
+	 * The best groups offered so far, in a min-heap of parallel arrays whose
+	 * root is the worst kept group: lowest score, then oldest newest book.
+	 */
+	private static final class Selection {
+
+		private final int[] heap;
+		private final float[] scores;
+		private final Group[] groups;
+		private int size;
+
+		Selection(int limit, Group[] groups) {
+			this.heap = new int[limit];
+			this.scores = new float[limit];
+			this.groups = groups;
+		}
+
+		void offer(int group, float score) {
+			if (size < heap.length) {
+				heap[size] = group;
+				scores[size] = score;
+				siftUp(size++);
+			}
+			else if (heap.length > 0 && worse(heap[0], scores[0], group, score)) {
+				heap[0] = group;
+				scores[0] = score;
+				siftDown(0);
+			}
+		}
+
+		Neighbours toNeighbours() {
+			int[] indexes = new int[size];
+			float[] bestScores = new float[size];
+			for (int i = size - 1; i >= 0; i--) {
+				indexes[i] = heap[0];
+				bestScores[i] = scores[0];
+				heap[0] = heap[i];
+				scores[0] = scores[i];
+				size = i;
+				siftDown(0);
+			}
+			return new Neighbours(indexes, bestScores);
+		}
+
+		private boolean worse(int a, float scoreA, int b, float scoreB) {
+			if (scoreA != scoreB) {
+				return scoreA < scoreB;
+			}
+			BookChangedEvent.State newestA = groups[a].newest.first();
+			BookChangedEvent.State newestB = groups[b].newest.first();
+			if (newestA == null || newestB == null) {
+				return newestA == null && newestB != null;
+			}
+			return BY_RECENCY.compare(newestA, newestB) > 0;
+		}
+
+		private void siftUp(int i) {
+			while (i > 0) {
+				int parent = (i - 1) / 2;
+				if (!worse(heap[i], scores[i], heap[parent], scores[parent])) {
+					return;
+				}
+				swap(i, parent);
+				i = parent;
+			}
+		}
+
+		private void siftDown(int i) {
+			while (true) {
+				int worst = i;
+				for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+					if (worse(heap[child], scores[child], heap[worst], scores[worst])) {
+						worst = child;
+					}
+				}
+				if (worst == i) {
+					return;
+				}
+				swap(i, worst);
+				i = worst;
+			}
+		}
+
+		private void swap(int i, int j) {
+			int group = heap[i];
+			float score = scores[i];
+			heap[i] = heap[j];
+			scores[i] = scores[j];
+			heap[j] = group;
+			scores[j] = score;
+		}
+	}
+
+	/** Growable list of group indexes per category; only touched under the index lock. */
+	private static final class IntList {
+
+		private int[] items = new int[4];
+		private int size;
+
+		void add(int value) {
+			if (size == items.length) {
+				items = Arrays.copyOf(items, size * 2);
+			}
+			items[size++] = value;
+		}
+	}
+
+	private final class Group {
+
+		private final int index;
+		private final long[] categoryIds;
+		private final RankedSet<BookChangedEvent.State> newest = new RankedSet<>(BY_RECENCY, tracked + 1);
+		private final LongAdder size = new LongAdder();
+		private volatile Neighbours neighbours;
+
+		Group(int index, long[] categoryIds) {
+			this.index = index;
+			this.categoryIds = categoryIds;
+		}
+
+		void add(BookChangedEvent.State state) {
+			newest.add(state);
+			size.increment();
+		}
+
+		void remove(BookChangedEvent.State state) {
+			newest.remove(state);
+			size.decrement();
+		}
+	}
+
+	/** Most similar groups first; among equal scores, the group with the newest book first. */
+	private static final class Neighbours {
+
+		private final int[] groups;
+		private final float[] scores;
+
+		Neighbours(int[] groups, float[] scores) {
+			this.groups = groups;
+			this.scores = scores;
+		}
+
+		Neighbours offer(int group, float score, int limit) {
+			int position = 0;
+			while (position < scores.length && scores[position] >= score) {
+				position++;
+			}
+			if (position >= limit) {
+				return this;
+			}
+			int length = Math.min(groups.length + 1, limit);
+			int[] newGroups = new int[length];
+			float[] newScores = new float[length];
+			System.arraycopy(groups, 0, newGroups, 0, position);
+			System.arraycopy(scores, 0, newScores, 0, position);
+			newGroups[position] = group;
+			newScores[position] = score;
+			System.arraycopy(groups, position, newGroups, position + 1, length - position - 1);
+			System.arraycopy(scores, position, newScores, position + 1, length - position - 1);
+			return new Neighbours(newGroups, newScores);
+		}
+	}
+
+	private static final class CategorySet {
+
+		private final long[] ids;
+		private final int hash;
+
+		CategorySet(long[] ids) {
+			this.ids = ids;
+			this.hash = Arrays.hashCode(ids);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof CategorySet && Arrays.equals(ids, ((CategorySet) obj).ids);
+		}
+	}
+}
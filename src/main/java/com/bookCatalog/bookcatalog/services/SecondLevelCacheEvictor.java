@@ -0,0 +1,35 @@
+package com.bookCatalog.bookcatalog.services;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bookCatalog.bookcatalog.config.SecondLevelCacheConfig;
+
+/**
+ * Bulk operations write {@code tb_book_category} with plain SQL, which
+ * Hibernate never sees, so the cached {@code Book.categories} collections of
+ * the touched books are dropped once each chunk commits. Prices are not
+ * cached and need no eviction.
+ */
+@Component
+public class SecondLevelCacheEvictor {
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void booksChanged(BooksChangedEvent event) {
+		if (event.getChange() == BooksChangedEvent.Change.PRICE) {
+			return;
+		}
+		Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		for (Long id : event.getIds()) {
+			cache.evictCollectionData(SecondLevelCacheConfig.BOOK_CATEGORIES_REGION, id);
+		}
+	}
+}
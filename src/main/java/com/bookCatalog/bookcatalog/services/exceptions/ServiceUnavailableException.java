@@ -0,0 +1,16 @@
+package com.bookCatalog.bookcatalog.services.exceptions;
+
+public class ServiceUnavailableException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public ServiceUnavailableException(String msg, long retryAfterSeconds) {
+		super(msg);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -0,0 +1,327 @@
+package com.bookCatalog.bookcatalog.snapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import com.bookCatalog.bookcatalog.repositories.CatalogSource;
+import com.bookCatalog.bookcatalog.services.BookChangedEvent;
+
+/**
+ * A read-only catalog snapshot, memory-mapped from a file written by
+ * {@link #write}. Layout, big-endian:
+ * <pre>
+ * header      magic, version, high-water mark, written at (epoch ms),
+ *             category count, book count, offsets of the next three sections,
+ *             identity of the database the snapshot was taken from
+ * categories  (id, name) per category, in id order
+ * books       fixed-size records in id order: id, price, date seconds and
+ *             nanos, name, image url, first category id and category count
+ * category ids
+ * strings     length-prefixed UTF-8; records refer to them by offset, -1 is null
+ * </pre>
+ * Fixed-size records let {@link #find} binary search by id without an index
+ * of its own. Nothing is copied onto the heap until a record is read.
+ */
+public final class CatalogSnapshot implements CatalogSource {
+
+	private static final int MAGIC = 0x42435331;
+	private static final int VERSION = 2;
+	private static final int HEADER = 64;
+	private static final int CATEGORY = 12;
+	private static final int RECORD = 48;
+	private static final int NULL = -1;
+
+	private final ByteBuffer buffer;
+	private final long mark;
+	private final long database;
+	private final Instant writtenAt;
+	private final int categories;
+	private final int books;
+	private final int booksOffset;
+	private final int categoryIdsOffset;
+	private final int stringsOffset;
+
+	private CatalogSnapshot(ByteBuffer buffer) throws IOException {
+		this.buffer = buffer;
+		if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+			throw new IOException("Not a version " + VERSION + " catalog snapshot");
+		}
+		mark = buffer.getLong(8);
+		writtenAt = Instant.ofEpochMilli(buffer.getLong(16));
+		categories = buffer.getInt(24);
+		books = buffer.getInt(28);
+		booksOffset = (int) buffer.getLong(32);
+		categoryIdsOffset = (int) buffer.getLong(40);
+		stringsOffset = (int) buffer.getLong(48);
+		database = buffer.getLong(56);
+		if (booksOffset != HEADER + categories * CATEGORY || categoryIdsOffset != booksOffset + books * RECORD
+				|| stringsOffset < categoryIdsOffset || stringsOffset > buffer.capacity()) {
+			throw new IOException("Truncated catalog snapshot");
+		}
+	}
+
+	/** Maps the file; the mapping stays valid after the channel is closed. */
+	public static CatalogSnapshot open(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Catalog snapshot larger than 2 GB");
+			}
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			return new CatalogSnapshot(mapped);
+		}
+	}
+
+	/**
+	 * Writes every book of the source to {@code path}, replacing it
+	 * atomically, and tags it with the identity of the database it was read
+	 * from. Books must come in ascending id order. The category ids and
+	 * strings are spooled to temporary files next to the target and appended
+	 * once their offsets are known. Returns the new file, mapped.
+	 */
+	public static CatalogSnapshot write(Path path, long mark, long database, CatalogSource source) throws IOException {
+		Path directory = path.toAbsolutePath().getParent();
+		Files.createDirectories(directory);
+		Path main = Files.createTempFile(directory, "catalog", ".tmp");
+		Path categoryIds = Files.createTempFile(directory, "catalog-categories", ".tmp");
+		Path strings = Files.createTempFile(directory, "catalog-strings", ".tmp");
+		try {
+			Map<Long, String> names = new TreeMap<>(source.findCategoryNames());
+			Writer writer = new Writer(main, categoryIds, strings);
+			try {
+				writer.out.write(new byte[HEADER]);
+				for (Map.Entry<Long, String> entry : names.entrySet()) {
+					writer.out.writeLong(entry.getKey());
+					writer.out.writeInt(writer.string(entry.getValue()));
+				}
+				source.forEachBook(state -> {
+					try {
+						writer.book(state);
+					}
+					catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			}
+			catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+			finally {
+				writer.close();
+			}
+			long booksOffset = HEADER + (long) names.size() * CATEGORY;
+			long categoryIdsOffset = booksOffset + (long) writer.books * RECORD;
+			long stringsOffset = categoryIdsOffset + 8L * writer.categoryIds;
+			long size = stringsOffset + writer.stringBytes;
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("Catalog snapshot larger than 2 GB");
+			}
+			try (FileChannel channel = FileChannel.open(main, StandardOpenOption.WRITE)) {
+				append(channel, categoryIds);
+				append(channel, strings);
+				ByteBuffer header = ByteBuffer.allocate(HEADER);
+				header.putInt(MAGIC).putInt(VERSION).putLong(mark).putLong(System.currentTimeMillis())
+						.putInt(names.size()).putInt(writer.books)
+						.putLong(booksOffset).putLong(categoryIdsOffset).putLong(stringsOffset).putLong(database)
+						.rewind();
+				while (header.hasRemaining()) {
+					channel.write(header, header.position());
+				}
+				channel.force(true);
+			}
+			Files.move(main, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			return open(path);
+		}
+		finally {
+			Files.deleteIfExists(main);
+			Files.deleteIfExists(categoryIds);
+			Files.deleteIfExists(strings);
+		}
+	}
+
+	private static void append(FileChannel channel, Path file) throws IOException {
+		try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+			long position = 0;
+			long size = source.size();
+			while (position < size) {
+				position += source.transferTo(position, size - position, channel.position(channel.size()));
+			}
+		}
+	}
+
+	/** The change log mark the snapshot is consistent with. */
+	public long getMark() {
+		return mark;
+	}
+
+	/** See {@code BookChangeRepository#findDatabaseIdentity}. */
+	public long getDatabase() {
+		return database;
+	}
+
+	public Instant getWrittenAt() {
+		return writtenAt;
+	}
+
+	public int getBooks() {
+		return books;
+	}
+
+	public int getSize() {
+		return buffer.capacity();
+	}
+
+	@Override
+	public void forEachBook(Consumer<BookChangedEvent.State> action) {
+		for (int i = 0; i < books; i++) {
+			action.accept(book(i));
+		}
+	}
+
+	/** The book with the given id, or {@code null} if the snapshot does not have it. */
+	public BookChangedEvent.State find(long id) {
+		int low = 0;
+		int high = books - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			long found = buffer.getLong(booksOffset + middle * RECORD);
+			if (found < id) {
+				low = middle + 1;
+			}
+			else if (found > id) {
+				high = middle - 1;
+			}
+			else {
+				return book(middle);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Map<Long, String> findCategoryNames() {
+		Map<Long, String> names = new TreeMap<>();
+		for (int i = 0; i < categories; i++) {
+			int offset = HEADER + i * CATEGORY;
+			names.put(buffer.getLong(offset), string(buffer.getInt(offset + 8)));
+		}
+		return names;
+	}
+
+	private BookChangedEvent.State book(int index) {
+		int offset = booksOffset + index * RECORD;
+		long id = buffer.getLong(offset);
+		double price = buffer.getDouble(offset + 8);
+		long seconds = buffer.getLong(offset + 16);
+		int nanos = buffer.getInt(offset + 24);
+		String name = string(buffer.getInt(offset + 28));
+		String imgUrl = string(buffer.getInt(offset + 32));
+		int firstCategory = buffer.getInt(offset + 36);
+		int categoryCount = buffer.getInt(offset + 40);
+		Set<Long> categoryIds = new HashSet<>(Math.max(2, categoryCount * 2));
+		for (int i = 0; i < categoryCount; i++) {
+			categoryIds.add(buffer.getLong(categoryIdsOffset + (firstCategory + i) * 8));
+		}
+		return new BookChangedEvent.State(id, name, Double.isNaN(price) ? null : price, imgUrl,
+				seconds == Long.MIN_VALUE ? null : Instant.ofEpochSecond(seconds, nanos), categoryIds);
+	}
+
+	private String string(int reference) {
+		if (reference == NULL) {
+			return null;
+		}
+		int offset = stringsOffset + reference;
+		byte[] bytes = new byte[buffer.getInt(offset)];
+		ByteBuffer view = buffer.duplicate();
+		view.position(offset + 4);
+		view.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static final class Writer {
+
+		private final DataOutputStream out;
+		private final DataOutputStream categoryOut;
+		private final DataOutputStream stringOut;
+		private int books;
+		private int categoryIds;
+		private long stringBytes;
+		private long lastId = Long.MIN_VALUE;
+
+		Writer(Path main, Path categoryIds, Path strings) throws IOException {
+			out = open(main);
+			categoryOut = open(categoryIds);
+			stringOut = open(strings);
+		}
+
+		private static DataOutputStream open(Path path) throws IOException {
+			return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+		}
+
+		void book(BookChangedEvent.State state) throws IOException {
+			if (state.getId() <= lastId) {
+				throw new IOException("Books must be written in ascending id order");
+			}
+			lastId = state.getId();
+			out.writeLong(state.getId());
+			out.writeDouble(state.getPrice() == null ? Double.NaN : state.getPrice());
+			out.writeLong(state.getDate() == null ? Long.MIN_VALUE : state.getDate().getEpochSecond());
+			out.writeInt(state.getDate() == null ? 0 : state.getDate().getNano());
+			out.writeInt(string(state.getName()));
+			out.writeInt(string(state.getImgUrl()));
+			out.writeInt(categoryIds);
+			out.writeInt(state.getCategoryIds().size());
+			out.writeInt(0);
+			for (Long categoryId : state.getCategoryIds()) {
+				categoryOut.writeLong(categoryId);
+				categoryIds++;
+			}
+			books++;
+		}
+
+		int string(String value) throws IOException {
+			if (value == null) {
+				return NULL;
+			}
+			if (stringBytes > Integer.MAX_VALUE) {
+				throw new IOException("Catalog snapshot larger than 2 GB");
+			}
+			int reference = (int) stringBytes;
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			stringOut.writeInt(bytes.length);
+			stringOut.write(bytes);
+			stringBytes += 4 + bytes.length;
+			return reference;
+		}
+
+		void close() throws IOException {
+			try {
+				out.close();
+			}
+			finally {
+				try {
+					categoryOut.close();
+				}
+				finally {
+					stringOut.close();
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package com.bookCatalog.bookcatalog.snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bookCatalog.bookcatalog.dto.CatalogSnapshotDTO;
+import com.bookCatalog.bookcatalog.repositories.BookChangeRepository;
+import com.bookCatalog.bookcatalog.repositories.BookScanRepository;
+import com.bookCatalog.bookcatalog.services.BookChangeLog;
+import com.bookCatalog.bookcatalog.services.BookChangedEvent;
+import com.bookCatalog.bookcatalog.services.CatalogStatistics;
+import com.bookCatalog.bookcatalog.services.RelatedBooks;
+
+/**
+ * Writes the catalog to {@code catalog.snapshot.file} every
+ * {@code catalog.snapshot.write-ms}, and at startup builds the in-memory
+ * views from that file instead of scanning the database.
+ * <p>
+ * A snapshot records the change log's high-water mark read before its scan.
+ * On restore, every book logged after that mark, or less than
+ * {@code catalog.snapshot.replay-margin-ms} before the mark was logged to
+ * cover transactions that were still committing, is read again and applied
+ * as a change from its snapshot state. The margin is a duration rather than
+ * a number of rows because one bulk chunk logs a row per book. Replaying a
+ * book twice is harmless. The views fall back to a full scan when the
+ * snapshot was taken from another database (instances on one host share the
+ * default file), when it is older than the change log keeps its rows (see
+ * {@link BookChangeLog}), when its mark was pruned from the log or the log
+ * is behind it (the database was replaced), when a category changed, or when
+ * the book count disagrees after catching up.
+ */
+@Component
+@Lazy(false)
+@Order(0)
+@ConditionalOnProperty(name = "catalog.snapshot.enabled", matchIfMissing = true)
+public class CatalogSnapshotService implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(CatalogSnapshotService.class);
+
+	@Autowired
+	private BookScanRepository scanRepository;
+
+	@Autowired
+	private BookChangeRepository changeRepository;
+
+	@Autowired
+	private BookChangeLog changeLog;
+
+	@Autowired
+	private CatalogStatistics statistics;
+
+	@Autowired
+	private RelatedBooks relatedBooks;
+
+	@Value("${catalog.snapshot.file:${java.io.tmpdir}/bookcatalog-snapshot.bin}")
+	private String file;
+
+	@Value("${catalog.snapshot.replay-margin-ms:60000}")
+	private long replayMarginMillis;
+
+	private volatile CatalogSnapshotDTO status;
+
+	@Override
+	public void run(ApplicationArguments args) {
+		restore();
+	}
+
+	/** Builds the views from the snapshot file, returning whether it could be used. */
+	public synchronized boolean restore() {
+		Path path = Paths.get(file);
+		if (!Files.isReadable(path)) {
+			return false;
+		}
+		long start = System.nanoTime();
+		CatalogSnapshot snapshot;
+		try {
+			snapshot = CatalogSnapshot.open(path);
+		}
+		catch (IOException e) {
+			log.warn("Ignoring unreadable catalog snapshot {}: {}", path, e.toString());
+			return false;
+		}
+		if (snapshot.getDatabase() != changeRepository.findDatabaseIdentity()) {
+			log.info("Catalog snapshot {} was taken from another database, scanning the database instead", path);
+			return false;
+		}
+		if (snapshot.getWrittenAt().isBefore(Instant.now().minusMillis(changeLog.getRetentionMillis()))) {
+			log.info("Catalog snapshot {} is older than the change log, scanning the database instead", path);
+			return false;
+		}
+		if (changeRepository.findHighWaterMark() < snapshot.getMark()) {
+			log.info("Catalog snapshot {} is ahead of the change log, scanning the database instead", path);
+			return false;
+		}
+		Instant markedAt = snapshot.getMark() == 0L
+				? Instant.EPOCH
+				: changeRepository.findChangedAt(snapshot.getMark());
+		if (markedAt == null) {
+			log.info("The mark of catalog snapshot {} was pruned from the change log, scanning the database instead",
+					path);
+			return false;
+		}
+		List<Long> changed = changeRepository.findChangedSince(snapshot.getMark(),
+				markedAt.minusMillis(replayMarginMillis));
+		if (changed.contains(null)) {
+			log.info("Categories changed after catalog snapshot {}, scanning the database instead", path);
+			return false;
+		}
+		statistics.reconcile(snapshot);
+		relatedBooks.rebuild(snapshot);
+
+		Map<Long, BookChangedEvent.State> current = new HashMap<>();
+		scanRepository.forEachBook(changed, state -> current.put(state.getId(), state));
+		int replayed = 0;
+		for (Long id : new TreeSet<>(changed)) {
+			BookChangedEvent.State before = snapshot.find(id);
+			BookChangedEvent.State after = current.get(id);
+			if (before != null || after != null) {
+				BookChangedEvent event = new BookChangedEvent(before, after);
+				statistics.bookChanged(event);
+				relatedBooks.bookChanged(event);
+				replayed++;
+			}
+		}
+		long books = scanRepository.countBooks();
+		if (statistics.books().getCount() != books) {
+			log.warn("Catalog snapshot {} has {} books after catching up, the database {}; scanning the database",
+					path, statistics.books().getCount(), books);
+			statistics.reconcile();
+			relatedBooks.rebuild();
+			return false;
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		status = new CatalogSnapshotDTO(path.toString(), snapshot.getMark(), snapshot.getBooks(),
+				(long) snapshot.getSize(), snapshot.getWrittenAt(), null, true, replayed, millis);
+		log.info("Catalog restored from snapshot {} ({} books, {} changes replayed) in {} ms", path,
+				snapshot.getBooks(), replayed, millis);
+		return true;
+	}
+
+	@Scheduled(fixedDelayString = "${catalog.snapshot.write-ms:600000}",
+			initialDelayString = "${catalog.snapshot.write-ms:600000}")
+	public synchronized CatalogSnapshotDTO write() {
+		Path path = Paths.get(file);
+		long start = System.nanoTime();
+		long mark = changeRepository.findHighWaterMark();
+		CatalogSnapshot snapshot;
+		try {
+			snapshot = CatalogSnapshot.write(path, mark, changeRepository.findDatabaseIdentity(), scanRepository);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		status = new CatalogSnapshotDTO(path.toString(), mark, snapshot.getBooks(), (long) snapshot.getSize(),
+				snapshot.getWrittenAt(), millis, null, null, null);
+		log.debug("Catalog snapshot of {} books written to {} in {} ms", snapshot.getBooks(), path, millis);
+		return status;
+	}
+
+	/** The last snapshot written or restored, {@code null} before either happened. */
+	public CatalogSnapshotDTO status() {
+		return status;
+	}
+}
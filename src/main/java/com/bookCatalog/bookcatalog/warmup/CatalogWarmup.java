@@ -0,0 +1,231 @@
+package com.bookCatalog.bookcatalog.warmup;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.dto.WarmupReportDTO;
+import com.bookCatalog.bookcatalog.instrumentation.BookAccessFrequency;
+import com.bookCatalog.bookcatalog.instrumentation.EndpointTimings;
+import com.bookCatalog.bookcatalog.instrumentation.StatementStatistics;
+import com.bookCatalog.bookcatalog.services.BookDescriptions;
+import com.bookCatalog.bookcatalog.services.BookService;
+import com.bookCatalog.bookcatalog.services.CatalogStatistics;
+import com.bookCatalog.bookcatalog.services.CategoryService;
+import com.bookCatalog.bookcatalog.services.RelatedBooks;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+/**
+ * Runs after every other startup runner and before the application reports
+ * readiness, which Spring Boot only does once runners have returned.
+ * <p>
+ * It builds the in-memory views unless a snapshot was restored, loads every
+ * category and the books listed by {@link HotBookStore} through the services,
+ * then, when a web server is listening, sends
+ * {@code catalog.warmup.requests} requests to the read endpoints from
+ * {@code catalog.warmup.concurrency} threads. That compiles the request path
+ * and opens the connection pool. The phase stops early after
+ * {@code catalog.warmup.max-ms}. Access counts and timings collected meanwhile
+ * are synthetic and are reset at the end.
+ * <p>
+ * Books themselves are not cached, so preloading one leaves behind what is:
+ * its category ids in the second-level cache of {@code Book.categories}, the
+ * categories in that of {@code Category}, and its description in
+ * {@link BookDescriptions}.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@ConditionalOnProperty(name = "catalog.warmup.enabled", matchIfMissing = true)
+public class CatalogWarmup implements ApplicationRunner {
+
+	private static final Logger log = LoggerFactory.getLogger(CatalogWarmup.class);
+
+	private static final int FALLBACK_BOOKS = 20;
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private HotBookStore hotBookStore;
+
+	@Autowired
+	private BookService bookService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private CatalogStatistics statistics;
+
+	@Autowired
+	private RelatedBooks relatedBooks;
+
+	@Autowired
+	private BookAccessFrequency accessFrequency;
+
+	@Autowired
+	private StatementStatistics statementStatistics;
+
+	@Autowired
+	private EndpointTimings endpointTimings;
+
+	@Value("${catalog.warmup.requests:2000}")
+	private int requests;
+
+	@Value("${catalog.warmup.concurrency:8}")
+	private int concurrency;
+
+	@Value("${catalog.warmup.max-ms:30000}")
+	private long maxMillis;
+
+	private volatile WarmupReportDTO report;
+
+	@Override
+	public void run(ApplicationArguments args) throws InterruptedException {
+		long start = System.nanoTime();
+		statistics.initialize();
+		relatedBooks.initialize();
+
+		List<Long> categoryIds = new ArrayList<>();
+		Page<CategoryDTO> categories;
+		int page = 0;
+		do {
+			categories = categoryService.findAllPaged(PageRequest.of(page++, 100));
+			categories.forEach(category -> categoryIds.add(category.getId()));
+		}
+		while (categories.hasNext());
+
+		List<Long> bookIds = hotBookStore.load();
+		if (bookIds.isEmpty()) {
+			bookIds = statistics.top(CatalogStatistics.Ranking.NEWEST, null, FALLBACK_BOOKS).stream()
+					.map(BookDTO::getId).collect(Collectors.toList());
+		}
+		List<Long> found = new ArrayList<>(bookIds.size());
+		for (Long id : bookIds) {
+			try {
+				bookService.findById(id).getDescription();
+				found.add(id);
+			}
+			catch (ResourceNotFoundException e) {
+				// Deleted since the list was saved.
+			}
+		}
+		long preloaded = System.nanoTime();
+
+		int port = context instanceof WebServerApplicationContext
+				? ((WebServerApplicationContext) context).getWebServer().getPort()
+				: -1;
+		int sent = 0;
+		AtomicInteger failed = new AtomicInteger();
+		if (port > 0 && requests > 0 && !found.isEmpty()) {
+			sent = exercise(port, found, categoryIds, failed);
+		}
+		long end = System.nanoTime();
+
+		accessFrequency.reset();
+		statementStatistics.reset();
+		endpointTimings.reset();
+
+		report = new WarmupReportDTO(null, found.size(), TimeUnit.NANOSECONDS.toMillis(preloaded - start), sent,
+				failed.get(), TimeUnit.NANOSECONDS.toMillis(end - preloaded), TimeUnit.NANOSECONDS.toMillis(end - start));
+		log.info("Warmup finished in {} ms: {} hot books and {} categories preloaded in {} ms, {} requests ({} failed) in {} ms",
+				report.getTotalMillis(), found.size(), categoryIds.size(), report.getPreloadMillis(), sent,
+				failed.get(), report.getRequestMillis());
+	}
+
+	/** The last warmup, or {@code null} while it is still running. */
+	public WarmupReportDTO getReport() {
+		return report;
+	}
+
+	private int exercise(int port, List<Long> bookIds, List<Long> categoryIds, AtomicInteger failed)
+			throws InterruptedException {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("warmup-");
+		threadFactory.setDaemon(true);
+		ExecutorService executor = Executors.newFixedThreadPool(concurrency, threadFactory);
+		HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+		String base = "http://localhost:" + port;
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxMillis);
+		AtomicInteger sent = new AtomicInteger();
+		try {
+			for (int i = 0; i < requests; i++) {
+				String path = path(i, bookIds, categoryIds);
+				executor.execute(() -> {
+					if (System.nanoTime() > deadline) {
+						return;
+					}
+					sent.incrementAndGet();
+					HttpRequest request = HttpRequest.newBuilder(URI.create(base + path))
+							.header("Accept", "application/json")
+							.timeout(Duration.ofSeconds(10))
+							.build();
+					try {
+						HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+						if (response.statusCode() >= 400) {
+							failed.incrementAndGet();
+						}
+					}
+					catch (Exception e) {
+						failed.incrementAndGet();
+					}
+				});
+			}
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination(maxMillis + 10_000, TimeUnit.MILLISECONDS);
+		}
+		return sent.get();
+	}
+
+	private static String path(int i, List<Long> bookIds, List<Long> categoryIds) {
+		Long bookId = bookIds.get(i / 9 % bookIds.size());
+		switch (i % 9) {
+		case 0:
+			return "/books?page=" + (i / 9 % 10) + "&size=12";
+		case 1:
+			return "/books/" + bookId;
+		case 2:
+			return "/books/" + bookId + "?fields=id,name,price,imgUrl";
+		case 3:
+			return "/books/" + bookId + "/related";
+		case 4:
+			return "/books/top/newest?size=12";
+		case 5:
+			return "/books/stats";
+		case 6:
+			return "/categories";
+		case 7:
+			return categoryIds.isEmpty() ? "/categories" : "/categories/" + categoryIds.get(i / 9 % categoryIds.size());
+		default:
+			return "/categories/stats";
+		}
+	}
+}
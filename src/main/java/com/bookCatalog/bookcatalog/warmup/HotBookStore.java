@@ -0,0 +1,86 @@
+package com.bookCatalog.bookcatalog.warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bookCatalog.bookcatalog.instrumentation.BookAccessFrequency;
+
+/**
+ * Keeps the ids of the hottest books in {@code catalog.warmup.hot-books-file},
+ * one per line, so the next start can warm up what production traffic was
+ * reading. The file is rewritten every {@code catalog.warmup.persist-ms} and
+ * on shutdown, through a temporary file so a crash never leaves half a list.
+ */
+@Component
+@Lazy(false)
+public class HotBookStore {
+
+	private static final Logger log = LoggerFactory.getLogger(HotBookStore.class);
+
+	@Autowired
+	private BookAccessFrequency accessFrequency;
+
+	@Value("${catalog.warmup.hot-books-file:${java.io.tmpdir}/bookcatalog-hot-books.txt}")
+	private String file;
+
+	@Value("${catalog.warmup.books:1000}")
+	private int books;
+
+	/** The persisted ids, hottest first; empty when nothing was saved yet. */
+	public List<Long> load() {
+		Path path = Paths.get(file);
+		if (!Files.isReadable(path)) {
+			return Collections.emptyList();
+		}
+		try {
+			return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+					.map(String::trim)
+					.filter(line -> !line.isEmpty())
+					.map(Long::valueOf)
+					.limit(books)
+					.collect(Collectors.toList());
+		}
+		catch (IOException | NumberFormatException e) {
+			log.warn("Ignoring unreadable hot books file {}: {}", path, e.toString());
+			return Collections.emptyList();
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${catalog.warmup.persist-ms:300000}",
+			initialDelayString = "${catalog.warmup.persist-ms:300000}")
+	@PreDestroy
+	public void save() {
+		List<Long> ids = accessFrequency.hottestIds(books);
+		if (ids.isEmpty()) {
+			return;
+		}
+		Path path = Paths.get(file).toAbsolutePath();
+		try {
+			Files.createDirectories(path.getParent());
+			Path temporary = Files.createTempFile(path.getParent(), "hot-books", ".tmp");
+			Files.write(temporary, ids.stream().map(String::valueOf).collect(Collectors.toList()),
+					StandardCharsets.UTF_8);
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+			log.warn("Could not save hot books to {}: {}", path, e.toString());
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.bookCatalog.bookcatalog;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.bookCatalog.bookcatalog.services.BookService;
+import com.bookCatalog.bookcatalog.services.CatalogStatistics;
+
+/**
+ * Usa um banco próprio: sem o data.sql o catálogo começa vazio, e o contexto
+ * não pode apagar as tabelas que os outros testes compartilham.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:faststart",
+		"catalog.r2dbc.url=r2dbc:h2:mem:///faststart" })
+@ActiveProfiles({ "test", "fast-start" })
+public class FastStartProfileTests {
+
+	@Autowired
+	private ConfigurableApplicationContext context;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void fastStartShouldSkipSampleDataAndCreateBeansOnDemand() {
+
+		Assertions.assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_book", Long.class));
+		Assertions.assertTrue(context.getBeanFactory().getBeanDefinition("bookResource").isLazyInit());
+		Assertions.assertFalse(context.getBeanFactory().getBeanDefinition("catalogStatistics").isLazyInit());
+		Assertions.assertNotNull(context.getBean(BookService.class));
+		Assertions.assertEquals(0L, context.getBean(CatalogStatistics.class).books().getCount());
+	}
+}
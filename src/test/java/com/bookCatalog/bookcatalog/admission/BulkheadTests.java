@@ -0,0 +1,109 @@
+package com.bookCatalog.bookcatalog.admission;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+import com.bookCatalog.bookcatalog.services.exceptions.ServiceUnavailableException;
+
+public class BulkheadTests {
+
+	private ScheduledThreadPoolExecutor timer;
+	private CountDownLatch release;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		timer = new ScheduledThreadPoolExecutor(1);
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		release.countDown();
+		timer.shutdownNow();
+	}
+
+	@Test
+	public void submitShouldRejectWhenQueueIsFull() throws Exception {
+
+		Bulkhead bulkhead = new Bulkhead("read", true, 1, 1, 10_000L, 1L, timer);
+
+		bulkhead.submit(this::block);
+		bulkhead.submit(this::block);
+		CompletableFuture<Object> rejected = bulkhead.submit(this::block);
+
+		assertFailsWith(ServiceUnavailableException.class, rejected);
+		Assertions.assertEquals(1L, bulkhead.snapshot().getRejected());
+		bulkhead.shutdown();
+	}
+
+	@Test
+	public void submitShouldFailWhenTimeoutExpires() throws Exception {
+
+		Bulkhead bulkhead = new Bulkhead("read", true, 1, 1, 50L, 1L, timer);
+
+		CompletableFuture<Object> result = bulkhead.submit(this::block);
+
+		assertFailsWith(ServiceUnavailableException.class, result);
+		// O contador é incrementado pela tarefa de timeout depois de falhar o resultado;
+		// o timer tem uma só thread, então esta tarefa só roda quando aquela terminou.
+		timer.submit(() -> { }).get(5, TimeUnit.SECONDS);
+		Assertions.assertEquals(1L, bulkhead.snapshot().getTimedOut());
+		bulkhead.shutdown();
+	}
+
+	@Test
+	public void submitUntimedShouldWaitForTheTaskPastTheTimeout() throws Exception {
+
+		Bulkhead bulkhead = new Bulkhead("export", true, 1, 1, 50L, 1L, timer);
+
+		CompletableFuture<Object> result = bulkhead.submitUntimed(this::block);
+		Thread.sleep(200L);
+
+		Assertions.assertFalse(result.isDone());
+		release.countDown();
+		Assertions.assertNull(result.get(5, TimeUnit.SECONDS));
+		Assertions.assertEquals(0L, bulkhead.snapshot().getTimedOut());
+		bulkhead.shutdown();
+	}
+
+	@Test
+	public void submitShouldRunOnCallerWhenAsyncIsDisabled() throws Exception {
+
+		Bulkhead bulkhead = new Bulkhead("read", false, 1, 1, 50L, 1L, timer);
+		Thread caller = Thread.currentThread();
+
+		CompletableFuture<Thread> result = bulkhead.submit(Thread::currentThread);
+		CompletableFuture<Object> failed = bulkhead.submit(() -> {
+			throw new ResourceNotFoundException("Entity not found");
+		});
+
+		Assertions.assertSame(caller, result.getNow(null));
+		assertFailsWith(ResourceNotFoundException.class, failed);
+		bulkhead.shutdown();
+	}
+
+	private Object block() {
+		try {
+			release.await();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	private static void assertFailsWith(Class<? extends Throwable> type, CompletableFuture<?> future) {
+		ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+				() -> future.get(5, TimeUnit.SECONDS));
+		Assertions.assertTrue(type.isInstance(e.getCause()), e.getCause().toString());
+	}
+}
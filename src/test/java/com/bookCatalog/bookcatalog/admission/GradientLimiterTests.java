@@ -0,0 +1,67 @@
+package com.bookCatalog.bookcatalog.admission;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GradientLimiterTests {
+
+	private GradientLimiter limiter;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		limiter = new GradientLimiter("read", 10, 2, 100);
+	}
+
+	@Test
+	public void tryAcquireShouldRejectWhenLimitIsReached() {
+
+		for (int i = 0; i < 10; i++) {
+			Assertions.assertTrue(limiter.tryAcquire());
+		}
+
+		Assertions.assertFalse(limiter.tryAcquire());
+		Assertions.assertEquals(1L, limiter.snapshot().getRejected());
+	}
+
+	@Test
+	public void limitShouldShrinkWhenLatencyRises() {
+
+		saturate(1_000_000L, 200);
+		int before = limiter.getLimit();
+
+		saturate(20_000_000L, 50);
+
+		Assertions.assertTrue(limiter.getLimit() < before);
+	}
+
+	@Test
+	public void limitShouldGrowWhileLatencyIsStable() {
+
+		saturate(1_000_000L, 50);
+
+		Assertions.assertTrue(limiter.getLimit() > 10);
+	}
+
+	@Test
+	public void limitShouldBackOffWhenRequestsAreDropped() {
+
+		limiter.tryAcquire();
+		limiter.release(1_000_000L, true);
+
+		Assertions.assertTrue(limiter.getLimit() < 10);
+		Assertions.assertEquals(1L, limiter.snapshot().getDropped());
+	}
+
+	private void saturate(long rttNanos, int rounds) {
+		for (int round = 0; round < rounds; round++) {
+			int permits = 0;
+			while (limiter.tryAcquire()) {
+				permits++;
+			}
+			for (int i = 0; i < permits; i++) {
+				limiter.release(rttNanos, false);
+			}
+		}
+	}
+}
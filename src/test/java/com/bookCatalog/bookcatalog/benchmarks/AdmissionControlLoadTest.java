@@ -0,0 +1,93 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.bookCatalog.bookcatalog.admission.GradientLimiter;
+
+/**
+ * Offers twice the capacity of a simulated connection pool at a constant
+ * arrival rate, once unguarded and once behind a {@link GradientLimiter},
+ * and prints the latency of the requests that were served. Latency is taken
+ * from each request's intended start time, so queueing is not hidden.
+ *
+ * Run with {@code main}; arguments: pool size, service time (ms), offered
+ * rate (req/s), duration (s).
+ */
+public class AdmissionControlLoadTest {
+
+	public static void main(String[] args) throws Exception {
+		int poolSize = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		long serviceMs = args.length > 1 ? Long.parseLong(args[1]) : 10;
+		int rate = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+		int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+		System.out.printf("pool=%d service=%dms capacity=%d req/s offered=%d req/s%n",
+				poolSize, serviceMs, poolSize * 1000 / serviceMs, rate);
+		run("unguarded", null, poolSize, serviceMs, rate, seconds);
+		run("gradient", new GradientLimiter("read", 20, 4, 200), poolSize, serviceMs, rate, seconds);
+	}
+
+	private static void run(String label, GradientLimiter limiter, int poolSize, long serviceMs, int rate,
+			int seconds) throws InterruptedException {
+		Semaphore pool = new Semaphore(poolSize, true);
+		ExecutorService workers = Executors.newFixedThreadPool(200);
+		Histogram served = new ConcurrentHistogram(3);
+		Histogram shed = new ConcurrentHistogram(3);
+		AtomicLong rejected = new AtomicLong();
+
+		long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+		long start = System.nanoTime();
+		long total = (long) rate * seconds;
+		for (long i = 0; i < total; i++) {
+			long intended = start + i * interval;
+			long wait = intended - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			workers.execute(() -> {
+				if (limiter != null && !limiter.tryAcquire()) {
+					rejected.incrementAndGet();
+					shed.recordValue((System.nanoTime() - intended) / 1000);
+					return;
+				}
+				long admitted = System.nanoTime();
+				boolean failed = false;
+				try {
+					pool.acquire();
+					try {
+						Thread.sleep(serviceMs);
+					}
+					finally {
+						pool.release();
+					}
+				}
+				catch (InterruptedException e) {
+					failed = true;
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					if (limiter != null) {
+						limiter.release(System.nanoTime() - admitted, failed);
+					}
+				}
+				served.recordValue((System.nanoTime() - intended) / 1000);
+			});
+		}
+		workers.shutdown();
+		workers.awaitTermination(10, TimeUnit.MINUTES);
+
+		System.out.printf("%-10s served=%d rejected=%d p50=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms "
+				+ "rejection p99=%.2fms%n", label, served.getTotalCount(), rejected.get(),
+				served.getValueAtPercentile(50) / 1000.0, served.getValueAtPercentile(99) / 1000.0,
+				served.getValueAtPercentile(99.9) / 1000.0, served.getMaxValue() / 1000.0,
+				shed.getValueAtPercentile(99) / 1000.0);
+	}
+}
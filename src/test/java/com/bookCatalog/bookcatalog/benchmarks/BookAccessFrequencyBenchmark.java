@@ -0,0 +1,74 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.bookCatalog.bookcatalog.instrumentation.BookAccessFrequency;
+
+/**
+ * Cost of {@link BookAccessFrequency#record} with the default sketch size,
+ * over a precomputed Zipf-distributed stream of ids from a 1M book catalog
+ * so the hot set keeps changing candidates as it would in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookAccessFrequencyBenchmark {
+
+	private static final int STREAM = 1 << 20;
+	private static final int BOOKS = 1_000_000;
+
+	private BookAccessFrequency frequency;
+	private long[] ids;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		frequency = new BookAccessFrequency(4, 65536, 100);
+		double[] cumulative = new double[BOOKS];
+		double total = 0;
+		for (int i = 0; i < BOOKS; i++) {
+			total += 1.0 / (i + 1);
+			cumulative[i] = total;
+		}
+		Random random = new Random(42);
+		ids = new long[STREAM];
+		for (int i = 0; i < STREAM; i++) {
+			int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+			ids[i] = 1 + (rank < 0 ? -rank - 1 : rank);
+		}
+	}
+
+	@Benchmark
+	public void record() {
+		frequency.record(ids[next++ & (STREAM - 1)]);
+	}
+
+	@Benchmark
+	public int estimate() {
+		return frequency.estimate(ids[next++ & (STREAM - 1)]);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BookAccessFrequencyBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,124 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
+import com.bookCatalog.bookcatalog.entities.Book;
+import com.bookCatalog.bookcatalog.entities.Category;
+import com.bookCatalog.bookcatalog.repositories.CategoryRepository;
+import com.bookCatalog.bookcatalog.services.BookService;
+import com.bookCatalog.bookcatalog.services.DescriptionCompression;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * CPU cost of the per-book work done on every request: building a
+ * {@link BookDTO} from its entity, writing it as JSON, and copying a DTO onto
+ * an entity as {@code insert}/{@code update} do. Page serialization is
+ * covered by {@link BookDTOFormatBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookDTOBenchmark {
+
+	private static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+			+ "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+			+ "ullamco laboris nisi ut aliquip ex ea commodo consequat.";
+
+	private Book book;
+	private BookDTO dto;
+	private ObjectMapper mapper;
+	private BookService service;
+	private MethodHandle copyDtoToEntity;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		book = new Book(1L, "The Lord of the Rings", DESCRIPTION, 90.5, "https://img.com/1-big.jpg",
+				Instant.parse("2020-07-13T20:50:07.12345Z"));
+		for (long id = 1; id <= 3; id++) {
+			book.getCategories().add(new Category(id, "Category " + id));
+		}
+		dto = new BookDTO(book, book.getCategories());
+
+		mapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.filters(BookFieldSet.ALL.getFilters())
+				.build();
+
+		service = new BookService();
+		ReflectionTestUtils.setField(service, "categoryRepository", categoryReferences());
+		ReflectionTestUtils.setField(service, "compression", new DescriptionCompression());
+		copyDtoToEntity = MethodHandles.privateLookupIn(BookService.class, MethodHandles.lookup())
+				.findVirtual(BookService.class, "copyDtoToEntity",
+						MethodType.methodType(void.class, BookDTO.class, Book.class));
+	}
+
+	/** Stands in for {@code findById}, as if every category the DTO lists were already loaded. */
+	private static CategoryRepository categoryReferences() {
+		return (CategoryRepository) Proxy.newProxyInstance(CategoryRepository.class.getClassLoader(),
+				new Class<?>[] { CategoryRepository.class }, (proxy, method, args) -> {
+					if (method.getName().equals("findById")) {
+						Long id = (Long) args[0];
+						return Optional.of(new Category(id, "Category " + id));
+					}
+					if (method.getName().equals("toString")) {
+						return "CategoryRepository references";
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	@Benchmark
+	public BookDTO fromBook() {
+		return new BookDTO(book);
+	}
+
+	@Benchmark
+	public BookDTO fromBookWithCategories() {
+		return new BookDTO(book, book.getCategories());
+	}
+
+	@Benchmark
+	public byte[] serialize() throws Exception {
+		return mapper.writeValueAsBytes(dto);
+	}
+
+	@Benchmark
+	public Book copyDtoToEntity() throws Throwable {
+		Book entity = new Book();
+		copyDtoToEntity.invokeExact(service, dto, entity);
+		return entity;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BookDTOBenchmark.class.getSimpleName()).build()).run();
+	}
+}
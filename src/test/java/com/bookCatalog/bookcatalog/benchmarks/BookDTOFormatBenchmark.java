@@ -0,0 +1,112 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Compares JSON, CBOR and Smile for a page of {@link BookDTO}s, encoding the
+ * {@code Page} the way {@code GET /books} does and decoding its content.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookDTOFormatBenchmark {
+
+	private static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+			+ "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+			+ "ullamco laboris nisi ut aliquip ex ea commodo consequat. Duis aute irure dolor in reprehenderit in "
+			+ "voluptate velit esse cillum dolore eu fugiat nulla pariatur. Excepteur sint occaecat cupidatat non "
+			+ "proident, sunt in culpa qui officia deserunt mollit anim id est laborum.";
+
+	@Param({ "json", "cbor", "smile" })
+	private String format;
+
+	@Param({ "12", "100" })
+	private int pageSize;
+
+	private ObjectMapper mapper;
+	private PageImpl<BookDTO> page;
+	private byte[] encodedContent;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		mapper = mapper(format);
+		List<BookDTO> content = new ArrayList<>(pageSize);
+		for (long i = 1; i <= pageSize; i++) {
+			BookDTO dto = new BookDTO(i, "Book " + i, DESCRIPTION, 10.0 + i, "https://img.com/" + i + "-big.jpg",
+					Instant.parse("2020-07-13T20:50:07.12345Z").plusSeconds(i));
+			dto.getCategories().add(new CategoryDTO(1 + i % 3, "Category " + (1 + i % 3)));
+			content.add(dto);
+		}
+		page = new PageImpl<>(content, PageRequest.of(0, pageSize), 25_000);
+		encodedContent = mapper.writeValueAsBytes(content);
+		System.out.printf("%n%s page of %d: %d bytes%n", format, pageSize, mapper.writeValueAsBytes(page).length);
+	}
+
+	@Benchmark
+	public byte[] encodePage() throws Exception {
+		return mapper.writeValueAsBytes(page);
+	}
+
+	@Benchmark
+	public BookDTO[] decodeContent() throws Exception {
+		return mapper.readValue(encodedContent, BookDTO[].class);
+	}
+
+	private static ObjectMapper mapper(String format) {
+		JsonFactory factory;
+		switch (format) {
+		case "cbor":
+			factory = new CBORFactory();
+			break;
+		case "smile":
+			factory = new SmileFactory();
+			break;
+		default:
+			factory = new JsonFactory();
+		}
+		return Jackson2ObjectMapperBuilder.json()
+				.factory(factory)
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.filters(BookFieldSet.ALL.getFilters())
+				.build();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BookDTOFormatBenchmark.class.getSimpleName()).build()).run();
+	}
+}
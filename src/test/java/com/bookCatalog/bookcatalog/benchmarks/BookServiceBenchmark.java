@@ -0,0 +1,91 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bookCatalog.bookcatalog.BookcatalogApplication;
+import com.bookCatalog.bookcatalog.datagen.CatalogGenerator;
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.services.BookService;
+
+/**
+ * {@link BookService#findById} and {@link BookService#findAllPaged} against
+ * an in-memory H2 catalog of 10k, 100k and 1M books. Each trial boots the
+ * application without a web server on its own database and seeds it before
+ * measuring; ids and pages are drawn uniformly over the whole catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BookServiceBenchmark {
+
+	private static final int PAGE_SIZE = 12;
+
+	@Param({ "10000", "100000", "1000000" })
+	private int rows;
+
+	private ConfigurableApplicationContext context;
+	private BookService service;
+	private long books;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(BookcatalogApplication.class)
+				.web(WebApplicationType.NONE)
+				.run("--spring.datasource.url=jdbc:h2:mem:bench" + rows, "--catalog.timing.enabled=false",
+						"--catalog.sql.stats.enabled=false", "--catalog.admission.enabled=false",
+						"--logging.level.root=WARN");
+		service = context.getBean(BookService.class);
+		new CatalogGenerator(context.getBean(DataSource.class)).topUp(rows, 30, 42L);
+		books = context.getBean(JdbcTemplate.class).queryForObject("SELECT COUNT(*) FROM tb_book", Long.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	/** Reads the description too, as serializing the response would. */
+	@Benchmark
+	public String findById() {
+		return service.findById(ThreadLocalRandom.current().nextLong(1, books + 1)).getDescription();
+	}
+
+	@Benchmark
+	public Page<BookDTO> findAllPaged() {
+		int page = ThreadLocalRandom.current().nextInt((int) (books / PAGE_SIZE));
+		return service.findAllPaged(PageRequest.of(page, PAGE_SIZE));
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(BookServiceBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -0,0 +1,253 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bookCatalog.bookcatalog.BookcatalogApplication;
+import com.bookCatalog.bookcatalog.datagen.CatalogGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Boots the application on a random port with a catalog of the given size
+ * and offers a fixed mix of catalog requests at a constant arrival rate.
+ * Each request is timed from the moment it was scheduled to be sent, not
+ * from when it was actually sent, so a stalled server shows up as latency
+ * instead of as fewer requests (no coordinated omission).
+ *
+ * Prints throughput and p50/p99/p99.9 per endpoint and writes the same
+ * report to {@code target/load-report.json}. Requests shed with 503 are
+ * counted separately from errors.
+ *
+ * Run with {@code main}; arguments: books, rate (req/s), duration (s).
+ */
+public class CatalogLoadTest {
+
+	private static final int CATEGORIES = 30;
+
+	private final HttpClient client;
+	private final String base;
+	private final long books;
+	private final ObjectMapper mapper = new ObjectMapper();
+	private final ConcurrentLinkedQueue<Long> created = new ConcurrentLinkedQueue<>();
+	private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+	private final List<String> mix = new ArrayList<>();
+
+	CatalogLoadTest(HttpClient client, String base, long books) {
+		this.client = client;
+		this.base = base;
+		this.books = books;
+		weight("GET /books", 30);
+		weight("GET /books/{id}", 40);
+		weight("POST /books", 6);
+		weight("PUT /books/{id}", 6);
+		weight("DELETE /books/{id}", 4);
+		weight("GET /categories", 7);
+		weight("GET /categories/{id}", 7);
+	}
+
+	private void weight(String name, int percent) {
+		endpoints.put(name, new Endpoint());
+		for (int i = 0; i < percent; i++) {
+			mix.add(name);
+		}
+	}
+
+	public static void main(String[] args) throws Exception {
+		int books = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+		int rate = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(BookcatalogApplication.class)
+				.run("--server.port=0", "--logging.level.root=WARN");
+		ExecutorService clientThreads = Executors.newFixedThreadPool(4);
+		try {
+			new CatalogGenerator(context.getBean(DataSource.class)).topUp(books, CATEGORIES, 42L);
+			long seeded = context.getBean(JdbcTemplate.class)
+					.queryForObject("SELECT COUNT(*) FROM tb_book", Long.class);
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			HttpClient client = HttpClient.newBuilder()
+					.version(HttpClient.Version.HTTP_1_1)
+					.executor(clientThreads)
+					.build();
+
+			System.out.printf("books=%d rate=%d req/s duration=%ds%n", seeded, rate, seconds);
+			new CatalogLoadTest(client, "http://localhost:" + port, seeded).run(rate, Math.min(5, seconds), false);
+			CatalogLoadTest test = new CatalogLoadTest(client, "http://localhost:" + port, seeded);
+			test.run(rate, seconds, true);
+		}
+		finally {
+			clientThreads.shutdown();
+			context.close();
+		}
+	}
+
+	void run(int rate, int seconds, boolean report) throws Exception {
+		SplittableRandom random = new SplittableRandom(7);
+		long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+		long total = (long) rate * seconds;
+		List<CompletableFuture<?>> inflight = new ArrayList<>();
+		long start = System.nanoTime();
+		for (long i = 0; i < total; i++) {
+			long intended = start + i * interval;
+			long wait = intended - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			String name = mix.get(random.nextInt(mix.size()));
+			Long deleteId = null;
+			if (name.equals("DELETE /books/{id}")) {
+				// Only books inserted by this run are deleted, so reads and updates never hit a gap.
+				deleteId = created.poll();
+				if (deleteId == null) {
+					name = "POST /books";
+				}
+			}
+			inflight.add(send(name, request(name, random, deleteId), intended));
+			if (inflight.size() >= 10_000) {
+				inflight.removeIf(CompletableFuture::isDone);
+			}
+		}
+		CompletableFuture.allOf(inflight.toArray(new CompletableFuture<?>[0])).get(2, TimeUnit.MINUTES);
+		long elapsed = System.nanoTime() - start;
+		if (report) {
+			report(elapsed);
+		}
+	}
+
+	private CompletableFuture<?> send(String name, HttpRequest request, long intended) {
+		Endpoint endpoint = endpoints.get(name);
+		return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+				.handle((response, e) -> {
+					long micros = (System.nanoTime() - intended) / 1000;
+					int status = e == null ? response.statusCode() : -1;
+					if (status == 503) {
+						endpoint.shed.increment();
+					}
+					else if (status < 200 || status >= 300) {
+						endpoint.errors.increment();
+					}
+					else {
+						endpoint.latency.recordValue(micros);
+						if (name.equals("POST /books")) {
+							remember(response.body());
+						}
+					}
+					return null;
+				});
+	}
+
+	private HttpRequest request(String name, SplittableRandom random, Long deleteId) {
+		long id = 1 + random.nextLong(books);
+		HttpRequest.Builder builder;
+		switch (name) {
+		case "GET /books":
+			builder = get("/books?page=" + random.nextLong(books / 12) + "&size=12");
+			break;
+		case "GET /books/{id}":
+			builder = get("/books/" + id);
+			break;
+		case "POST /books":
+			builder = json("/books", "POST", random);
+			break;
+		case "PUT /books/{id}":
+			builder = json("/books/" + id, "PUT", random);
+			break;
+		case "DELETE /books/{id}":
+			builder = HttpRequest.newBuilder(URI.create(base + "/books/" + deleteId)).DELETE();
+			break;
+		case "GET /categories":
+			builder = get("/categories");
+			break;
+		default:
+			builder = get("/categories/" + (1 + random.nextInt(CATEGORIES)));
+		}
+		return builder.timeout(Duration.ofSeconds(30)).build();
+	}
+
+	private HttpRequest.Builder get(String path) {
+		return HttpRequest.newBuilder(URI.create(base + path)).header("Accept", "application/json").GET();
+	}
+
+	private HttpRequest.Builder json(String path, String method, SplittableRandom random) {
+		ObjectNode body = mapper.createObjectNode();
+		body.put("name", "Load test book " + random.nextInt(1_000_000));
+		body.put("description", "Written by the load generator.");
+		body.put("price", 10 + random.nextInt(5_000));
+		body.put("imgUrl", "https://img.com/load.jpg");
+		body.put("date", "2020-07-14T10:00:00Z");
+		body.putArray("categories").addObject().put("id", 1 + random.nextInt(CATEGORIES));
+		return HttpRequest.newBuilder(URI.create(base + path))
+				.header("Content-Type", "application/json")
+				.header("Accept", "application/json")
+				.method(method, HttpRequest.BodyPublishers.ofString(body.toString()));
+	}
+
+	private void remember(byte[] body) {
+		try {
+			created.add(mapper.readTree(body).path("id").asLong());
+		}
+		catch (Exception e) {
+			// Only used to pick delete targets.
+		}
+	}
+
+	private void report(long elapsedNanos) throws Exception {
+		double seconds = elapsedNanos / 1e9;
+		ObjectNode json = mapper.createObjectNode();
+		System.out.printf("%-22s %8s %7s %6s %6s %9s %9s %9s %9s%n", "endpoint", "ok", "shed", "errors", "rps",
+				"p50 ms", "p99 ms", "p99.9 ms", "max ms");
+		endpoints.forEach((name, endpoint) -> {
+			Histogram h = endpoint.latency;
+			double rps = h.getTotalCount() / seconds;
+			System.out.printf("%-22s %8d %7d %6d %6.0f %9.2f %9.2f %9.2f %9.2f%n", name, h.getTotalCount(),
+					endpoint.shed.sum(), endpoint.errors.sum(), rps, h.getValueAtPercentile(50) / 1000.0,
+					h.getValueAtPercentile(99) / 1000.0, h.getValueAtPercentile(99.9) / 1000.0,
+					h.getMaxValue() / 1000.0);
+			ObjectNode node = json.putObject(name);
+			node.put("ok", h.getTotalCount());
+			node.put("shed", endpoint.shed.sum());
+			node.put("errors", endpoint.errors.sum());
+			node.put("rps", rps);
+			node.put("p50Ms", h.getValueAtPercentile(50) / 1000.0);
+			node.put("p99Ms", h.getValueAtPercentile(99) / 1000.0);
+			node.put("p999Ms", h.getValueAtPercentile(99.9) / 1000.0);
+			node.put("maxMs", h.getMaxValue() / 1000.0);
+		});
+		File file = new File("target/load-report.json");
+		file.getParentFile().mkdirs();
+		mapper.writerWithDefaultPrettyPrinter().writeValue(file, json);
+		System.out.println("Report written to " + file.getPath());
+	}
+
+	private static final class Endpoint {
+
+		private final Histogram latency = new ConcurrentHistogram(3);
+		private final LongAdder shed = new LongAdder();
+		private final LongAdder errors = new LongAdder();
+	}
+}
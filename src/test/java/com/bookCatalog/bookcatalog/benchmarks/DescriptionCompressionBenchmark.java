@@ -0,0 +1,141 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.bookCatalog.bookcatalog.BookcatalogApplication;
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
+import com.bookCatalog.bookcatalog.dto.DescriptionCompressionDTO;
+import com.bookCatalog.bookcatalog.services.BookService;
+import com.bookCatalog.bookcatalog.services.DescriptionCompression;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Size of {@code tb_book} and list query times with descriptions stored as
+ * text, then after {@link DescriptionCompression#migrate} compressed them.
+ * Uses a file-backed H2 catalog filled by the generator, so the table size is
+ * what the database reports; H2 keeps long text out of the row, which that
+ * size does not include, so the description columns are reported as well.
+ *
+ * A list query reads pages of 50 books ordered by id and writes them as JSON,
+ * once as entities, descriptions included, and once projected without
+ * descriptions. Medians of several passes after one warm-up pass.
+ *
+ * Prints a table and writes it to {@code target/compression-report.json}.
+ *
+ * Run with {@code main}; arguments: books (20000 by default), passes (5).
+ */
+public class DescriptionCompressionBenchmark {
+
+	private static final int PAGE_SIZE = 50;
+	private static final int PAGES = 100;
+	private static final BookFieldSet WITHOUT_DESCRIPTION = BookFieldSet.parse("id,name,price,imgUrl,date");
+
+	public static void main(String[] args) throws Exception {
+		int books = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+		int passes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		Path directory = Paths.get("target", "compression-benchmark");
+		delete(directory);
+		String url = "jdbc:h2:file:" + directory.resolve("catalog").toAbsolutePath();
+
+		ObjectMapper report = new ObjectMapper();
+		ObjectNode json = report.createObjectNode();
+		json.put("books", books);
+		System.out.printf("%-11s %8s %12s %14s %12s %13s %13s%n", "storage", "rows z", "table KB",
+				"text chars KB", "z bytes KB", "list ms", "lean list ms");
+		run(json.putObject("text"), url, books, passes, false);
+		run(json.putObject("compressed"), url, books, passes, true);
+
+		File file = new File("target/compression-report.json");
+		file.getParentFile().mkdirs();
+		report.writerWithDefaultPrettyPrinter().writeValue(file, json);
+		System.out.println("Report written to " + file.getPath());
+	}
+
+	private static void run(ObjectNode node, String url, int books, int passes, boolean compressed) throws Exception {
+		ConfigurableApplicationContext context = SpringApplication.run(BookcatalogApplication.class,
+				"--spring.profiles.active=test", "--spring.main.web-application-type=none",
+				"--spring.datasource.url=" + url, "--spring.jpa.hibernate.ddl-auto=update",
+				"--spring.datasource.initialization-mode=never", "--catalog.generator.books=" + books,
+				"--catalog.warmup.enabled=false", "--catalog.snapshot.enabled=false",
+				"--catalog.sql.stats.enabled=false", "--catalog.descriptions.compression.enabled=" + compressed,
+				"--logging.level.root=WARN");
+		try {
+			DescriptionCompression compression = context.getBean(DescriptionCompression.class);
+			if (compressed) {
+				DescriptionCompressionDTO migrated = compression.migrate();
+				node.put("migrated", migrated.getMigrated());
+				node.put("migrationMs", migrated.getMillis());
+			}
+			BookService service = context.getBean(BookService.class);
+			ObjectMapper mapper = context.getBean(ObjectMapper.class);
+			long list = time(passes, page -> mapper.writeValueAsBytes(
+					service.findAllPaged(PageRequest.of(page, PAGE_SIZE, Sort.by("id"))).getContent()));
+			long lean = time(passes, page -> {
+				List<BookDTO> content = service.findAllPaged(PageRequest.of(page, PAGE_SIZE, Sort.by("id")),
+						WITHOUT_DESCRIPTION).getContent();
+				mapper.writer(WITHOUT_DESCRIPTION.getFilters()).writeValueAsBytes(content);
+			});
+			DescriptionCompressionDTO statistics = compression.statistics();
+			System.out.printf("%-11s %8d %12s %14d %12d %13d %13d%n", compressed ? "compressed" : "text",
+					statistics.getCompressedRows(),
+					statistics.getTableBytes() == null ? "-" : Long.toString(statistics.getTableBytes() / 1024),
+					statistics.getTextChars() / 1024, statistics.getCompressedBytes() / 1024, list, lean);
+			node.put("compressedRows", statistics.getCompressedRows());
+			node.put("tableBytes", statistics.getTableBytes());
+			node.put("textChars", statistics.getTextChars());
+			node.put("compressedBytes", statistics.getCompressedBytes());
+			node.put("listMs", list);
+			node.put("leanListMs", lean);
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	/** Median milliseconds to read {@link #PAGES} pages, after one warm-up pass. */
+	private static long time(int passes, Page page) throws Exception {
+		long[] samples = new long[passes];
+		for (int pass = -1; pass < passes; pass++) {
+			long start = System.nanoTime();
+			for (int i = 0; i < PAGES; i++) {
+				page.read(i);
+			}
+			if (pass >= 0) {
+				samples[pass] = (System.nanoTime() - start) / 1_000_000;
+			}
+		}
+		Arrays.sort(samples);
+		return samples[passes / 2];
+	}
+
+	private static void delete(Path directory) throws IOException {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	private interface Page {
+
+		void read(int page) throws Exception;
+	}
+}
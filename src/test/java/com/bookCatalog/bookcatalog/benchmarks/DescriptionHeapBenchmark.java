@@ -0,0 +1,97 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import com.bookCatalog.bookcatalog.services.DescriptionStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Heap used after a full GC by the descriptions of a generated catalog, held
+ * as a {@code HashMap<Long, String>} and in a {@link DescriptionStore}, scaled
+ * to a million books. Descriptions are words from a small vocabulary with
+ * log-normal lengths around a 600 character median, so compression sees text
+ * rather than random bytes; the same seed gives both layouts the same text.
+ *
+ * Prints a table and writes it to {@code target/description-heap-report.json}.
+ *
+ * Run with {@code main}; argument: books (200000 by default), with a heap
+ * large enough for the map, such as {@code -Xmx2g}.
+ */
+public class DescriptionHeapBenchmark {
+
+	private static final String[] WORDS = ("the a of and to in novel story history author reader world life war "
+			+ "love family city night journey secret first new edition classic guide science art music king "
+			+ "queen house river mountain light dark time years after before young old lost found").split(" ");
+
+	public static void main(String[] args) throws Exception {
+		int books = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		double scale = 1_000_000.0 / books;
+
+		long baseline = usedHeap();
+		DescriptionStore store = new DescriptionStore(16 << 20, Long.MAX_VALUE, books);
+		Random random = new Random(42);
+		for (long id = 1; id <= books; id++) {
+			if (!store.put(id, description(random))) {
+				throw new IllegalStateException("Description " + id + " did not fit");
+			}
+		}
+		long storeHeap = usedHeap() - baseline;
+
+		baseline = usedHeap();
+		long textBytes = 0;
+		Map<Long, String> map = new HashMap<>();
+		random = new Random(42);
+		for (long id = 1; id <= books; id++) {
+			String description = description(random);
+			textBytes += description.length();
+			map.put(id, description);
+		}
+		long mapHeap = usedHeap() - baseline;
+		if (map.size() != store.size()) {
+			throw new IllegalStateException("Layouts hold different catalogs");
+		}
+
+		ObjectMapper mapper = new ObjectMapper();
+		ObjectNode json = mapper.createObjectNode();
+		json.put("books", books);
+		json.put("textBytesPerMillion", (long) (textBytes * scale));
+		System.out.printf("%,d books, %.1f MB of text per million%n", books, textBytes * scale / 1048576);
+		System.out.printf("%-18s %12s %14s%n", "layout", "heap MB/1M", "off-heap MB/1M");
+		report(json.putObject("hashMap"), "HashMap<Long,String>", mapHeap * scale, 0);
+		report(json.putObject("descriptionStore"), "DescriptionStore", storeHeap * scale,
+				store.getOffHeapBytes() * scale);
+		json.put("storeLiveBytesPerMillion", (long) (store.getLiveBytes() * scale));
+
+		File file = new File("target/description-heap-report.json");
+		file.getParentFile().mkdirs();
+		mapper.writerWithDefaultPrettyPrinter().writeValue(file, json);
+		System.out.println("Report written to " + file.getPath());
+	}
+
+	private static void report(ObjectNode node, String layout, double heap, double offHeap) {
+		System.out.printf("%-18s %12.1f %14.1f%n", layout, heap / 1048576, offHeap / 1048576);
+		node.put("heapBytesPerMillion", (long) heap);
+		node.put("offHeapBytesPerMillion", (long) offHeap);
+	}
+
+	private static String description(Random random) {
+		int length = (int) Math.min(20_000, Math.exp(Math.log(600) + 0.8 * random.nextGaussian()));
+		StringBuilder text = new StringBuilder(length + 16);
+		while (text.length() < length) {
+			text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+		}
+		return text.toString();
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
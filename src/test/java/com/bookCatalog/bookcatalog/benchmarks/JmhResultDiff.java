@@ -0,0 +1,71 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files, such as the {@code jmh-result.json} of
+ * two commits, and prints the change of every benchmark present in both. A
+ * change counts as a regression when it exceeds the threshold and both error
+ * margins combined; the exit status is 1 if any regression is found.
+ *
+ * Run with {@code main}; arguments: baseline file, current file, threshold
+ * (%, default 10).
+ */
+public class JmhResultDiff {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 2) {
+			System.err.println("usage: JmhResultDiff <baseline.json> <current.json> [threshold %]");
+			System.exit(2);
+		}
+		double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+		Map<String, JsonNode> baseline = read(new File(args[0]));
+		Map<String, JsonNode> current = read(new File(args[1]));
+
+		int regressions = 0;
+		for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+			JsonNode before = baseline.get(entry.getKey());
+			if (before == null) {
+				System.out.printf("%-70s %14s%n", entry.getKey(), "new");
+				continue;
+			}
+			JsonNode after = entry.getValue();
+			double oldScore = before.path("primaryMetric").path("score").asDouble();
+			double newScore = after.path("primaryMetric").path("score").asDouble();
+			double error = before.path("primaryMetric").path("scoreError").asDouble(0)
+					+ after.path("primaryMetric").path("scoreError").asDouble(0);
+			double change = (newScore - oldScore) / oldScore * 100.0;
+			// AverageTime and SampleTime scores are costs; the other modes are rates.
+			boolean lowerIsBetter = after.path("mode").asText().matches("avgt|sample|ss");
+			boolean worse = lowerIsBetter ? change > 0 : change < 0;
+			boolean regression = worse && Math.abs(change) > threshold
+					&& Math.abs(newScore - oldScore) > error;
+			if (regression) {
+				regressions++;
+			}
+			System.out.printf("%-70s %12.3f -> %12.3f %s %+7.1f%%%s%n", entry.getKey(), oldScore, newScore,
+					after.path("primaryMetric").path("scoreUnit").asText(), change,
+					regression ? "  REGRESSION" : "");
+		}
+		System.exit(regressions > 0 ? 1 : 0);
+	}
+
+	private static Map<String, JsonNode> read(File file) throws Exception {
+		Map<String, JsonNode> results = new LinkedHashMap<>();
+		for (JsonNode result : new ObjectMapper().readTree(file)) {
+			String benchmark = result.path("benchmark").asText();
+			StringBuilder key = new StringBuilder(benchmark.replace(JmhResultDiff.class.getPackageName() + ".", ""));
+			Map<String, String> params = new TreeMap<>();
+			result.path("params").fields().forEachRemaining(e -> params.put(e.getKey(), e.getValue().asText()));
+			params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+			results.put(key.toString(), result);
+		}
+		return results;
+	}
+}
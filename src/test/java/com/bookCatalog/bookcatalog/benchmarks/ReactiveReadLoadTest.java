@@ -0,0 +1,119 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bookCatalog.bookcatalog.BookcatalogApplication;
+
+/**
+ * Starts the application on a random port and drives {@code GET /books/{id}}
+ * and {@code GET /reactive/books/{id}} with a fixed number of concurrent
+ * connections, each issuing its next request as soon as the previous one
+ * answers. Prints sustained throughput, latency, and the live threads and
+ * heap added per connection while under load. Client and server share the
+ * JVM, so the per-connection figures are comparisons, not absolutes.
+ *
+ * Run with {@code main}; arguments: connections, duration (s).
+ */
+public class ReactiveReadLoadTest {
+
+	public static void main(String[] args) throws Exception {
+		int connections = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+		int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(BookcatalogApplication.class)
+				.run("--server.port=0", "--catalog.admission.enabled=false", "--catalog.timing.enabled=false",
+						"--catalog.sql.stats.enabled=false", "--logging.level.root=WARN");
+		try {
+			int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+			String base = "http://localhost:" + port;
+			run("warmup", base + "/books/", connections, 2);
+			run("warmup", base + "/reactive/books/", connections, 2);
+			run("servlet", base + "/books/", connections, seconds);
+			run("reactive", base + "/reactive/books/", connections, seconds);
+		}
+		finally {
+			context.close();
+		}
+	}
+
+	private static void run(String label, String url, int connections, int seconds) throws Exception {
+		ExecutorService clientThreads = Executors.newFixedThreadPool(4);
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.executor(clientThreads)
+				.build();
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		System.gc();
+		long baseHeap = memory.getHeapMemoryUsage().getUsed();
+		int baseThreads = threads.getThreadCount();
+
+		Histogram latency = new ConcurrentHistogram(3);
+		AtomicLong errors = new AtomicLong();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+		CompletableFuture<?>[] loops = new CompletableFuture<?>[connections];
+		for (int i = 0; i < connections; i++) {
+			loops[i] = loop(client, url, deadline, latency, errors);
+		}
+
+		long peakHeap = 0;
+		int peakThreads = 0;
+		while (System.nanoTime() < deadline) {
+			Thread.sleep(100);
+			peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+			peakThreads = Math.max(peakThreads, threads.getThreadCount());
+		}
+		CompletableFuture.allOf(loops).get(1, TimeUnit.MINUTES);
+		System.gc();
+		long retainedHeap = memory.getHeapMemoryUsage().getUsed();
+		clientThreads.shutdown();
+
+		System.out.printf("%-9s conns=%d rps=%.0f p50=%.2fms p99=%.2fms p99.9=%.2fms errors=%d "
+				+ "threads/conn=%.2f peak heap/conn=%.1fKB retained heap/conn=%.1fKB%n",
+				label, connections, latency.getTotalCount() / (double) seconds,
+				latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+				latency.getValueAtPercentile(99.9) / 1000.0, errors.get(),
+				(peakThreads - baseThreads) / (double) connections,
+				(peakHeap - baseHeap) / 1024.0 / connections,
+				(retainedHeap - baseHeap) / 1024.0 / connections);
+	}
+
+	private static CompletableFuture<Void> loop(HttpClient client, String url, long deadline, Histogram latency,
+			AtomicLong errors) {
+		if (System.nanoTime() >= deadline) {
+			return CompletableFuture.completedFuture(null);
+		}
+		HttpRequest request = HttpRequest.newBuilder(URI.create(url + ThreadLocalRandom.current().nextInt(1, 26)))
+				.header("Accept", "application/json")
+				.build();
+		long start = System.nanoTime();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.handle((response, e) -> {
+					if (e != null || response.statusCode() != 200) {
+						errors.incrementAndGet();
+					}
+					else {
+						latency.recordValue((System.nanoTime() - start) / 1000);
+					}
+					return null;
+				})
+				.thenCompose(ignored -> loop(client, url, deadline, latency, errors));
+	}
+}
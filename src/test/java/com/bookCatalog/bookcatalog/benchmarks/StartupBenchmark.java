@@ -0,0 +1,162 @@
+package com.bookCatalog.bookcatalog.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bookCatalog.bookcatalog.BookcatalogApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Starts the application in a fresh JVM per run and reports, for each set of
+ * profiles, the median time until the context is ready, the time until the
+ * first {@code GET /books} is answered and the heap used after a full GC.
+ * Times are JVM uptime, so class loading and JIT are included; a forked JVM
+ * per run keeps one run from warming the next.
+ *
+ * Every run starts against the same file database, generated once with
+ * {@value #BOOKS} books before the first run, with {@code data.sql} and the
+ * warmup requests left out. The profile sets then differ only in what they
+ * change, not in how much data they load or how many requests they send
+ * before the probe.
+ *
+ * Prints a table and writes the medians to {@code target/startup-report.json}.
+ *
+ * Run with {@code main}; arguments: runs, then profile sets such as
+ * {@code test test,fast-start} (the default).
+ */
+public class StartupBenchmark {
+
+	private static final String PROBE = "--probe";
+	private static final String RESULT = "STARTUP ";
+	private static final int BOOKS = 10_000;
+
+	public static void main(String[] args) throws Exception {
+		if (args.length > 0 && args[0].equals(PROBE)) {
+			probe(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		List<String> profiles = args.length > 1 ? Arrays.asList(args).subList(1, args.length)
+				: List.of("test", "test,fast-start");
+		Path directory = Paths.get("target", "startup-benchmark");
+		delete(directory);
+		String url = "jdbc:h2:file:" + directory.resolve("catalog").toAbsolutePath();
+		populate(url);
+
+		ObjectMapper mapper = new ObjectMapper();
+		ObjectNode json = mapper.createObjectNode();
+		System.out.printf("%-22s %10s %14s %10s%n", "profiles", "ready ms", "1st request ms", "heap MB");
+		for (String profile : profiles) {
+			long[][] samples = new long[3][runs];
+			for (int run = 0; run < runs; run++) {
+				long[] sample = fork(profile, url);
+				for (int i = 0; i < sample.length; i++) {
+					samples[i][run] = sample[i];
+				}
+			}
+			long ready = median(samples[0]);
+			long firstRequest = median(samples[1]);
+			long heap = median(samples[2]);
+			System.out.printf("%-22s %10d %14d %10.1f%n", profile, ready, firstRequest, heap / 1048576.0);
+			ObjectNode node = json.putObject(profile);
+			node.put("runs", runs);
+			node.put("readyMs", ready);
+			node.put("firstRequestMs", firstRequest);
+			node.put("heapBytes", heap);
+		}
+		File file = new File("target/startup-report.json");
+		file.getParentFile().mkdirs();
+		mapper.writerWithDefaultPrettyPrinter().writeValue(file, json);
+		System.out.println("Report written to " + file.getPath());
+	}
+
+	private static void populate(String url) {
+		SpringApplication.run(BookcatalogApplication.class, "--spring.profiles.active=test",
+				"--spring.main.web-application-type=none", "--spring.datasource.url=" + url,
+				"--spring.jpa.hibernate.ddl-auto=create", "--spring.datasource.initialization-mode=never",
+				"--catalog.generator.books=" + BOOKS, "--catalog.warmup.enabled=false",
+				"--catalog.snapshot.enabled=false", "--logging.level.root=WARN").close();
+	}
+
+	private static long[] fork(String profile, String url) throws Exception {
+		String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+		List<String> command = new ArrayList<>(List.of(java, "-cp", System.getProperty("java.class.path"),
+				StartupBenchmark.class.getName(), PROBE, "--spring.profiles.active=" + profile, "--server.port=0",
+				"--spring.datasource.url=" + url, "--spring.jpa.hibernate.ddl-auto=none",
+				"--spring.datasource.initialization-mode=never", "--catalog.warmup.requests=0",
+				"--catalog.warmup.hot-books-file=target/startup-benchmark/hot-books.txt"));
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		long[] sample = null;
+		try (BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(RESULT)) {
+					sample = Arrays.stream(line.substring(RESULT.length()).split(" ")).mapToLong(Long::parseLong)
+							.toArray();
+				}
+			}
+		}
+		if (!process.waitFor(1, TimeUnit.MINUTES) || process.exitValue() != 0 || sample == null) {
+			process.destroyForcibly();
+			throw new IllegalStateException("Startup probe failed for profiles " + profile);
+		}
+		return sample;
+	}
+
+	private static void probe(String[] args) throws Exception {
+		ConfigurableApplicationContext context = SpringApplication.run(BookcatalogApplication.class, args);
+		long ready = ManagementFactory.getRuntimeMXBean().getUptime();
+		int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+		HttpResponse<Void> response = HttpClient.newHttpClient().send(
+				HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/books?size=1")).build(),
+				HttpResponse.BodyHandlers.discarding());
+		long firstRequest = ManagementFactory.getRuntimeMXBean().getUptime();
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("GET /books answered " + response.statusCode());
+		}
+		System.gc();
+		long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+		System.out.println(RESULT + ready + " " + firstRequest + " " + heap);
+		context.close();
+	}
+
+	private static void delete(Path directory) throws IOException {
+		if (!Files.exists(directory)) {
+			return;
+		}
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(path);
+			}
+		}
+	}
+
+	private static long median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+}
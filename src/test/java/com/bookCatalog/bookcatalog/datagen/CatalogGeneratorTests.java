@@ -0,0 +1,106 @@
+package com.bookCatalog.bookcatalog.datagen;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.bookCatalog.bookcatalog.datagen.CatalogGenerator.LoadMode;
+
+public class CatalogGeneratorTests {
+
+	private DriverManagerDataSource dataSource;
+	private JdbcTemplate jdbc;
+	private CatalogGenerator generator;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		dataSource = new DriverManagerDataSource("jdbc:h2:mem:generator;DB_CLOSE_DELAY=-1", "sa", "");
+		jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("CREATE TABLE tb_category (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), "
+				+ "created_at TIMESTAMP, updated_at TIMESTAMP)");
+		jdbc.execute("CREATE TABLE tb_book (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255), "
+				+ "description TEXT, price DOUBLE, img_url VARCHAR(255), date TIMESTAMP)");
+		jdbc.execute("CREATE TABLE tb_book_category (book_id BIGINT NOT NULL, category_id BIGINT NOT NULL, "
+				+ "PRIMARY KEY (book_id, category_id))");
+		generator = new CatalogGenerator(dataSource);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		jdbc.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	public void generateShouldInsertBooksAndCategories() {
+
+		CatalogGenerator.Result result = generator.generate(5_000, 20, 42L);
+
+		Assertions.assertEquals(1L, result.getFirstId());
+		Assertions.assertEquals(5_000L, count("tb_book"));
+		Assertions.assertEquals(20L, count("tb_category"));
+		Long withoutCategory = jdbc.queryForObject("SELECT COUNT(*) FROM tb_book b WHERE NOT EXISTS "
+				+ "(SELECT 1 FROM tb_book_category bc WHERE bc.book_id = b.id)", Long.class);
+		Assertions.assertEquals(0L, withoutCategory);
+		Integer maxPerBook = jdbc.queryForObject("SELECT MAX(c) FROM (SELECT COUNT(*) c FROM tb_book_category "
+				+ "GROUP BY book_id)", Integer.class);
+		Assertions.assertTrue(maxPerBook <= 6);
+	}
+
+	@Test
+	public void generateShouldBeDeterministicForSameSeedInEitherMode() {
+
+		generator.generate(500, 10, 7L, LoadMode.CSV);
+		List<Map<String, Object>> csv = snapshot();
+		jdbc.execute("DELETE FROM tb_book_category");
+		jdbc.execute("DELETE FROM tb_book");
+		jdbc.execute("ALTER TABLE tb_book ALTER COLUMN id RESTART WITH 1");
+
+		generator.generate(500, 10, 7L, LoadMode.BATCH);
+
+		Assertions.assertEquals(csv, snapshot());
+	}
+
+	@Test
+	public void generatedDataShouldFollowExpectedDistributions() {
+
+		generator.generate(10_000, 30, 42L);
+
+		Double medianLength = jdbc.queryForObject("SELECT MEDIAN(LENGTH(description)) FROM tb_book", Double.class);
+		Assertions.assertTrue(medianLength > 450 && medianLength < 800, "median length " + medianLength);
+		Double averagePerBook = jdbc.queryForObject("SELECT COUNT(*) * 1.0 / (SELECT COUNT(*) FROM tb_book) "
+				+ "FROM tb_book_category", Double.class);
+		Assertions.assertTrue(averagePerBook > 1.5 && averagePerBook < 2.2, "categories per book " + averagePerBook);
+		List<Long> perCategory = jdbc.queryForList("SELECT COUNT(*) FROM tb_book_category GROUP BY category_id "
+				+ "ORDER BY category_id", Long.class);
+		Assertions.assertTrue(perCategory.get(0) > 5 * perCategory.get(perCategory.size() - 1));
+	}
+
+	@Test
+	public void topUpShouldOnlyAddMissingBooks() {
+
+		generator.generate(100, 5, 1L);
+
+		CatalogGenerator.Result result = generator.topUp(250, 5, 1L);
+
+		Assertions.assertEquals(150L, result.getBooks());
+		Assertions.assertEquals(101L, result.getFirstId());
+		Assertions.assertEquals(250L, count("tb_book"));
+		Assertions.assertEquals(5L, count("tb_category"));
+	}
+
+	private long count(String table) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+	}
+
+	private List<Map<String, Object>> snapshot() {
+		return jdbc.queryForList("SELECT b.id, b.name, b.description, b.price, b.img_url, b.date, "
+				+ "GROUP_CONCAT(bc.category_id ORDER BY bc.category_id) categories FROM tb_book b "
+				+ "JOIN tb_book_category bc ON bc.book_id = b.id GROUP BY b.id ORDER BY b.id");
+	}
+}
@@ -0,0 +1,77 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+
+public class BookAccessFrequencyTests {
+
+	private BookAccessFrequency frequency;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		frequency = new BookAccessFrequency(4, 1024, 5);
+	}
+
+	@Test
+	public void hottestShouldFindHeavyHittersAmongManyColdBooks() {
+
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			if (i % 10 == 0) {
+				frequency.record(1 + i / 10 % 5);
+			}
+			else {
+				frequency.record(100 + random.nextInt(20_000));
+			}
+		}
+
+		Assertions.assertEquals(Set.of(1L, 2L, 3L, 4L, 5L), Set.copyOf(frequency.hottestIds(5)));
+		Assertions.assertTrue(frequency.estimate(1L) >= 2_000);
+		Assertions.assertTrue(frequency.admit(1L, 150L));
+		Assertions.assertFalse(frequency.admit(150L, 1L));
+	}
+
+	@Test
+	public void decayShouldHalveEstimates() {
+
+		for (int i = 0; i < 100; i++) {
+			frequency.record(7L);
+		}
+
+		frequency.decay();
+
+		Assertions.assertEquals(50, frequency.estimate(7L));
+		Assertions.assertEquals(50, frequency.hottest(1).get(0).getEstimatedAccesses());
+	}
+
+	@Test
+	public void hottestShouldRejectNegativeLimit() {
+
+		frequency.record(7L);
+
+		Assertions.assertTrue(frequency.hottest(0).isEmpty());
+		Assertions.assertThrows(BadRequestException.class, () -> frequency.hottest(-1));
+	}
+
+	@Test
+	public void sketchShouldNeverUndercount() {
+
+		CountMinSketch sketch = new CountMinSketch(4, 64);
+		for (long key = 1; key <= 1000; key++) {
+			for (int i = 0; i < key % 7; i++) {
+				sketch.increment(key);
+			}
+		}
+
+		for (long key = 1; key <= 1000; key++) {
+			Assertions.assertTrue(sketch.estimate(key) >= key % 7);
+		}
+		Assertions.assertEquals(64, sketch.getWidth());
+	}
+}
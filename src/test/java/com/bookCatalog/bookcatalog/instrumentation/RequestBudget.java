@@ -0,0 +1,29 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Upper bound on the SQL statements and wall time of every request a test
+ * sends to {@link #endpoint()}, checked by {@link RequestBudgetExtension}
+ * once the test method returns. The endpoint is written the way the
+ * {@code /admin/timings} report names it, e.g. {@code GET /books/{id}}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Repeatable(RequestBudgets.class)
+public @interface RequestBudget {
+
+	String endpoint();
+
+	/** Statements allowed per request, or a negative value for no limit. */
+	int statements() default -1;
+
+	/** Milliseconds allowed per request, or a negative value for no limit. */
+	long millis() default -1;
+}
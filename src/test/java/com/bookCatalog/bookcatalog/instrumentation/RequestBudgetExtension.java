@@ -0,0 +1,77 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import com.bookCatalog.bookcatalog.dto.EndpointQueriesDTO;
+import com.bookCatalog.bookcatalog.dto.LatencyPercentilesDTO;
+
+/**
+ * Enforces the {@link RequestBudget}s declared on a Spring test class and
+ * its methods. The statement and timing counters are cleared before each
+ * test; afterwards the worst request recorded for every budgeted endpoint
+ * is compared against its budget. An endpoint the test never called fails
+ * too, so a budget cannot pass by accident when a URL changes.
+ *
+ * Register it after {@link SpringExtension}, which {@code @SpringBootTest}
+ * already does when the class is annotated with
+ * {@code @ExtendWith(RequestBudgetExtension.class)}.
+ */
+public class RequestBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+		applicationContext.getBean(StatementStatistics.class).reset();
+		applicationContext.getBean(EndpointTimings.class).reset();
+	}
+
+	@Override
+	public void afterEach(ExtensionContext context) {
+		if (context.getExecutionException().isPresent()) {
+			return;
+		}
+		List<RequestBudget> budgets = new ArrayList<>(AnnotationSupport.findRepeatableAnnotations(
+				context.getRequiredTestClass(), RequestBudget.class));
+		budgets.addAll(AnnotationSupport.findRepeatableAnnotations(context.getRequiredTestMethod(),
+				RequestBudget.class));
+		if (budgets.isEmpty()) {
+			return;
+		}
+		ApplicationContext applicationContext = SpringExtension.getApplicationContext(context);
+		Map<String, EndpointQueriesDTO> queries = applicationContext.getBean(StatementStatistics.class)
+				.queriesPerRequest();
+		Map<String, Map<String, LatencyPercentilesDTO>> timings = applicationContext.getBean(EndpointTimings.class)
+				.snapshot();
+
+		List<String> violations = new ArrayList<>();
+		for (RequestBudget budget : budgets) {
+			EndpointQueriesDTO endpointQueries = queries.get(budget.endpoint());
+			if (endpointQueries == null) {
+				violations.add(budget.endpoint() + " was not requested");
+				continue;
+			}
+			if (budget.statements() >= 0 && endpointQueries.getMaxPerRequest() > budget.statements()) {
+				violations.add(String.format("%s ran %d SQL statements in one request, budget is %d",
+						budget.endpoint(), endpointQueries.getMaxPerRequest(), budget.statements()));
+			}
+			double maxMillis = timings.get(budget.endpoint()).get(TimingPhase.TOTAL.getMetric()).getMax();
+			if (budget.millis() >= 0 && maxMillis > budget.millis()) {
+				violations.add(String.format("%s took %.1f ms in one request, budget is %d ms",
+						budget.endpoint(), maxMillis, budget.millis()));
+			}
+		}
+		if (!violations.isEmpty()) {
+			throw new AssertionFailedError("Request budget exceeded:\n  " + String.join("\n  ", violations));
+		}
+	}
+}
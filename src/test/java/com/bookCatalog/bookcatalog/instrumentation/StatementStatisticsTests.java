@@ -0,0 +1,54 @@
+package com.bookCatalog.bookcatalog.instrumentation;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bookCatalog.bookcatalog.dto.SqlStatementDTO;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+
+public class StatementStatisticsTests {
+
+	private StatementStatistics statistics;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		statistics = new StatementStatistics(200L, false, 1000);
+	}
+
+	@Test
+	public void normalizeShouldReplaceLiteralsAndCollapseInLists() {
+
+		String sql = "select *  from tb_book\n where id in (?, ?, ?) and name = 'It''s' and price > 10.5";
+
+		Assertions.assertEquals("select * from tb_book where id in (...) and name = ? and price > ?",
+				StatementStatistics.normalize(sql));
+	}
+
+	@Test
+	public void recordShouldAggregateStatementsWithSameShape() {
+
+		statistics.record("select * from tb_book where id in (?, ?)", 2_000_000L, 2L);
+		statistics.record("select * from tb_book where id in (?, ?, ?)", 4_000_000L, 3L);
+		statistics.record("select * from tb_category", 1_000_000L, 3L);
+
+		List<SqlStatementDTO> top = statistics.top(1, "total");
+
+		Assertions.assertEquals(1, top.size());
+		Assertions.assertEquals("select * from tb_book where id in (...)", top.get(0).getSql());
+		Assertions.assertEquals(2L, top.get(0).getCount());
+		Assertions.assertEquals(5L, top.get(0).getRows());
+		Assertions.assertEquals(4.0, top.get(0).getMaxMs());
+	}
+
+	@Test
+	public void topShouldRejectNegativeLimit() {
+
+		statistics.record("select * from tb_category", 1_000_000L, 3L);
+
+		Assertions.assertTrue(statistics.top(0, "total").isEmpty());
+		Assertions.assertThrows(BadRequestException.class, () -> statistics.top(-1, "total"));
+	}
+}
@@ -1,10 +1,16 @@
 package com.bookCatalog.bookcatalog.resources;
 
+import static com.bookCatalog.bookcatalog.tests.MockMvcAsync.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,7 +25,11 @@ import com.bookCatalog.bookcatalog.dto.BookDTO;
 import com.bookCatalog.bookcatalog.tests.Factory;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-@SpringBootTest
+/**
+ * Os handlers rodam no chamador para que as escritas participem da transação
+ * do teste e sejam desfeitas ao final; nos bulkheads elas seriam confirmadas.
+ */
+@SpringBootTest(properties = "catalog.async.enabled=false")
 @AutoConfigureMockMvc
 @Transactional
 public class BookResourceIT {
@@ -45,7 +55,7 @@ public class BookResourceIT {
 	public void findAllShouldReturnSortedPageWhenSortByName() throws Exception {
 		
 		ResultActions result = 
-				mockMvc.perform(get("/books?page=0&size=12&sort=name,asc")
+				perform(mockMvc, get("/books?page=0&size=12&sort=name,asc")
 					.accept(MediaType.APPLICATION_JSON));
 		
 		result.andExpect(status().isOk());
@@ -57,6 +67,69 @@ public class BookResourceIT {
 	}
 	
 	
+	@Test
+	public void findAllShouldReturnProjectedPageWhenFieldsParam() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, get("/books?page=0&size=12&fields=id,name,price,imgUrl")
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.totalElements").value(countTotalBooks));
+		result.andExpect(jsonPath("$.content[0].id").exists());
+		result.andExpect(jsonPath("$.content[0].price").exists());
+		result.andExpect(jsonPath("$.content[0].description").doesNotExist());
+		result.andExpect(jsonPath("$.content[0].categories").doesNotExist());
+	}
+	
+	@Test
+	public void findByIdShouldReturnCategoriesOnlyWhenRequested() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, get("/books/{id}?fields=name,categories", existingId)
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.name").exists());
+		result.andExpect(jsonPath("$.description").doesNotExist());
+		result.andExpect(jsonPath("$.categories[0].id").value(2L));
+	}
+	
+	@Test
+	public void findByIdShouldReturnServerTimingAndRecordPercentiles() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, get("/books/{id}", existingId)
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(header().string("Server-Timing", Matchers.containsString("repo;dur=")));
+		
+		perform(mockMvc, get("/admin/timings").accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$['GET /books/{id}'].total.count").exists())
+			.andExpect(jsonPath("$['GET /books/{id}'].repo.p99").exists());
+	}
+	
+	@Test
+	public void findByIdShouldRecordSqlStatementsPerRequest() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, get("/books/{id}", existingId)
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(header().string("Server-Timing", Matchers.containsString("statements")));
+		
+		perform(mockMvc, get("/admin/sql/requests").accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$['GET /books/{id}'].maxPerRequest").isNumber());
+		
+		perform(mockMvc, get("/admin/sql?limit=5&sort=count").accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].sql").exists());
+	}
+	
 	@Test
 	public void updateShouldReturnBookDTOWhenIdExists() throws Exception {
 		
@@ -67,7 +140,7 @@ public class BookResourceIT {
 		String expectedDescription = bookDTO.getDescription();
 		
 		ResultActions result = 
-				mockMvc.perform(put("/books/{id}", existingId)
+				perform(mockMvc, put("/books/{id}", existingId)
 					.content(jsonBody)
 					.contentType(MediaType.APPLICATION_JSON)
 					.accept(MediaType.APPLICATION_JSON));
@@ -85,11 +158,133 @@ public class BookResourceIT {
 		String jsonBody = objectMapper.writeValueAsString(bookDTO);
 		
 		ResultActions result = 
-				mockMvc.perform(put("/books/{id}", nonExistingId)
+				perform(mockMvc, put("/books/{id}", nonExistingId)
 					.content(jsonBody)
 					.contentType(MediaType.APPLICATION_JSON)
 					.accept(MediaType.APPLICATION_JSON));
 		
 		result.andExpect(status().isNotFound());
 	}
+
+	@Test
+	public void exportShouldStreamOneLinePerBookOrderedById() throws Exception {
+		
+		ResultActions result = perform(mockMvc, get("/books/export"));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(header().string("Content-Type", Matchers.startsWith("application/x-ndjson")));
+		String[] lines = result.andReturn().getResponse().getContentAsString().split("\n");
+		Assertions.assertEquals(countTotalBooks, lines.length);
+		Assertions.assertEquals(existingId, objectMapper.readValue(lines[0], BookDTO.class).getId());
+		Assertions.assertEquals(countTotalBooks, objectMapper.readValue(lines[lines.length - 1], BookDTO.class).getId());
+	}
+
+	/**
+	 * O job roda no bulkhead de exportação, fora da transação do teste, então
+	 * o ajuste é desfeito ao final para não afetar os demais testes.
+	 */
+	@Test
+	public void adjustPricesShouldReturnAffectedCount() throws Exception {
+		
+		ResultActions result = adjustCategoryPrices(2L, -10.0);
+		
+		try {
+			result.andExpect(status().isOk());
+			result.andExpect(jsonPath("$.matched").value(2L));
+			result.andExpect(jsonPath("$.affected").value(2L));
+			
+			perform(mockMvc, get("/books/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.price").value(80.5));
+		}
+		finally {
+			adjustCategoryPrices(2L, 10.0).andExpect(status().isOk());
+		}
+	}
+	
+	private ResultActions adjustCategoryPrices(Long categoryId, double amount) throws Exception {
+		String jsonBody = "{\"filter\":{\"categoryId\":" + categoryId + "},\"operation\":\"ADD\",\"value\":" + amount + "}";
+		return perform(mockMvc, post("/books/price-adjustments")
+					.content(jsonBody)
+					.contentType(MediaType.APPLICATION_JSON)
+					.accept(MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	public void adjustPricesShouldReturnBadRequestWhenFilterIsMissing() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, post("/books/price-adjustments")
+					.content("{\"operation\":\"PERCENT\",\"value\":5.0}")
+					.contentType(MediaType.APPLICATION_JSON)
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void categoryAssignmentsShouldAddAndRemoveCategory() throws Exception {
+		
+		String jsonBody = "{\"filter\":{\"ids\":[1,5]},\"categoryId\":1}";
+		
+		perform(mockMvc, post("/books/category-assignments")
+					.content(jsonBody)
+					.contentType(MediaType.APPLICATION_JSON)
+					.accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.affected").value(2L));
+		
+		perform(mockMvc, get("/books/{id}?fields=categories", existingId).accept(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.categories.length()").value(2));
+		
+		perform(mockMvc, delete("/books/category-assignments")
+					.content(jsonBody)
+					.contentType(MediaType.APPLICATION_JSON)
+					.accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.affected").value(2L));
+		
+		perform(mockMvc, get("/books/{id}?fields=categories", existingId).accept(MediaType.APPLICATION_JSON))
+			.andExpect(jsonPath("$.categories.length()").value(1));
+	}
+
+	@Test
+	public void deleteByFilterShouldReportMissingIds() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, delete("/books")
+					.content("{\"ids\":[1000,1001]}")
+					.contentType(MediaType.APPLICATION_JSON)
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.affected").value(0L));
+		result.andExpect(jsonPath("$.missingIds[0]").value(1000L));
+		result.andExpect(jsonPath("$.missingIds[1]").value(1001L));
+	}
+
+	@Test
+	public void deleteByFilterShouldReturnBadRequestWhenFilterIsEmpty() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, delete("/books")
+					.content("{}")
+					.contentType(MediaType.APPLICATION_JSON)
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void bulkheadsShouldReportPools() throws Exception {
+		
+		perform(mockMvc, get("/books/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk());
+		
+		ResultActions result = perform(mockMvc, get("/admin/bulkheads").accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.read.threads").value(16));
+		result.andExpect(jsonPath("$.write.queueCapacity").value(50));
+		result.andExpect(jsonPath("$.export.async").value(true));
+	}
 }
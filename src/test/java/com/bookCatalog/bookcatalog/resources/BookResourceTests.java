@@ -5,6 +5,7 @@
  */
 package com.bookCatalog.bookcatalog.resources;
 
+import static com.bookCatalog.bookcatalog.tests.MockMvcAsync.perform;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
@@ -14,30 +15,45 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
+import java.util.Map;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import com.bookCatalog.bookcatalog.admission.AdmissionControl;
+import com.bookCatalog.bookcatalog.admission.GradientLimiter;
+import com.bookCatalog.bookcatalog.config.JacksonConfig;
 import com.bookCatalog.bookcatalog.dto.BookDTO;
 import com.bookCatalog.bookcatalog.resources.BookResource;
+import com.bookCatalog.bookcatalog.services.BookBulkService;
+import com.bookCatalog.bookcatalog.services.BookDescriptions;
+import com.bookCatalog.bookcatalog.services.BookExportService;
 import com.bookCatalog.bookcatalog.services.BookService;
+import com.bookCatalog.bookcatalog.services.CatalogStatistics;
+import com.bookCatalog.bookcatalog.services.RelatedBooks;
 import com.bookCatalog.bookcatalog.services.exceptions.DatabaseException;
 import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
 import com.bookCatalog.bookcatalog.tests.Factory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 
 @WebMvcTest(BookResource.class)
+@Import(JacksonConfig.class)
 public class BookResourceTests {
 
     @Autowired
@@ -46,9 +62,27 @@ public class BookResourceTests {
     @MockBean
     private BookService service;
 
+    @MockBean
+    private BookExportService exportService;
+
+    @MockBean
+    private BookBulkService bulkService;
+
+    @MockBean
+    private CatalogStatistics statistics;
+
+    @MockBean
+    private RelatedBooks relatedBooks;
+
+    @MockBean
+    private BookDescriptions descriptions;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private AdmissionControl admissionControl;
+
     private Long existingId;
     private Long nonExistingId;
     private Long dependentId;
@@ -68,7 +102,9 @@ public class BookResourceTests {
 
         // Configura o comportamento simulado do serviço para cada caso de teste
         when(service.findAllPaged(any())).thenReturn(page);
+        when(service.findAllPaged(any(), any())).thenReturn(page);
         when(service.findById(existingId)).thenReturn(bookDTO);
+        when(service.findById(eq(existingId), any())).thenReturn(bookDTO);
         when(service.findById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
         when(service.insert(any())).thenReturn(bookDTO);
         when(service.update(eq(existingId), any())).thenReturn(bookDTO);
@@ -87,7 +123,7 @@ public class BookResourceTests {
     public void deleteShouldReturnNoContentWhenIdExists() throws Exception {
 
         ResultActions result =
-                mockMvc.perform(delete("/books/{id}", existingId)
+                perform(mockMvc, delete("/books/{id}", existingId)
                         .accept(MediaType.APPLICATION_JSON));
 
         result.andExpect(status().isNoContent());
@@ -102,7 +138,7 @@ public class BookResourceTests {
     public void deleteShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
 
         ResultActions result =
-                mockMvc.perform(delete("/books/{id}", nonExistingId)
+                perform(mockMvc, delete("/books/{id}", nonExistingId)
                         .accept(MediaType.APPLICATION_JSON));
 
         result.andExpect(status().isNotFound());
@@ -119,7 +155,7 @@ public class BookResourceTests {
         String jsonBody = objectMapper.writeValueAsString(bookDTO);
 
         ResultActions result =
-                mockMvc.perform(post("/books")
+                perform(mockMvc, post("/books")
                         .content(jsonBody)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON));
@@ -141,7 +177,7 @@ public class BookResourceTests {
         String jsonBody = objectMapper.writeValueAsString(bookDTO);
 
         ResultActions result =
-                mockMvc.perform(put("/books/{id}", existingId)
+                perform(mockMvc, put("/books/{id}", existingId)
                         .content(jsonBody)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON));
@@ -163,7 +199,7 @@ public class BookResourceTests {
         String jsonBody = objectMapper.writeValueAsString(bookDTO);
 
         ResultActions result =
-                mockMvc.perform(put("/books/{id}", nonExistingId)
+                perform(mockMvc, put("/books/{id}", nonExistingId)
                         .content(jsonBody)
                         .contentType(MediaType.APPLICATION_JSON)
                         .accept(MediaType.APPLICATION_JSON));
@@ -180,10 +216,137 @@ public class BookResourceTests {
     public void findAllShouldReturnPage() throws Exception {
 
         ResultActions result =
-                mockMvc.perform(get("/books")
+                perform(mockMvc, get("/books")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+    }
+
+    /**
+     * Caso de teste para recuperar livros com o parâmetro fields e esperar apenas os campos solicitados.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void findAllShouldReturnOnlyRequestedFieldsWhenFieldsParam() throws Exception {
+
+        ResultActions result =
+                perform(mockMvc, get("/books?fields=id,name,price,imgUrl")
                         .accept(MediaType.APPLICATION_JSON));
 
         result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.content[0].id").exists());
+        result.andExpect(jsonPath("$.content[0].name").exists());
+        result.andExpect(jsonPath("$.content[0].description").doesNotExist());
+        result.andExpect(jsonPath("$.content[0].categories").doesNotExist());
+    }
+
+    /**
+     * Caso de teste para recuperar livros com um campo desconhecido em fields e esperar uma resposta de requisição inválida.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void findAllShouldReturnBadRequestWhenFieldIsUnknown() throws Exception {
+
+        ResultActions result =
+                perform(mockMvc, get("/books?fields=id,isbn")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Caso de teste para recuperar os livros mais baratos de uma categoria e esperar a lista sem descrições.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void topShouldReturnRankedBooksWithoutDescription() throws Exception {
+
+        when(statistics.top(CatalogStatistics.Ranking.CHEAPEST, 1L, 5)).thenReturn(List.of(bookDTO));
+
+        ResultActions result =
+                perform(mockMvc, get("/books/top/cheapest?categoryId=1&size=5")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$[0].id").value(bookDTO.getId()));
+        result.andExpect(jsonPath("$[0].categories").exists());
+        result.andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    /**
+     * Caso de teste para recuperar o ranking com trechos das descrições vindos do armazenamento fora do heap.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void topShouldAddDescriptionSnippetsWhenRequested() throws Exception {
+
+        when(statistics.top(CatalogStatistics.Ranking.NEWEST, null, 20)).thenReturn(List.of(bookDTO));
+        when(descriptions.snippets(List.of(bookDTO.getId()), 40)).thenReturn(Map.of(bookDTO.getId(), "Trecho\u2026"));
+
+        ResultActions result =
+                perform(mockMvc, get("/books/top/newest?snippet=40")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$[0].description").value("Trecho\u2026"));
+        result.andExpect(jsonPath("$[0].categories").exists());
+    }
+
+    /**
+     * Caso de teste para recuperar livros relacionados e esperar a lista sem descrições nem categorias.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void relatedShouldReturnBooksWithoutDescriptionOrCategories() throws Exception {
+
+        when(relatedBooks.related(existingId, 10)).thenReturn(List.of(bookDTO));
+
+        ResultActions result =
+                perform(mockMvc, get("/books/{id}/related", existingId)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$[0].id").value(bookDTO.getId()));
+        result.andExpect(jsonPath("$[0].description").doesNotExist());
+        result.andExpect(jsonPath("$[0].categories").doesNotExist());
+    }
+
+    /**
+     * Caso de teste para recuperar uma lista pré-calculada desconhecida e esperar uma resposta de requisição inválida.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void topShouldReturnBadRequestWhenRankingIsUnknown() throws Exception {
+
+        ResultActions result =
+                perform(mockMvc, get("/books/top/popular")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Caso de teste para recuperar um livro pelo ID com o parâmetro fields e esperar apenas os campos solicitados.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void findByIdShouldReturnOnlyRequestedFieldsWhenFieldsParam() throws Exception {
+
+        ResultActions result =
+                perform(mockMvc, get("/books/{id}?fields=name", existingId)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.name").exists());
+        result.andExpect(jsonPath("$.id").doesNotExist());
+        result.andExpect(jsonPath("$.description").doesNotExist());
     }
 
     /**
@@ -195,7 +358,7 @@ public class BookResourceTests {
     public void findByIdShouldReturnBookWhenIdExists() throws Exception {
 
         ResultActions result =
-                mockMvc.perform(get("/books/{id}", existingId)
+                perform(mockMvc, get("/books/{id}", existingId)
                         .accept(MediaType.APPLICATION_JSON));
 
         result.andExpect(status().isOk());
@@ -204,6 +367,81 @@ public class BookResourceTests {
         result.andExpect(jsonPath("$.description").exists());
     }
 
+    /**
+     * Caso de teste para recuperar um livro pelo ID em CBOR quando o cliente aceita application/cbor.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void findByIdShouldReturnCborWhenAcceptIsCbor() throws Exception {
+
+        MediaType cbor = MediaType.valueOf("application/cbor");
+
+        ResultActions result =
+                perform(mockMvc, get("/books/{id}", existingId)
+                        .accept(cbor));
+
+        result.andExpect(status().isOk());
+        result.andExpect(content().contentType(cbor));
+
+        byte[] body = result.andReturn().getResponse().getContentAsByteArray();
+        BookDTO dto = new ObjectMapper(new CBORFactory()).findAndRegisterModules().readValue(body, BookDTO.class);
+        Assertions.assertEquals(bookDTO.getName(), dto.getName());
+    }
+
+    /**
+     * Caso de teste para recuperar um livro quando o limite de concorrência de leitura está esgotado e esperar
+     * uma resposta de serviço indisponível com o cabeçalho Retry-After.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void findByIdShouldReturnServiceUnavailableWhenReadLimitIsExhausted() throws Exception {
+
+        GradientLimiter reads = admissionControl.getReads();
+        int permits = 0;
+        while (reads.tryAcquire()) {
+            permits++;
+        }
+        try {
+            ResultActions result =
+                    perform(mockMvc, get("/books/{id}", existingId)
+                            .accept(MediaType.APPLICATION_JSON));
+
+            result.andExpect(status().isServiceUnavailable());
+            result.andExpect(header().exists("Retry-After"));
+            result.andExpect(jsonPath("$.error").value("Service unavailable"));
+        }
+        finally {
+            for (int i = 0; i < permits; i++) {
+                reads.release(1_000_000L, false);
+            }
+        }
+    }
+
+    /**
+     * Caso de teste para exportar o catálogo com o limite de leituras esgotado: a exportação fica fora do controle de admissão.
+     *
+     * @throws Exception se ocorrer um erro durante o teste.
+     */
+    @Test
+    public void exportShouldBypassAdmissionWhenReadLimitIsExhausted() throws Exception {
+
+        GradientLimiter reads = admissionControl.getReads();
+        int permits = 0;
+        while (reads.tryAcquire()) {
+            permits++;
+        }
+        try {
+            perform(mockMvc, get("/books/export")).andExpect(status().isOk());
+        }
+        finally {
+            for (int i = 0; i < permits; i++) {
+                reads.release(1_000_000L, false);
+            }
+        }
+    }
+
     /**
      * Caso de teste para recuperar um livro pelo ID quando ele não existe no banco de dados e esperar uma resposta de não encontrado.
      *
@@ -213,7 +451,7 @@ public class BookResourceTests {
     public void findByIdShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
 
         ResultActions result =
-                mockMvc.perform(get("/books/{id}", nonExistingId)
+                perform(mockMvc, get("/books/{id}", nonExistingId)
                         .accept(MediaType.APPLICATION_JSON));
 
         result.andExpect(status().isNotFound());
@@ -0,0 +1,116 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import static com.bookCatalog.bookcatalog.tests.MockMvcAsync.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReactiveBookResourceIT {
+
+	@Autowired
+	private MockMvc mockMvc;
+	
+	@Autowired
+	private ObjectMapper objectMapper;
+	
+	private Long existingId;
+	private Long nonExistingId;
+	private Long countTotalBooks;
+	
+	@BeforeEach
+	void setUp() throws Exception {
+		existingId = 1L;
+		nonExistingId = 1000L;
+		countTotalBooks = 25L;
+	}
+
+	@Test
+	public void findAllShouldReturnPageMatchingServletPath() throws Exception {
+		
+		String servlet = perform(mockMvc, get("/books?page=0&size=12&sort=price,desc&sort=id,asc")
+				.accept(MediaType.APPLICATION_JSON)).andReturn().getResponse().getContentAsString();
+		
+		ResultActions result = 
+				perform(mockMvc, get("/reactive/books?page=0&size=12&sort=price,desc&sort=id,asc")
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.totalElements").value(countTotalBooks));
+		Assertions.assertEquals(objectMapper.readTree(servlet).get("content"),
+				objectMapper.readTree(result.andReturn().getResponse().getContentAsString()).get("content"));
+	}
+
+	@Test
+	public void findByIdShouldReturnBookWithCategoriesWhenIdExists() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, get("/reactive/books/{id}", existingId)
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.id").value(existingId));
+		result.andExpect(jsonPath("$.description").exists());
+		result.andExpect(jsonPath("$.categories").isNotEmpty());
+	}
+
+	@Test
+	public void findByIdShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, get("/reactive/books/{id}", nonExistingId)
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isNotFound());
+	}
+
+	@Test
+	public void findAllShouldReturnBadRequestWhenSortPropertyIsUnknown() throws Exception {
+		
+		ResultActions result = 
+				perform(mockMvc, get("/reactive/books?sort=isbn")
+					.accept(MediaType.APPLICATION_JSON));
+		
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void streamShouldEmitOneLinePerBookOrderedById() throws Exception {
+		
+		ResultActions result = perform(mockMvc, get("/reactive/books/stream").accept(MediaType.APPLICATION_NDJSON));
+		
+		result.andExpect(status().isOk());
+		result.andExpect(header().string("Content-Type", Matchers.startsWith("application/x-ndjson")));
+		String[] lines = result.andReturn().getResponse().getContentAsString().trim().split("\n");
+		Assertions.assertEquals(countTotalBooks, lines.length);
+		Assertions.assertEquals(existingId, objectMapper.readValue(lines[0], BookDTO.class).getId());
+	}
+
+	@Test
+	public void categoriesShouldReturnPageAndDetail() throws Exception {
+		
+		perform(mockMvc, get("/reactive/categories").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totalElements").value(3));
+		
+		perform(mockMvc, get("/reactive/categories/{id}", 1L).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.id").value(1L));
+	}
+}
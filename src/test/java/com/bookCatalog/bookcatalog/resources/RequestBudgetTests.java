@@ -0,0 +1,83 @@
+package com.bookCatalog.bookcatalog.resources;
+
+import static com.bookCatalog.bookcatalog.tests.MockMvcAsync.perform;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.bookCatalog.bookcatalog.instrumentation.RequestBudget;
+import com.bookCatalog.bookcatalog.instrumentation.RequestBudgetExtension;
+
+/**
+ * Orçamentos de consultas SQL e de tempo por endpoint. Uma regressão como um
+ * N+1 em {@code Book.categories} ou uma contagem extra faz o teste falhar.
+ * Os limites de tempo são folgados: pegam regressões de ordem de grandeza,
+ * não variações da máquina.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ExtendWith(RequestBudgetExtension.class)
+public class RequestBudgetTests {
+
+	private static final int REPETITIONS = 5;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	/** O livro, suas categorias com o cache frio e a descrição quando falta em {@code BookDescriptions}. */
+	@Test
+	@RequestBudget(endpoint = "GET /books/{id}", statements = 3, millis = 1000)
+	public void findBookByIdShouldStayWithinBudget() throws Exception {
+		for (long id = 1; id <= REPETITIONS; id++) {
+			perform(mockMvc, get("/books/{id}", id).accept(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.categories").isArray());
+		}
+	}
+
+	@Test
+	@RequestBudget(endpoint = "GET /books", statements = 2, millis = 1000)
+	public void findAllBooksShouldStayWithinBudget() throws Exception {
+		for (int i = 0; i < REPETITIONS; i++) {
+			perform(mockMvc, get("/books?page=0&size=50").accept(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.content[0].categories").isArray());
+		}
+	}
+
+	@Test
+	@RequestBudget(endpoint = "GET /categories", statements = 2, millis = 1000)
+	@RequestBudget(endpoint = "GET /categories/{id}", statements = 1, millis = 1000)
+	public void categoriesShouldStayWithinBudget() throws Exception {
+		for (int i = 0; i < REPETITIONS; i++) {
+			perform(mockMvc, get("/categories").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+			perform(mockMvc, get("/categories/{id}", 1L).accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	@RequestBudget(endpoint = "GET /books/stats", statements = 0, millis = 1000)
+	@RequestBudget(endpoint = "GET /books/top/{ranking}", statements = 0, millis = 1000)
+	@RequestBudget(endpoint = "GET /books/{id}/related", statements = 0, millis = 1000)
+	@RequestBudget(endpoint = "GET /categories/stats", statements = 0, millis = 1000)
+	public void inMemoryViewsShouldNotQueryDatabase() throws Exception {
+		for (int i = 0; i < REPETITIONS; i++) {
+			perform(mockMvc, get("/books/stats").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+			perform(mockMvc, get("/books/top/newest?size=12").accept(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.length()").value(12));
+			perform(mockMvc, get("/books/{id}/related", 3L).accept(MediaType.APPLICATION_JSON))
+					.andExpect(status().isOk())
+					.andExpect(jsonPath("$.length()").value(10));
+			perform(mockMvc, get("/categories/stats").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
+		}
+	}
+}
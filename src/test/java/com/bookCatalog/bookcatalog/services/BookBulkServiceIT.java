@@ -0,0 +1,177 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bookCatalog.bookcatalog.dto.BookFilterDTO;
+import com.bookCatalog.bookcatalog.dto.BulkResultDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryAssignmentDTO;
+import com.bookCatalog.bookcatalog.dto.PriceAdjustmentDTO;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+@SpringBootTest(properties = "catalog.bulk.chunk-size=10")
+@Transactional
+@RecordApplicationEvents
+public class BookBulkServiceIT {
+
+	@Autowired
+	private BookBulkService service;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private ApplicationEvents events;
+
+	@Test
+	public void adjustPricesShouldScaleEveryBookInCategoryInChunks() {
+
+		BookFilterDTO filter = new BookFilterDTO(null, 3L, null, null, null, null);
+		Double before = price(2L);
+
+		BulkResultDTO result = service.adjustPrices(
+				new PriceAdjustmentDTO(filter, PriceAdjustmentDTO.Operation.PERCENT, 10.0));
+
+		Assertions.assertEquals(23L, result.getMatched());
+		Assertions.assertEquals(23L, result.getAffected());
+		Assertions.assertEquals(3, result.getChunks());
+		Assertions.assertEquals(Math.round(before * 110.0) / 100.0, price(2L));
+		Assertions.assertEquals(90.5, price(1L));
+		Assertions.assertEquals(3L, events.stream(BooksChangedEvent.class).count());
+	}
+
+	@Test
+	public void adjustPricesShouldOnlyTouchListedIdsMatchingFilter() {
+
+		BookFilterDTO filter = new BookFilterDTO(List.of(1L, 2L, 3L, 1000L), null, 1000.0, null, null, null);
+
+		BulkResultDTO result = service.adjustPrices(
+				new PriceAdjustmentDTO(filter, PriceAdjustmentDTO.Operation.SET, 49.99));
+
+		Assertions.assertEquals(2L, result.getAffected());
+		Assertions.assertEquals(90.5, price(1L));
+		Assertions.assertEquals(49.99, price(2L));
+		Assertions.assertEquals(49.99, price(3L));
+		List<Long> touched = events.stream(BooksChangedEvent.class).findFirst().get().getIds();
+		Assertions.assertEquals(List.of(2L, 3L), touched);
+	}
+
+	@Test
+	public void adjustPricesShouldThrowBadRequestWhenFilterIsEmpty() {
+
+		PriceAdjustmentDTO adjustment = new PriceAdjustmentDTO(new BookFilterDTO(),
+				PriceAdjustmentDTO.Operation.ADD, 1.0);
+
+		Assertions.assertThrows(BadRequestException.class, () -> service.adjustPrices(adjustment));
+	}
+
+	@Test
+	public void adjustPricesShouldThrowBadRequestWhenAddWouldMakePricesNegative() {
+
+		BookFilterDTO filter = new BookFilterDTO(List.of(1L, 2L), null, null, null, null, null);
+
+		Assertions.assertThrows(BadRequestException.class, () -> service.adjustPrices(
+				new PriceAdjustmentDTO(filter, PriceAdjustmentDTO.Operation.ADD, -100.0)));
+		Assertions.assertEquals(90.5, price(1L));
+
+		service.adjustPrices(new PriceAdjustmentDTO(filter, PriceAdjustmentDTO.Operation.ADD, -90.5));
+		Assertions.assertEquals(0.0, price(1L));
+		Assertions.assertEquals(2099.5, price(2L));
+	}
+
+	@Test
+	public void addCategoryShouldLinkMatchingBooksOnlyOnce() {
+
+		CategoryAssignmentDTO assignment = new CategoryAssignmentDTO(
+				new BookFilterDTO(null, 3L, null, null, null, null), 1L);
+
+		BulkResultDTO first = service.addCategory(assignment);
+		BulkResultDTO second = service.addCategory(assignment);
+
+		Assertions.assertEquals(23L, first.getMatched());
+		Assertions.assertEquals(22L, first.getAffected());
+		Assertions.assertEquals(0L, second.getAffected());
+		Assertions.assertEquals(23L, linkCount(1L));
+	}
+
+	@Test
+	public void removeCategoryShouldUnlinkListedBooks() {
+
+		CategoryAssignmentDTO assignment = new CategoryAssignmentDTO(
+				new BookFilterDTO(List.of(1L, 2L, 3L), null, null, null, null, null), 3L);
+
+		BulkResultDTO result = service.removeCategory(assignment);
+
+		Assertions.assertEquals(3L, result.getMatched());
+		Assertions.assertEquals(2L, result.getAffected());
+		Assertions.assertEquals(21L, linkCount(3L));
+		Assertions.assertEquals(BooksChangedEvent.Change.CATEGORIES,
+				events.stream(BooksChangedEvent.class).findFirst().get().getChange());
+	}
+
+	@Test
+	public void addCategoryShouldThrowResourceNotFoundExceptionWhenCategoryDoesNotExist() {
+
+		CategoryAssignmentDTO assignment = new CategoryAssignmentDTO(
+				new BookFilterDTO(List.of(1L), null, null, null, null, null), 1000L);
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> service.addCategory(assignment));
+	}
+
+	@Test
+	public void deleteShouldRemoveBooksAndLinksAndReportMissingIds() {
+
+		BookFilterDTO filter = new BookFilterDTO(List.of(1000L, 2L, 1L), null, null, null, null, null);
+
+		BulkResultDTO result = service.delete(filter);
+
+		Assertions.assertEquals(2L, result.getAffected());
+		Assertions.assertEquals(List.of(1000L), result.getMissingIds());
+		Assertions.assertEquals(23L, jdbc.queryForObject("SELECT COUNT(*) FROM tb_book", Long.class));
+		Assertions.assertEquals(0L, jdbc.queryForObject(
+				"SELECT COUNT(*) FROM tb_book_category WHERE book_id IN (1, 2)", Long.class));
+	}
+
+	@Test
+	public void deleteShouldNotReportListedBooksLeftOutByOtherCriteriaAsMissing() {
+
+		BookFilterDTO filter = new BookFilterDTO(List.of(1000L, 2L, 1L), null, null, 100.0, null, null);
+
+		BulkResultDTO result = service.delete(filter);
+
+		Assertions.assertEquals(1L, result.getAffected());
+		Assertions.assertEquals(List.of(1000L), result.getMissingIds());
+		Assertions.assertEquals(2190.0, price(2L));
+	}
+
+	@Test
+	public void deleteShouldRemoveEveryBookMatchingFilterInChunks() {
+
+		BulkResultDTO result = service.delete(new BookFilterDTO(null, 3L, null, null, null, null));
+
+		Assertions.assertEquals(23L, result.getAffected());
+		Assertions.assertEquals(3, result.getChunks());
+		Assertions.assertNull(result.getMissingIds());
+		Assertions.assertEquals(2L, jdbc.queryForObject("SELECT COUNT(*) FROM tb_book", Long.class));
+		Assertions.assertEquals(3L, events.stream(BooksChangedEvent.class)
+				.filter(event -> event.getChange() == BooksChangedEvent.Change.DELETED).count());
+	}
+
+	private Long linkCount(Long categoryId) {
+		return jdbc.queryForObject("SELECT COUNT(*) FROM tb_book_category WHERE category_id = ?", Long.class,
+				categoryId);
+	}
+
+	private Double price(Long id) {
+		return jdbc.queryForObject("SELECT price FROM tb_book WHERE id = ?", Double.class, id);
+	}
+}
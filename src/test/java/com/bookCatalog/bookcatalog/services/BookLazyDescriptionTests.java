@@ -0,0 +1,102 @@
+package com.bookCatalog.bookcatalog.services;
+
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.entities.Book;
+import com.bookCatalog.bookcatalog.instrumentation.StatementStatistics;
+import com.bookCatalog.bookcatalog.repositories.BookRepository;
+
+/**
+ * Não é transacional: cada teste abre suas próprias transações, para que o
+ * contexto de persistência comece vazio e toda leitura chegue ao banco.
+ */
+@SpringBootTest
+public class BookLazyDescriptionTests {
+
+	@Autowired
+	private BookRepository repository;
+
+	@Autowired
+	private BookService service;
+
+	@Autowired
+	private StatementStatistics statements;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		statements.reset();
+	}
+
+	@Test
+	public void descriptionShouldBeSelectedOnlyWhenTouched() {
+
+		Assertions.assertTrue(PersistentAttributeInterceptable.class.isAssignableFrom(Book.class));
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			Book book = repository.findById(1L).get();
+			Assertions.assertNotNull(book.getName());
+			Assertions.assertNotNull(book.getPrice());
+			Assertions.assertEquals(1L, bookSelects(null));
+			Assertions.assertEquals(0L, bookSelects("description"));
+
+			Assertions.assertNotNull(book.getDescription());
+			Assertions.assertNotNull(book.getDescription());
+
+			Assertions.assertEquals(2L, bookSelects(null));
+			Assertions.assertEquals(1L, bookSelects("description"));
+		});
+	}
+
+	@Test
+	public void findByIdShouldReadDescriptionFromTheStore() {
+
+		BookDTO dto = service.findById(1L);
+
+		Assertions.assertNotNull(dto.getDescription());
+		Assertions.assertEquals(1L, bookSelects(null));
+		Assertions.assertEquals(0L, bookSelects("description"));
+	}
+
+	@Test
+	public void findAllPagedShouldFetchDescriptionsWithTheBooks() {
+
+		service.findAllPaged(PageRequest.of(0, 10)).forEach(dto -> Assertions.assertNotNull(dto.getDescription()));
+
+		Assertions.assertEquals(2L, bookSelects(null), "page and count");
+		Assertions.assertEquals(1L, bookSelects("description"));
+	}
+
+	@Test
+	public void updateShouldReplaceDescriptionWithoutSelectingIt() {
+
+		BookDTO current = service.findById(2L);
+		statements.reset();
+
+		BookDTO updated = service.update(2L, current);
+
+		Assertions.assertEquals(current.getDescription(), updated.getDescription());
+		Assertions.assertEquals(0L, bookSelects("description"));
+	}
+
+	/** SELECTs issued by Hibernate on {@code tb_book}, optionally only those that read the given column. */
+	private long bookSelects(String column) {
+		return statements.top(Integer.MAX_VALUE, "count").stream()
+				.filter(statement -> statement.getSql().startsWith("select")
+						&& statement.getSql().contains("from tb_book book")
+						&& (column == null || statement.getSql().contains("." + column)))
+				.mapToLong(statement -> statement.getCount())
+				.sum();
+	}
+}
@@ -0,0 +1,103 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+
+import com.bookCatalog.bookcatalog.config.SecondLevelCacheConfig;
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFilterDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryAssignmentDTO;
+import com.bookCatalog.bookcatalog.instrumentation.SecondLevelCacheStatistics;
+import com.bookCatalog.bookcatalog.instrumentation.StatementStatistics;
+
+/**
+ * Não é transacional: cada chamada ao serviço abre sua própria sessão, como em
+ * produção, e só o cache de segundo nível é compartilhado entre elas.
+ */
+@SpringBootTest
+public class BookServiceCacheTests {
+
+	@Autowired
+	private BookService service;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private BookBulkService bulkService;
+
+	@Autowired
+	private StatementStatistics statements;
+
+	@Autowired
+	private SecondLevelCacheStatistics caches;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		caches.reset();
+		statements.reset();
+	}
+
+	@Test
+	public void findByIdShouldNotQueryCategoriesAgainForBooksSharingThem() {
+
+		service.findById(3L);
+		service.findById(4L);
+		statements.reset();
+
+		for (int i = 0; i < 3; i++) {
+			BookDTO first = service.findById(3L);
+			BookDTO second = service.findById(4L);
+			Assertions.assertEquals(3L, first.getCategories().get(0).getId());
+			Assertions.assertEquals(3L, second.getCategories().get(0).getId());
+		}
+
+		Assertions.assertEquals(0L, statementsOn("tb_category"));
+		Assertions.assertEquals(0L, statementsOn("tb_book_category"));
+		Assertions.assertEquals(6L, caches.snapshot().get(SecondLevelCacheConfig.BOOK_CATEGORIES_REGION).getHits());
+		Assertions.assertEquals(6L, caches.snapshot().get(SecondLevelCacheConfig.CATEGORY_REGION).getHits());
+	}
+
+	@Test
+	public void findAllPagedShouldServeCategoriesFromQueryCache() {
+
+		categoryService.findAllPaged(PageRequest.of(0, 10));
+		statements.reset();
+
+		long total = categoryService.findAllPaged(PageRequest.of(0, 10)).getTotalElements();
+
+		Assertions.assertEquals(3L, total);
+		Assertions.assertEquals(0L, statementsOn("tb_category"));
+		Assertions.assertTrue(caches.snapshot().get("queries").getHits() > 0L);
+	}
+
+	@Test
+	public void bulkCategoryChangesShouldEvictCachedCollections() {
+
+		CategoryAssignmentDTO assignment = new CategoryAssignmentDTO(
+				new BookFilterDTO(List.of(1L), null, null, null, null, null), 1L);
+		Assertions.assertEquals(1, service.findById(1L).getCategories().size());
+
+		try {
+			bulkService.addCategory(assignment);
+			Assertions.assertEquals(2, service.findById(1L).getCategories().size());
+		}
+		finally {
+			bulkService.removeCategory(assignment);
+		}
+		Assertions.assertEquals(1, service.findById(1L).getCategories().size());
+	}
+
+	private long statementsOn(String table) {
+		return statements.top(Integer.MAX_VALUE, "count").stream()
+				.filter(statement -> statement.getSql().contains(" " + table + " "))
+				.mapToLong(statement -> statement.getCount())
+				.sum();
+	}
+}
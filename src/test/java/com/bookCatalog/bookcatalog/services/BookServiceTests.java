@@ -13,6 +13,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
@@ -22,8 +23,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
 import com.bookCatalog.bookcatalog.entities.Book;
+import com.bookCatalog.bookcatalog.instrumentation.BookAccessFrequency;
 import com.bookCatalog.bookcatalog.repositories.BookRepository;
+import com.bookCatalog.bookcatalog.repositories.CategoryRepository;
+import com.bookCatalog.bookcatalog.services.BookChangedEvent;
 import com.bookCatalog.bookcatalog.services.BookService;
 import com.bookCatalog.bookcatalog.services.exceptions.DatabaseException;
 import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
@@ -37,6 +42,21 @@ public class BookServiceTests {
 	
 	@Mock
 	private BookRepository repository;
+
+	@Mock
+	private ApplicationEventPublisher publisher;
+
+	@Mock
+	private BookAccessFrequency accessFrequency;
+
+	@Mock
+	private BookDescriptions descriptions;
+
+	@Mock
+	private CategoryRepository categoryRepository;
+
+	@Mock
+	private DescriptionCompression compression;
 	
 	private long existingId;
 	private long nonExistingId;
@@ -52,7 +72,7 @@ public class BookServiceTests {
 		book = Factory.createBook();
 		page = new PageImpl<>(List.of(book));
 		
-		Mockito.when(repository.findAll((Pageable)ArgumentMatchers.any())).thenReturn(page);
+		Mockito.when(repository.findAllWithDescription((Pageable)ArgumentMatchers.any())).thenReturn(page);
 		
 		Mockito.when(repository.save(ArgumentMatchers.any())).thenReturn(book);
 		
@@ -64,6 +84,43 @@ public class BookServiceTests {
 		Mockito.doThrow(DataIntegrityViolationException.class).when(repository).deleteById(dependentId);
 	}
 
+	@Test
+	public void findByIdShouldReadRequestedDescriptionFromStoreWhenSerialized() {
+
+		BookFieldSet fields = BookFieldSet.parse("id,description");
+		Mockito.when(repository.findProjectedById(existingId, BookFieldSet.parse("id")))
+				.thenReturn(Optional.of(new BookDTO(existingId, null, null, null, null, null)));
+		Mockito.when(descriptions.get(existingId)).thenReturn("Stored");
+
+		BookDTO result = service.findById(existingId, fields);
+
+		Mockito.verifyNoInteractions(descriptions);
+		Assertions.assertEquals("Stored", result.getDescription());
+		Mockito.verify(descriptions, times(1)).get(existingId);
+	}
+
+	@Test
+	public void updateShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.update(nonExistingId, Factory.createBookDTO());
+		});
+
+		Mockito.verify(repository, Mockito.never()).save(ArgumentMatchers.any());
+	}
+
+	@Test
+	public void updateShouldThrowResourceNotFoundExceptionWhenCategoryDoesNotExist() {
+
+		Mockito.when(categoryRepository.findById(1L)).thenReturn(Optional.empty());
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.update(existingId, Factory.createBookDTO());
+		});
+
+		Mockito.verify(repository, Mockito.never()).save(ArgumentMatchers.any());
+	}
+
 	@Test
 	public void findAllPagedShouldReturnPage() {
 		
@@ -73,7 +130,7 @@ public class BookServiceTests {
 		
 		Assertions.assertNotNull(result);
 		
-		Mockito.verify(repository, times(1)).findAll(pageable);
+		Mockito.verify(repository, times(1)).findAllWithDescription(pageable);
 	}
 	
 	@Test
@@ -105,4 +162,31 @@ public class BookServiceTests {
 		
 		Mockito.verify(repository, times(1)).deleteById(existingId);
 	}
+
+	@Test
+	public void deleteShouldPublishDeletedStateWhenIdExists() {
+
+		service.delete(existingId);
+
+		Mockito.verify(publisher, times(1)).publishEvent(ArgumentMatchers.<BookChangedEvent>argThat(
+				event -> event.getAfter() == null && event.getBefore().getId().equals(existingId)));
+	}
+
+	@Test
+	public void deleteShouldNotPublishWhenIdDoesNotExist() {
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+			service.delete(nonExistingId);
+		});
+
+		Mockito.verifyNoInteractions(publisher);
+	}
+
+	@Test
+	public void findByIdShouldRecordAccessWhenIdExists() {
+
+		service.findById(existingId);
+
+		Mockito.verify(accessFrequency, times(1)).record(existingId);
+	}
 }
@@ -0,0 +1,161 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFilterDTO;
+import com.bookCatalog.bookcatalog.dto.BookStatsDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryStatsDTO;
+import com.bookCatalog.bookcatalog.dto.PriceAdjustmentDTO;
+import com.bookCatalog.bookcatalog.instrumentation.StatementStatistics;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+/**
+ * Não é transacional: as estatísticas só mudam depois do commit, então cada
+ * teste desfaz o que gravou.
+ */
+@SpringBootTest
+public class CatalogStatisticsTests {
+
+	@Autowired
+	private CatalogStatistics statistics;
+
+	@Autowired
+	private BookService service;
+
+	@Autowired
+	private BookBulkService bulkService;
+
+	@Autowired
+	private StatementStatistics statements;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		statistics.reconcile();
+	}
+
+	@Test
+	public void statisticsShouldDescribeSeededCatalogWithoutQueries() {
+
+		statements.reset();
+		BookStatsDTO books = statistics.books();
+		List<CategoryStatsDTO> categories = statistics.categories();
+
+		Assertions.assertTrue(statements.top(Integer.MAX_VALUE, "count").isEmpty());
+		Assertions.assertEquals(25L, books.getCount());
+		Assertions.assertEquals(90.5, books.getMinPrice());
+		Assertions.assertEquals(2340.0, books.getMaxPrice());
+		Assertions.assertEquals(3, categories.size());
+		Assertions.assertEquals(1L, categories.get(0).getCount());
+		Assertions.assertEquals(2190.0, categories.get(0).getMinPrice());
+		Assertions.assertEquals(2L, categories.get(1).getCount());
+		Assertions.assertEquals(90.5, categories.get(1).getMinPrice());
+		Assertions.assertEquals(100.99, categories.get(1).getMaxPrice());
+		Assertions.assertEquals(23L, categories.get(2).getCount());
+	}
+
+	@Test
+	public void topShouldRankCatalogAndCategoriesWithoutQueries() {
+
+		statements.reset();
+		List<BookDTO> cheapest = statistics.top(CatalogStatistics.Ranking.CHEAPEST, null, 3);
+		List<BookDTO> cheapestInCategory = statistics.top(CatalogStatistics.Ranking.CHEAPEST, 2L, 10);
+		List<BookDTO> newest = statistics.top(CatalogStatistics.Ranking.NEWEST, null, 2);
+
+		Assertions.assertTrue(statements.top(Integer.MAX_VALUE, "count").isEmpty());
+		Assertions.assertEquals(List.of(1L, 5L, 4L), ids(cheapest));
+		Assertions.assertEquals("Politica", cheapest.get(0).getCategories().get(0).getName());
+		Assertions.assertEquals(List.of(1L, 5L), ids(cheapestInCategory));
+		Assertions.assertEquals(List.of(2L, 3L), ids(newest));
+		Assertions.assertThrows(BadRequestException.class,
+				() -> statistics.top(CatalogStatistics.Ranking.NEWEST, null, 1000));
+		Assertions.assertThrows(ResourceNotFoundException.class,
+				() -> statistics.top(CatalogStatistics.Ranking.NEWEST, 99L, 1));
+	}
+
+	@Test
+	public void singleBookWritesShouldBeAppliedWithoutRebuild() {
+
+		BookStatsDTO initial = statistics.books();
+		BookDTO dto = new BookDTO(null, "Stats", "Stats", 0.5, "https://img.com/stats.png",
+				Instant.parse("2030-01-01T00:00:00Z"));
+		dto.getCategories().add(new CategoryDTO(1L, null));
+		BookDTO created = service.insert(dto);
+		try {
+			BookStatsDTO books = statistics.books();
+			CategoryStatsDTO category = statistics.categories().get(0);
+			Assertions.assertEquals(26L, books.getCount());
+			Assertions.assertEquals(0.5, books.getMinPrice());
+			Assertions.assertEquals(dto.getDate(), books.getNewestDate());
+			Assertions.assertEquals(2L, category.getCount());
+			Assertions.assertEquals(0.5, category.getMinPrice());
+			Assertions.assertEquals(created.getId(), statistics.top(CatalogStatistics.Ranking.NEWEST, null, 1).get(0).getId());
+			Assertions.assertEquals(created.getId(), statistics.top(CatalogStatistics.Ranking.CHEAPEST, 1L, 1).get(0).getId());
+
+			dto.setPrice(5000.0);
+			service.update(created.getId(), dto);
+			books = statistics.books();
+			Assertions.assertEquals(90.5, books.getMinPrice());
+			Assertions.assertEquals(5000.0, books.getMaxPrice());
+			Assertions.assertEquals(1L, statistics.top(CatalogStatistics.Ranking.CHEAPEST, null, 1).get(0).getId());
+			assertMatchesRebuild();
+		}
+		finally {
+			service.delete(created.getId());
+		}
+		assertSameStats(initial, statistics.books());
+		assertMatchesRebuild();
+	}
+
+	@Test
+	public void bulkWritesShouldBePickedUpByNextDirtyCheck() {
+
+		BookFilterDTO filter = new BookFilterDTO(List.of(1L), null, null, null, null, null);
+		bulkService.adjustPrices(new PriceAdjustmentDTO(filter, PriceAdjustmentDTO.Operation.SET, 9999.0));
+		try {
+			statistics.reconcileIfDirty();
+			Assertions.assertEquals(9999.0, statistics.books().getMaxPrice());
+			Assertions.assertEquals(100.99, statistics.categories().get(1).getMinPrice());
+		}
+		finally {
+			bulkService.adjustPrices(new PriceAdjustmentDTO(filter, PriceAdjustmentDTO.Operation.SET, 90.5));
+		}
+		statistics.reconcileIfDirty();
+		Assertions.assertEquals(90.5, statistics.books().getMinPrice());
+	}
+
+	private static List<Long> ids(List<BookDTO> books) {
+		return books.stream().map(BookDTO::getId).collect(Collectors.toList());
+	}
+
+	private void assertMatchesRebuild() {
+		BookStatsDTO books = statistics.books();
+		List<CategoryStatsDTO> categories = statistics.categories();
+		statistics.reconcile();
+		assertSameStats(statistics.books(), books);
+		List<CategoryStatsDTO> rebuilt = statistics.categories();
+		Assertions.assertEquals(rebuilt.size(), categories.size());
+		for (int i = 0; i < rebuilt.size(); i++) {
+			Assertions.assertEquals(rebuilt.get(i).getCategoryId(), categories.get(i).getCategoryId());
+			assertSameStats(rebuilt.get(i), categories.get(i));
+		}
+	}
+
+	private static void assertSameStats(BookStatsDTO expected, BookStatsDTO actual) {
+		Assertions.assertEquals(expected.getCount(), actual.getCount());
+		Assertions.assertEquals(expected.getMinPrice(), actual.getMinPrice());
+		Assertions.assertEquals(expected.getMaxPrice(), actual.getMaxPrice());
+		Assertions.assertEquals(expected.getAvgPrice(), actual.getAvgPrice(), 1e-6);
+		Assertions.assertEquals(expected.getNewestDate(), actual.getNewestDate());
+	}
+}
@@ -0,0 +1,94 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.BookFieldSet;
+import com.bookCatalog.bookcatalog.dto.DescriptionCompressionDTO;
+import com.bookCatalog.bookcatalog.entities.CompressedText;
+
+/**
+ * Usa um banco próprio, pois a migração altera as linhas de todos os livros
+ * e os outros testes compartilham o banco padrão.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:compression",
+		"catalog.r2dbc.url=r2dbc:h2:mem:///compression",
+		"catalog.snapshot.enabled=false",
+		"catalog.warmup.enabled=false",
+		"catalog.descriptions.compression.enabled=true",
+		"catalog.descriptions.compression.min-length=100" })
+public class DescriptionCompressionTests {
+
+	private static final String LONG = "Uma descrição longa o bastante para ser comprimida. ".repeat(10);
+
+	@Autowired
+	private DescriptionCompression compression;
+
+	@Autowired
+	private BookService service;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	public void compressedTextShouldRoundTrip() {
+
+		CompressedText compressed = CompressedText.compress(LONG);
+
+		Assertions.assertEquals(LONG, CompressedText.of(compressed.getBytes()).getText());
+		Assertions.assertTrue(compressed.getBytes().length < compressed.getTextLength());
+	}
+
+	@Test
+	public void migrateShouldCompressExistingRowsAndKeepTheirText() {
+
+		Map<Long, String> before = descriptions();
+
+		DescriptionCompressionDTO result = compression.migrate();
+
+		Assertions.assertTrue(result.getMigrated() > 0);
+		Assertions.assertEquals(result.getMigrated(), result.getCompressedRows());
+		Assertions.assertEquals(0L, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM tb_book WHERE LENGTH(description) >= 100", Long.class));
+		Assertions.assertEquals(before, descriptions());
+		BookDTO projected = service.findAllPaged(PageRequest.of(0, 1, Sort.by("id")), BookFieldSet.parse("id,description"))
+				.getContent().get(0);
+		Assertions.assertEquals(before.get(projected.getId()), projected.getDescription());
+
+		Assertions.assertEquals(0L, compression.migrate().getMigrated());
+	}
+
+	@Test
+	public void insertShouldStoreOnlyLongDescriptionsCompressed() {
+
+		BookDTO saved = service.insert(new BookDTO(null, "Comprimido", LONG, 10.0, null, null));
+		BookDTO small = service.insert(new BookDTO(null, "Curto", "Curta", 10.0, null, null));
+
+		Assertions.assertEquals(LONG, saved.getDescription());
+		Assertions.assertEquals(LONG, service.findById(saved.getId()).getDescription());
+		Assertions.assertNull(jdbcTemplate.queryForObject(
+				"SELECT description FROM tb_book WHERE id = ?", String.class, saved.getId()));
+		Assertions.assertEquals("Curta", jdbcTemplate.queryForObject(
+				"SELECT description FROM tb_book WHERE id = ?", String.class, small.getId()));
+		service.delete(saved.getId());
+		service.delete(small.getId());
+	}
+
+	private Map<Long, String> descriptions() {
+		Map<Long, String> descriptions = new HashMap<>();
+		List<BookDTO> books = service.findChunkAfter(0L, 1000);
+		books.forEach(book -> descriptions.put(book.getId(), book.getDescription()));
+		return descriptions;
+	}
+}
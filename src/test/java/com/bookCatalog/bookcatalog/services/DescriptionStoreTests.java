@@ -0,0 +1,84 @@
+package com.bookCatalog.bookcatalog.services;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class DescriptionStoreTests {
+
+	private static final String LONG = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(20);
+
+	@Test
+	public void getShouldReturnWhatWasPutCompressedOrNot() {
+
+		DescriptionStore store = new DescriptionStore(1 << 16, 1 << 20, 4);
+
+		Assertions.assertTrue(store.put(1L, "Curta"));
+		Assertions.assertTrue(store.put(2L, LONG));
+		Assertions.assertTrue(store.put(3L, "Ação e café ☕ ".repeat(10)));
+
+		Assertions.assertEquals("Curta", store.get(1L));
+		Assertions.assertEquals(LONG, store.get(2L));
+		Assertions.assertEquals("Ação e café ☕ ".repeat(10), store.get(3L));
+		Assertions.assertNull(store.get(4L));
+		Assertions.assertTrue(store.getLiveBytes() < LONG.length());
+	}
+
+	@Test
+	public void snippetShouldCutLongDescriptionsWithEllipsis() {
+
+		DescriptionStore store = new DescriptionStore(1 << 16, 1 << 20, 4);
+		store.put(1L, LONG);
+		store.put(2L, "Curta");
+
+		Assertions.assertEquals(LONG.substring(0, 30) + "…", store.snippet(1L, 30));
+		Assertions.assertEquals("Curta", store.snippet(2L, 30));
+		Assertions.assertEquals(store.snippet(1L, 30), DescriptionStore.snippet(LONG, 30));
+		Assertions.assertEquals("Curta", DescriptionStore.snippet("Curta", 30));
+	}
+
+	@Test
+	public void putShouldReuseSpaceOfReplacedEntriesByCompacting() {
+
+		DescriptionStore store = new DescriptionStore(4096, 8192, 4);
+
+		for (int i = 0; i < 1_000; i++) {
+			Assertions.assertTrue(store.put(1 + i % 5, "Versão " + i + " " + LONG));
+		}
+
+		Assertions.assertEquals(5, store.size());
+		Assertions.assertTrue(store.getOffHeapBytes() <= 8192);
+		for (int i = 995; i < 1_000; i++) {
+			Assertions.assertEquals("Versão " + i + " " + LONG, store.get(1 + i % 5));
+		}
+	}
+
+	@Test
+	public void putShouldRefuseEntriesWhenStoreIsFull() {
+
+		DescriptionStore store = new DescriptionStore(256, 256, 4);
+		int stored = 0;
+
+		for (long id = 1; id <= 100; id++) {
+			if (store.put(id, "Descrição sem repetição " + id)) {
+				stored++;
+			}
+		}
+
+		Assertions.assertTrue(stored > 0 && stored < 100);
+		Assertions.assertEquals(stored, store.size());
+		Assertions.assertNull(store.get(100L));
+	}
+
+	@Test
+	public void removeShouldForgetDescription() {
+
+		DescriptionStore store = new DescriptionStore(1 << 16, 1 << 20, 4);
+		store.put(1L, LONG);
+
+		store.remove(1L);
+
+		Assertions.assertNull(store.get(1L));
+		Assertions.assertEquals(0, store.size());
+		Assertions.assertEquals(0L, store.getLiveBytes());
+	}
+}
@@ -0,0 +1,44 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LongIntMapTests {
+
+	@Test
+	public void mapShouldAgreeWithHashMapAcrossResizesAndRemovals() {
+
+		LongIntMap map = new LongIntMap(4);
+		Map<Long, Integer> expected = new HashMap<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 50_000; i++) {
+			long key = 1 + random.nextInt(5_000);
+			if (random.nextInt(3) == 0) {
+				map.remove(key);
+				expected.remove(key);
+			}
+			else {
+				map.put(key, i);
+				expected.put(key, i);
+			}
+		}
+
+		Assertions.assertEquals(expected.size(), map.size());
+		for (long key = 1; key <= 5_000; key++) {
+			Assertions.assertEquals(expected.getOrDefault(key, LongIntMap.MISSING), map.get(key));
+		}
+	}
+
+	@Test
+	public void putShouldRejectKeysThatAreNotPositive() {
+
+		LongIntMap map = new LongIntMap(4);
+
+		Assertions.assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1));
+	}
+}
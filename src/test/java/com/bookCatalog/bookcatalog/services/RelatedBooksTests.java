@@ -0,0 +1,107 @@
+package com.bookCatalog.bookcatalog.services;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bookCatalog.bookcatalog.dto.BookDTO;
+import com.bookCatalog.bookcatalog.dto.CategoryDTO;
+import com.bookCatalog.bookcatalog.instrumentation.StatementStatistics;
+import com.bookCatalog.bookcatalog.services.exceptions.BadRequestException;
+import com.bookCatalog.bookcatalog.services.exceptions.ResourceNotFoundException;
+
+/**
+ * Não é transacional: o índice só muda depois do commit, então cada teste
+ * desfaz o que gravou. Nos dados iniciais o livro 1 tem a categoria 2, o
+ * livro 2 as categorias 1 e 3, o livro 5 a categoria 2 e os demais a 3.
+ */
+@SpringBootTest
+public class RelatedBooksTests {
+
+	@Autowired
+	private RelatedBooks relatedBooks;
+
+	@Autowired
+	private BookService service;
+
+	@Autowired
+	private StatementStatistics statements;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		relatedBooks.rebuild();
+	}
+
+	@Test
+	public void relatedShouldRankBySimilarityThenRecencyWithoutQueries() {
+
+		statements.reset();
+
+		Assertions.assertEquals(List.of(4L, 6L, 7L, 8L, 9L), ids(relatedBooks.related(3L, 5)));
+		Assertions.assertEquals(List.of(3L, 4L, 6L), ids(relatedBooks.related(2L, 3)));
+		Assertions.assertEquals(List.of(5L), ids(relatedBooks.related(1L, 5)));
+		Assertions.assertTrue(statements.top(Integer.MAX_VALUE, "count").isEmpty());
+	}
+
+	@Test
+	public void relatedShouldRejectUnknownBooksAndOversizedLists() {
+
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> relatedBooks.related(1000L, 5));
+		Assertions.assertThrows(BadRequestException.class, () -> relatedBooks.related(1L, 1000));
+	}
+
+	@Test
+	public void newCategorySetsShouldJoinComputedNeighbours() {
+
+		Assertions.assertEquals(List.of(5L), ids(relatedBooks.related(1L, 5)));
+
+		BookDTO dto = new BookDTO(null, "Related", "Related", 10.0, "https://img.com/related.png",
+				Instant.parse("2030-01-01T00:00:00Z"));
+		dto.getCategories().add(new CategoryDTO(1L, null));
+		dto.getCategories().add(new CategoryDTO(2L, null));
+		BookDTO created = service.insert(dto);
+		try {
+			Assertions.assertEquals(List.of(5L, created.getId()), ids(relatedBooks.related(1L, 5)));
+			Assertions.assertEquals(List.of(5L, 1L, 2L), ids(relatedBooks.related(created.getId(), 3)));
+			Assertions.assertEquals(List.of(3L, 4L, 6L), ids(relatedBooks.related(2L, 3)));
+		}
+		finally {
+			service.delete(created.getId());
+		}
+		Assertions.assertEquals(List.of(5L), ids(relatedBooks.related(1L, 5)));
+		Assertions.assertThrows(ResourceNotFoundException.class, () -> relatedBooks.related(created.getId(), 5));
+	}
+
+	@Test
+	public void emptiedGroupsShouldBeSkippedAndDroppedByRebuild() {
+
+		BookDTO dto = new BookDTO(null, "Related", "Related", 10.0, "https://img.com/related.png",
+				Instant.parse("2030-01-01T00:00:00Z"));
+		dto.getCategories().add(new CategoryDTO(1L, null));
+		dto.getCategories().add(new CategoryDTO(2L, null));
+		BookDTO created = service.insert(dto);
+		Assertions.assertEquals(List.of(5L, created.getId()), ids(relatedBooks.related(1L, 5)));
+		service.delete(created.getId());
+		relatedBooks.rebuildIfDirty();
+		AtomicBoolean dirty = (AtomicBoolean) ReflectionTestUtils.getField(relatedBooks, "dirty");
+		Assertions.assertFalse(dirty.get());
+
+		Assertions.assertEquals(List.of(5L), ids(relatedBooks.related(1L, 5)));
+		Assertions.assertTrue(dirty.get());
+		relatedBooks.rebuildIfDirty();
+		Assertions.assertEquals(List.of(5L), ids(relatedBooks.related(1L, 5)));
+		Assertions.assertFalse(dirty.get());
+	}
+
+	private static List<Long> ids(List<BookDTO> books) {
+		return books.stream().map(BookDTO::getId).collect(Collectors.toList());
+	}
+}
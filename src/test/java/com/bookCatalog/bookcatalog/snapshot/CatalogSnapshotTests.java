@@ -0,0 +1,128 @@
+package com.bookCatalog.bookcatalog.snapshot;
+
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.bookCatalog.bookcatalog.dto.BookFilterDTO;
+import com.bookCatalog.bookcatalog.dto.CatalogSnapshotDTO;
+import com.bookCatalog.bookcatalog.dto.PriceAdjustmentDTO;
+import com.bookCatalog.bookcatalog.repositories.BookChangeRepository;
+import com.bookCatalog.bookcatalog.repositories.BookScanRepository;
+import com.bookCatalog.bookcatalog.services.BookBulkService;
+import com.bookCatalog.bookcatalog.services.BookChangedEvent;
+import com.bookCatalog.bookcatalog.services.CatalogStatistics;
+
+/**
+ * Não é transacional: o snapshot e o log de mudanças só enxergam o que foi
+ * gravado, então cada teste desfaz o que alterou.
+ */
+@SpringBootTest(properties = "catalog.snapshot.file=target/snapshot-tests/catalog.bin")
+public class CatalogSnapshotTests {
+
+	@Autowired
+	private CatalogSnapshotService service;
+
+	@Autowired
+	private BookScanRepository scanRepository;
+
+	@Autowired
+	private BookChangeRepository changeRepository;
+
+	@Autowired
+	private CatalogStatistics statistics;
+
+	@Autowired
+	private BookBulkService bulkService;
+
+	@Test
+	public void writeShouldMapEveryBookBackFromTheFile() throws Exception {
+
+		CatalogSnapshotDTO written = service.write();
+		CatalogSnapshot snapshot = CatalogSnapshot.open(Paths.get(written.getFile()));
+
+		List<BookChangedEvent.State> expected = new ArrayList<>();
+		scanRepository.forEachBook(expected::add);
+		List<BookChangedEvent.State> actual = new ArrayList<>();
+		snapshot.forEachBook(actual::add);
+		Assertions.assertEquals(25, written.getBooks());
+		Assertions.assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSameState(expected.get(i), actual.get(i));
+		}
+		Assertions.assertEquals(scanRepository.findCategoryNames(), snapshot.findCategoryNames());
+		Assertions.assertEquals(Set.of(1L, 3L), snapshot.find(2L).getCategoryIds());
+		Assertions.assertEquals(Instant.parse("2020-07-13T20:50:07.12345Z"), snapshot.find(1L).getDate());
+		Assertions.assertNull(snapshot.find(1000L));
+	}
+
+	@Test
+	public void restoreShouldCatchUpWithChangesAfterTheSnapshot() {
+
+		service.write();
+		BookFilterDTO filter = new BookFilterDTO(List.of(1L), null, null, null, null, null);
+		bulkService.adjustPrices(new PriceAdjustmentDTO(filter, PriceAdjustmentDTO.Operation.SET, 9999.0));
+		try {
+			Assertions.assertTrue(service.restore());
+			Assertions.assertTrue(service.status().getReplayedChanges() >= 1);
+			Assertions.assertEquals(9999.0, statistics.books().getMaxPrice());
+			Assertions.assertEquals(5L, statistics.top(CatalogStatistics.Ranking.CHEAPEST, null, 1).get(0).getId());
+		}
+		finally {
+			bulkService.adjustPrices(new PriceAdjustmentDTO(filter, PriceAdjustmentDTO.Operation.SET, 90.5));
+			statistics.reconcile();
+		}
+	}
+
+	@Test
+	public void restoreShouldIgnoreSnapshotOfAnotherDatabase() throws Exception {
+
+		CatalogSnapshotDTO written = service.write();
+		CatalogSnapshot.write(Paths.get(written.getFile()), written.getMark(),
+				changeRepository.findDatabaseIdentity() + 1, scanRepository);
+
+		Assertions.assertFalse(service.restore());
+		Assertions.assertTrue(service.write().getBooks() > 0);
+		Assertions.assertTrue(service.restore());
+	}
+
+	@Test
+	public void restoreShouldIgnoreSnapshotWhoseMarkWasPruned() {
+
+		service.write();
+		changeRepository.record(List.of(1L));
+		changeRepository.deleteBefore(Instant.now().plusSeconds(60));
+
+		Assertions.assertFalse(service.restore());
+		service.write();
+		Assertions.assertTrue(service.restore());
+	}
+
+	@Test
+	public void deleteBeforeShouldKeepTheHighWaterMark() {
+
+		changeRepository.record(List.of(1L, 2L));
+		long mark = changeRepository.findHighWaterMark();
+
+		changeRepository.deleteBefore(Instant.now().plusSeconds(60));
+
+		Assertions.assertEquals(mark, changeRepository.findHighWaterMark());
+		Assertions.assertEquals(List.of(2L), changeRepository.findChangedSince(0L, Instant.now()));
+	}
+
+	private static void assertSameState(BookChangedEvent.State expected, BookChangedEvent.State actual) {
+		Assertions.assertEquals(expected.getId(), actual.getId());
+		Assertions.assertEquals(expected.getName(), actual.getName());
+		Assertions.assertEquals(expected.getPrice(), actual.getPrice());
+		Assertions.assertEquals(expected.getImgUrl(), actual.getImgUrl());
+		Assertions.assertEquals(expected.getDate(), actual.getDate());
+		Assertions.assertEquals(expected.getCategoryIds(), actual.getCategoryIds());
+	}
+}
@@ -0,0 +1,24 @@
+package com.bookCatalog.bookcatalog.tests;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+public class MockMvcAsync {
+
+	/**
+	 * Executa a requisição e, se o controlador respondeu de forma assíncrona,
+	 * conclui o despacho assíncrono para obter a resposta final.
+	 */
+	public static ResultActions perform(MockMvc mockMvc, RequestBuilder request) throws Exception {
+		ResultActions actions = mockMvc.perform(request);
+		MvcResult started = actions.andReturn();
+		if (started.getRequest().isAsyncStarted()) {
+			return mockMvc.perform(asyncDispatch(started));
+		}
+		return actions;
+	}
+}
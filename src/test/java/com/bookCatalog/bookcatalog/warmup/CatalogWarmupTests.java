@@ -0,0 +1,65 @@
+package com.bookCatalog.bookcatalog.warmup;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.bookCatalog.bookcatalog.dto.WarmupReportDTO;
+import com.bookCatalog.bookcatalog.instrumentation.BookAccessFrequency;
+
+/**
+ * Sobe um servidor real para que o aquecimento envie requisições HTTP. Na
+ * primeira execução não há arquivo de livros quentes e ele usa os mais novos.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+		"catalog.warmup.requests=90",
+		"catalog.warmup.concurrency=2",
+		"catalog.warmup.hot-books-file=target/warmup-tests/hot-books.txt" })
+public class CatalogWarmupTests {
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@Autowired
+	private HotBookStore hotBookStore;
+
+	@Autowired
+	private BookAccessFrequency accessFrequency;
+
+	@Test
+	public void warmupShouldExerciseEndpointsBeforeReadiness() {
+
+		ResponseEntity<WarmupReportDTO> response = restTemplate.getForEntity("/admin/warmup", WarmupReportDTO.class);
+
+		Assertions.assertEquals(HttpStatus.OK, response.getStatusCode());
+		WarmupReportDTO report = response.getBody();
+		Assertions.assertTrue(report.getReady());
+		Assertions.assertTrue(report.getHotBooks() > 0);
+		Assertions.assertEquals(90, report.getRequests());
+		Assertions.assertEquals(0, report.getFailedRequests());
+	}
+
+	@Test
+	public void hotBookStoreShouldRoundTripHottestIds() {
+
+		accessFrequency.reset();
+		for (int i = 0; i < 30; i++) {
+			accessFrequency.record(3L);
+			if (i % 2 == 0) {
+				accessFrequency.record(7L);
+			}
+		}
+
+		hotBookStore.save();
+
+		Assertions.assertEquals(List.of(3L, 7L), hotBookStore.load());
+		accessFrequency.reset();
+	}
+}